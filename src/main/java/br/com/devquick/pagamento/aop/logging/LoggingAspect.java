@@ -1,6 +1,8 @@
 package br.com.devquick.pagamento.aop.logging;
 
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.AfterThrowing;
@@ -23,6 +25,8 @@ public class LoggingAspect {
 
     private final Environment env;
 
+    private final Map<String, Logger> loggers = new ConcurrentHashMap<>();
+
     public LoggingAspect(Environment env) {
         this.env = env;
     }
@@ -58,7 +62,7 @@ public class LoggingAspect {
      * @return {@link Logger} associated to the given {@link JoinPoint}.
      */
     private Logger logger(JoinPoint joinPoint) {
-        return LoggerFactory.getLogger(joinPoint.getSignature().getDeclaringTypeName());
+        return loggers.computeIfAbsent(joinPoint.getSignature().getDeclaringTypeName(), LoggerFactory::getLogger);
     }
 
     /**
@@ -0,0 +1,107 @@
+package br.com.devquick.pagamento.aop.timing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+
+/**
+ * Aspect timing the execution of service, repository and Web REST endpoint Spring components.
+ * <p>
+ * Each method records a Micrometer {@link Timer} named {@value #METRIC_NAME}, tagged like the ones of Micrometer's
+ * {@code @Timed} with the class, the method and the exception thrown, if any. The timers are looked up once per method and
+ * kept, so a call only costs a map lookup and two clock reads. With a sample rate below 1 only that fraction of the calls
+ * is timed: the latencies stay representative but the counts are scaled down by the rate.
+ * <p>
+ * It is only registered when {@code application.timing.enabled} is set, see {@code TimingAspectConfiguration}.
+ */
+@Aspect
+public class TimingAspect {
+
+    public static final String METRIC_NAME = "method.timed";
+
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    private final double sampleRate;
+
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    public TimingAspect(MeterRegistry meterRegistry, double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Pointcut that matches all repositories, services and Web REST endpoints.
+     */
+    @Pointcut(
+        "within(@org.springframework.stereotype.Repository *)" +
+        " || within(@org.springframework.stereotype.Service *)" +
+        " || within(@org.springframework.web.bind.annotation.RestController *)"
+    )
+    public void springBeanPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all Spring beans in the application's main packages.
+     */
+    @Pointcut(
+        "within(br.com.devquick.pagamento.repository..*)" +
+        " || within(br.com.devquick.pagamento.service..*)" +
+        " || within(br.com.devquick.pagamento.web.rest..*)"
+    )
+    public void applicationPackagePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that times a sample of the method executions.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception thrown by the method.
+     */
+    @Around("applicationPackagePointcut() && springBeanPointcut()")
+    public Object timeAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            timer(joinPoint).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            // Failures are rare enough to look their timer up in the registry
+            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+            timer(signature.getMethod(), e.getClass().getSimpleName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return timers.computeIfAbsent(method, key -> timer(key, NO_EXCEPTION));
+    }
+
+    private Timer timer(Method method, String exception) {
+        return Timer
+            .builder(METRIC_NAME)
+            .description("Execution time of the application's Spring components")
+            .tag("class", method.getDeclaringClass().getName())
+            .tag("method", method.getName())
+            .tag("exception", exception)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.devquick.pagamento.client;
+
+import br.com.devquick.pagamento.repository.projection.ParcelaEventoDTO;
+import java.util.List;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+/**
+ * Feign client of the service receiving the status change events of the parcelas.
+ * <p>
+ * It is not a {@code @FeignClient}, as it is only built when the http sink is selected, see
+ * {@link br.com.devquick.pagamento.service.evento.HttpParcelaEventoSink}.
+ */
+public interface ParcelaEventoClient {
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    void publicar(@RequestBody List<ParcelaEventoDTO> eventos);
+}
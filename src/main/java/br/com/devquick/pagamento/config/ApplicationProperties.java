@@ -1,5 +1,7 @@
 package br.com.devquick.pagamento.config;
 
+import java.util.HashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +11,529 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Bulk bulk = new Bulk();
+
+    private final Vencimento vencimento = new Vencimento();
+
+    private final Confirmacao confirmacao = new Confirmacao();
+
+    private final Cpf cpf = new Cpf();
+
+    private final Cache cache = new Cache();
+
+    private final Jwt jwt = new Jwt();
+
+    private final Timing timing = new Timing();
+
+    private final Cnab cnab = new Cnab();
+
+    private final Notificacao notificacao = new Notificacao();
+
+    private final Outbox outbox = new Outbox();
+
+    private final Retry retry = new Retry();
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public Vencimento getVencimento() {
+        return vencimento;
+    }
+
+    public Confirmacao getConfirmacao() {
+        return confirmacao;
+    }
+
+    public Cpf getCpf() {
+        return cpf;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Jwt getJwt() {
+        return jwt;
+    }
+
+    public Timing getTiming() {
+        return timing;
+    }
+
+    public Cnab getCnab() {
+        return cnab;
+    }
+
+    public Notificacao getNotificacao() {
+        return notificacao;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public static class Bulk {
+
+        /**
+         * Number of rows persisted per transaction, should be a multiple of {@code hibernate.jdbc.batch_size}.
+         */
+        private int chunkSize = 500;
+
+        /**
+         * Maximum number of row errors reported back to the caller.
+         */
+        private int maxErrors = 1000;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getMaxErrors() {
+            return maxErrors;
+        }
+
+        public void setMaxErrors(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+    }
+
+    public static class Vencimento {
+
+        /**
+         * When the sweep marking overdue parcelas as ATRASADA runs.
+         */
+        private String cron = "0 5 0 * * ?";
+
+        /**
+         * Width of the id range updated per transaction by the sweep, bounded by the database's IN list limit.
+         */
+        private long chunkSize = 10000;
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+
+        public long getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(long chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class Confirmacao {
+
+        /**
+         * Number of recently confirmed transaction ids answered without querying the database.
+         */
+        private int cacheSize = 10000;
+
+        public int getCacheSize() {
+            return cacheSize;
+        }
+
+        public void setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+    }
+
+    public static class Cpf {
+
+        /**
+         * Number of cpf to cliente id mappings answered without querying the database.
+         */
+        private int cacheSize = 10000;
+
+        public int getCacheSize() {
+            return cacheSize;
+        }
+
+        public void setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Default time to live of the entries of a Hibernate second-level cache region.
+         */
+        private long timeToLiveSeconds = 3600;
+
+        /**
+         * Default maximum number of entries of a Hibernate second-level cache region.
+         */
+        private long maxEntries = 1000;
+
+        /**
+         * Settings overriding the defaults, keyed by the lower case entity name and applied to the entity and its collections.
+         */
+        private final Map<String, Region> regions = new HashMap<>();
+
+        public long getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public static class Region {
+
+            private Long timeToLiveSeconds;
+
+            private Long maxEntries;
+
+            public Long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+        }
+    }
+
+    public static class Jwt {
+
+        /**
+         * Number of verified tokens answered without checking their signature again, 0 disables the cache.
+         */
+        private int cacheSize = 10000;
+
+        public int getCacheSize() {
+            return cacheSize;
+        }
+
+        public void setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+    }
+
+    public static class Timing {
+
+        /**
+         * Whether the execution of the services, repositories and REST endpoints is timed, off leaves them unadvised.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Fraction of the calls timed, between 0 and 1.
+         */
+        private double sampleRate = 1;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+    }
+
+    public static class Cnab {
+
+        /**
+         * Number of titles of a return or remessa file matched and updated per transaction, bounded by the database's IN
+         * list limit.
+         */
+        private int chunkSize = 1000;
+
+        /**
+         * Maximum number of unmatched titles, divergent titles and line errors each reported back to the caller.
+         */
+        private int maxReportRows = 1000;
+
+        private final Beneficiario beneficiario = new Beneficiario();
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getMaxReportRows() {
+            return maxReportRows;
+        }
+
+        public void setMaxReportRows(int maxReportRows) {
+            this.maxReportRows = maxReportRows;
+        }
+
+        public Beneficiario getBeneficiario() {
+            return beneficiario;
+        }
+
+        /**
+         * The account of the company at the bank, written to the headers and titles of the remessa files.
+         */
+        public static class Beneficiario {
+
+            /**
+             * FEBRABAN code of the bank.
+             */
+            private String banco = "000";
+
+            private String nomeBanco = "";
+
+            /**
+             * CNPJ of the company, digits only.
+             */
+            private String inscricao = "";
+
+            private String nome = "";
+
+            /**
+             * Código do convênio or código da empresa assigned by the bank.
+             */
+            private String convenio = "";
+
+            private String agencia = "";
+
+            private String conta = "";
+
+            public String getBanco() {
+                return banco;
+            }
+
+            public void setBanco(String banco) {
+                this.banco = banco;
+            }
+
+            public String getNomeBanco() {
+                return nomeBanco;
+            }
+
+            public void setNomeBanco(String nomeBanco) {
+                this.nomeBanco = nomeBanco;
+            }
+
+            public String getInscricao() {
+                return inscricao;
+            }
+
+            public void setInscricao(String inscricao) {
+                this.inscricao = inscricao;
+            }
+
+            public String getNome() {
+                return nome;
+            }
+
+            public void setNome(String nome) {
+                this.nome = nome;
+            }
+
+            public String getConvenio() {
+                return convenio;
+            }
+
+            public void setConvenio(String convenio) {
+                this.convenio = convenio;
+            }
+
+            public String getAgencia() {
+                return agencia;
+            }
+
+            public void setAgencia(String agencia) {
+                this.agencia = agencia;
+            }
+
+            public String getConta() {
+                return conta;
+            }
+
+            public void setConta(String conta) {
+                this.conta = conta;
+            }
+        }
+    }
+
+    public static class Notificacao {
+
+        /**
+         * Number of payment notifications held in memory until they are applied, the next ones are spilled to the
+         * database. 0 spills every notification, so that none is lost if the application crashes.
+         */
+        private int queueCapacity = 10000;
+
+        /**
+         * Maximum number of notifications applied per transaction, bounded by the database's IN list limit.
+         */
+        private int batchSize = 1000;
+
+        /**
+         * Milliseconds between two flushes of the queued notifications.
+         */
+        private long flushInterval = 500;
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(long flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+    }
+
+    public static class Outbox {
+
+        /**
+         * Where the status change events of the parcelas are published: {@code log} or {@code http}.
+         */
+        private String sink = "log";
+
+        /**
+         * URL the http sink posts the events to, empty to resolve the service through the service discovery.
+         */
+        private String url = "";
+
+        /**
+         * Maximum number of events published per request, and deleted per transaction.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Milliseconds between two relays of the recorded events.
+         */
+        private long relayInterval = 1000;
+
+        public String getSink() {
+            return sink;
+        }
+
+        public void setSink(String sink) {
+            this.sink = sink;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getRelayInterval() {
+            return relayInterval;
+        }
+
+        public void setRelayInterval(long relayInterval) {
+            this.relayInterval = relayInterval;
+        }
+    }
+
+    public static class Retry {
+
+        /**
+         * Maximum number of attempts of a status change that failed on a concurrent update, including the first one.
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Milliseconds before the first retry, doubled by the next ones. Each delay is randomized up to twice its value,
+         * so that the retries of concurrent changes don't collide again.
+         */
+        private long initialInterval = 50;
+
+        /**
+         * Maximum milliseconds between two attempts.
+         */
+        private long maxInterval = 1000;
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getInitialInterval() {
+            return initialInterval;
+        }
+
+        public void setInitialInterval(long initialInterval) {
+            this.initialInterval = initialInterval;
+        }
+
+        public long getMaxInterval() {
+            return maxInterval;
+        }
+
+        public void setMaxInterval(long maxInterval) {
+            this.maxInterval = maxInterval;
+        }
+    }
+}
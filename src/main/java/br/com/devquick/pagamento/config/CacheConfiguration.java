@@ -0,0 +1,77 @@
+package br.com.devquick.pagamento.config;
+
+import br.com.devquick.pagamento.domain.Cliente;
+import br.com.devquick.pagamento.domain.Curso;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import java.util.Locale;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import javax.cache.CacheManager;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the Hibernate second-level cache, backed by local Caffeine caches through JCache.
+ * <p>
+ * Each cached entity gets its own region, bounded in size and time to live by {@code application.cache}. Statistics are
+ * enabled so that the hits and misses of every region are published as {@code cache.*} metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    private final ApplicationProperties.Cache cacheProperties;
+
+    public CacheConfiguration(ApplicationProperties applicationProperties) {
+        this.cacheProperties = applicationProperties.getCache();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(CacheManager cacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    @Bean
+    public JCacheManagerCustomizer cacheManagerCustomizer() {
+        return cm -> {
+            createCache(cm, Curso.class, "clientes");
+            createCache(cm, Cliente.class);
+        };
+    }
+
+    private void createCache(CacheManager cm, Class<?> entity, String... collections) {
+        CaffeineConfiguration<Object, Object> configuration = regionConfiguration(entity.getSimpleName().toLowerCase(Locale.ROOT));
+        createCache(cm, entity.getName(), configuration);
+        for (String collection : collections) {
+            createCache(cm, entity.getName() + "." + collection, configuration);
+        }
+    }
+
+    private void createCache(CacheManager cm, String cacheName, CaffeineConfiguration<Object, Object> configuration) {
+        javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        } else {
+            cm.createCache(cacheName, configuration);
+        }
+    }
+
+    private CaffeineConfiguration<Object, Object> regionConfiguration(String regionName) {
+        ApplicationProperties.Cache.Region region = cacheProperties
+            .getRegions()
+            .getOrDefault(regionName, new ApplicationProperties.Cache.Region());
+        long maxEntries = region.getMaxEntries() != null ? region.getMaxEntries() : cacheProperties.getMaxEntries();
+        long timeToLiveSeconds = region.getTimeToLiveSeconds() != null
+            ? region.getTimeToLiveSeconds()
+            : cacheProperties.getTimeToLiveSeconds();
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(timeToLiveSeconds)));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.devquick.pagamento.config;
+
+import br.com.devquick.pagamento.aop.timing.TimingAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.*;
+
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.timing", name = "enabled", havingValue = "true")
+public class TimingAspectConfiguration {
+
+    @Bean
+    public TimingAspect timingAspect(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        return new TimingAspect(meterRegistry, applicationProperties.getTiming().getSampleRate());
+    }
+}
@@ -5,12 +5,15 @@ import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
 import javax.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A Cliente.
  */
 @Entity
 @Table(name = "cliente")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Cliente implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -23,7 +26,7 @@ public class Cliente implements Serializable {
     @Column(name = "nome")
     private String nome;
 
-    @Column(name = "cpf")
+    @Column(name = "cpf", unique = true)
     private String cpf;
 
     @Column(name = "email")
@@ -32,11 +35,15 @@ public class Cliente implements Serializable {
     @Column(name = "telefone")
     private String telefone;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "cliente")
     @JsonIgnoreProperties(value = { "cliente" }, allowSetters = true)
     private Set<Parcela> parcelas = new HashSet<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "clientes" }, allowSetters = true)
     private Curso curso;
 
@@ -106,6 +113,19 @@ public class Cliente implements Serializable {
         this.telefone = telefone;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Cliente version(Long version) {
+        this.version = version;
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Set<Parcela> getParcelas() {
         return this.parcelas;
     }
@@ -178,6 +198,7 @@ public class Cliente implements Serializable {
             ", cpf='" + getCpf() + "'" +
             ", email='" + getEmail() + "'" +
             ", telefone='" + getTelefone() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -5,12 +5,15 @@ import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
 import javax.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A Curso.
  */
 @Entity
 @Table(name = "curso")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Curso implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -24,6 +27,7 @@ public class Curso implements Serializable {
     private String nome;
 
     @OneToMany(mappedBy = "curso")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnoreProperties(value = { "parcelas", "curso" }, allowSetters = true)
     private Set<Cliente> clientes = new HashSet<>();
 
@@ -4,6 +4,8 @@ import br.com.devquick.pagamento.domain.enumeration.Status;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
 import javax.persistence.*;
 
 /**
@@ -23,7 +25,7 @@ public class Parcela implements Serializable {
     @Column(name = "documento")
     private Long documento;
 
-    @Column(name = "id_transacao")
+    @Column(name = "id_transacao", unique = true)
     private String idTransacao;
 
     @Column(name = "valor", precision = 21, scale = 2)
@@ -39,7 +41,17 @@ public class Parcela implements Serializable {
     @Column(name = "status")
     private Status status;
 
-    @ManyToOne
+    @Column(name = "data_vencimento")
+    private LocalDate dataVencimento;
+
+    @Column(name = "data_remessa")
+    private Instant dataRemessa;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "parcelas", "curso" }, allowSetters = true)
     private Cliente cliente;
 
@@ -135,6 +147,45 @@ public class Parcela implements Serializable {
         this.status = status;
     }
 
+    public LocalDate getDataVencimento() {
+        return this.dataVencimento;
+    }
+
+    public Parcela dataVencimento(LocalDate dataVencimento) {
+        this.dataVencimento = dataVencimento;
+        return this;
+    }
+
+    public void setDataVencimento(LocalDate dataVencimento) {
+        this.dataVencimento = dataVencimento;
+    }
+
+    public Instant getDataRemessa() {
+        return this.dataRemessa;
+    }
+
+    public Parcela dataRemessa(Instant dataRemessa) {
+        this.dataRemessa = dataRemessa;
+        return this;
+    }
+
+    public void setDataRemessa(Instant dataRemessa) {
+        this.dataRemessa = dataRemessa;
+    }
+
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Parcela version(Long version) {
+        this.version = version;
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Cliente getCliente() {
         return this.cliente;
     }
@@ -178,6 +229,9 @@ public class Parcela implements Serializable {
             ", numero=" + getNumero() +
             ", total=" + getTotal() +
             ", status='" + getStatus() + "'" +
+            ", dataVencimento='" + getDataVencimento() + "'" +
+            ", dataRemessa='" + getDataRemessa() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
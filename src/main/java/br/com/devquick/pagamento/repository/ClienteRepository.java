@@ -1,7 +1,16 @@
 package br.com.devquick.pagamento.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
 import br.com.devquick.pagamento.domain.Cliente;
+import br.com.devquick.pagamento.repository.projection.ClienteSugestaoDTO;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +18,29 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ClienteRepository extends JpaRepository<Cliente, Long> {}
+public interface ClienteRepository
+    extends JpaRepository<Cliente, Long>, JpaSpecificationExecutor<Cliente>, ClienteResumoRepository {
+    /**
+     * JDBC fetch size used when streaming clientes, the number of rows held in memory at once.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    @Query("select cliente.id from Cliente cliente where cliente.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "curso")
+    Optional<Cliente> findOneWithCursoById(Long id);
+
+    @EntityGraph(attributePaths = "curso")
+    Optional<Cliente> findOneWithCursoByCpf(String cpf);
+
+    @Query("select cliente.id from Cliente cliente where cliente.cpf = :cpf")
+    Optional<Long> findIdByCpf(@Param("cpf") String cpf);
+
+    @Query(
+        "select new br.com.devquick.pagamento.repository.projection.ClienteSugestaoDTO(cliente.id, cliente.nome, cliente.email)" +
+        " from Cliente cliente"
+    )
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<ClienteSugestaoDTO> streamAllSugestoes();
+}
@@ -0,0 +1,31 @@
+package br.com.devquick.pagamento.repository;
+
+import br.com.devquick.pagamento.domain.Cliente;
+import br.com.devquick.pagamento.repository.projection.ClienteResumoDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Repository fragment reading {@link ClienteResumoDTO} projections of the clientes matching a {@link Specification}.
+ */
+public interface ClienteResumoRepository {
+    /**
+     * Get a page of the matching clientes.
+     *
+     * @param specification the filter, or {@code null} for all the clientes.
+     * @param pageable the pagination information.
+     * @return the page of projections.
+     */
+    Page<ClienteResumoDTO> findAllResumos(Specification<Cliente> specification, Pageable pageable);
+
+    /**
+     * Get a slice of the matching clientes, without counting them.
+     *
+     * @param specification the filter, or {@code null} for all the clientes.
+     * @param pageable the pagination information.
+     * @return the slice of projections.
+     */
+    Slice<ClienteResumoDTO> findAllResumosWithoutCount(Specification<Cliente> specification, Pageable pageable);
+}
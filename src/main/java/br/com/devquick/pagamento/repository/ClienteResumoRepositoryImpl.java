@@ -0,0 +1,55 @@
+package br.com.devquick.pagamento.repository;
+
+import br.com.devquick.pagamento.domain.Cliente;
+import br.com.devquick.pagamento.domain.Cliente_;
+import br.com.devquick.pagamento.domain.Curso;
+import br.com.devquick.pagamento.domain.Curso_;
+import br.com.devquick.pagamento.repository.projection.ClienteResumoDTO;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Implementation of {@link ClienteResumoRepository}, selecting the columns of the cliente and of its curso.
+ */
+class ClienteResumoRepositoryImpl implements ClienteResumoRepository {
+
+    private final ProjectionQueries<Cliente, ClienteResumoDTO> queries;
+
+    ClienteResumoRepositoryImpl(EntityManager em) {
+        this.queries =
+            new ProjectionQueries<>(
+                em,
+                Cliente.class,
+                ClienteResumoDTO.class,
+                (cliente, cb) -> {
+                    Join<Cliente, Curso> curso = cliente.join(Cliente_.curso, JoinType.LEFT);
+                    return cb.construct(
+                        ClienteResumoDTO.class,
+                        cliente.get(Cliente_.id),
+                        cliente.get(Cliente_.nome),
+                        cliente.get(Cliente_.cpf),
+                        cliente.get(Cliente_.email),
+                        cliente.get(Cliente_.telefone),
+                        cliente.get(Cliente_.version),
+                        curso.get(Curso_.id),
+                        curso.get(Curso_.nome)
+                    );
+                }
+            );
+    }
+
+    @Override
+    public Page<ClienteResumoDTO> findAllResumos(Specification<Cliente> specification, Pageable pageable) {
+        return queries.findPage(specification, pageable);
+    }
+
+    @Override
+    public Slice<ClienteResumoDTO> findAllResumosWithoutCount(Specification<Cliente> specification, Pageable pageable) {
+        return queries.findSlice(specification, pageable);
+    }
+}
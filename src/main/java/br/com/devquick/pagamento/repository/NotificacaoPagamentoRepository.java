@@ -0,0 +1,102 @@
+package br.com.devquick.pagamento.repository;
+
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.projection.NotificacaoPendenteDTO;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository of the {@code notificacao_pagamento} table, where the payment notifications waiting to be applied are spilled
+ * when they can't be kept in memory.
+ * <p>
+ * Notifications are read in the order they were received, which is not the order of their rows when those still queued
+ * at shutdown are spilled after newer ones.
+ */
+@Repository
+public class NotificacaoPagamentoRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private volatile Boolean postgresql;
+
+    public NotificacaoPagamentoRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * Insert notifications with a single JDBC batch.
+     *
+     * @param notificacoes the notifications to insert.
+     */
+    public void saveAll(Collection<NotificacaoPendenteDTO> notificacoes) {
+        List<Object[]> rows = new ArrayList<>(notificacoes.size());
+        for (NotificacaoPendenteDTO notificacao : notificacoes) {
+            Timestamp dataRecebimento = Timestamp.from(notificacao.getDataRecebimento());
+            rows.add(new Object[] { notificacao.getIdTransacao(), notificacao.getStatus().name(), dataRecebimento });
+        }
+        jdbcTemplate.batchUpdate("insert into notificacao_pagamento (id_transacao, status, data_recebimento) values (?, ?, ?)", rows);
+    }
+
+    /**
+     * Get the oldest notifications and lock them until the end of the transaction. On PostgreSQL the notifications
+     * locked by a concurrent flush are skipped, so that instances flushing at the same time apply different ones.
+     *
+     * @param limit the maximum number of notifications returned.
+     * @return the notifications in the order they were received, keyed by the id of their row.
+     */
+    public Map<Long, NotificacaoPendenteDTO> findFirstForUpdate(int limit) {
+        Map<Long, NotificacaoPendenteDTO> notificacoes = new LinkedHashMap<>();
+        jdbcTemplate.query(
+            "select id, id_transacao, status, data_recebimento from notificacao_pagamento order by data_recebimento, id limit ?" +
+            (isPostgresql() ? " for update skip locked" : " for update"),
+            rs -> {
+                NotificacaoPendenteDTO notificacao = new NotificacaoPendenteDTO(
+                    rs.getString("id_transacao"),
+                    Status.valueOf(rs.getString("status")),
+                    rs.getTimestamp("data_recebimento").toInstant()
+                );
+                notificacoes.put(rs.getLong("id"), notificacao);
+            },
+            limit
+        );
+        return notificacoes;
+    }
+
+    /**
+     * @return whether the table holds notifications, including those locked by a concurrent flush.
+     */
+    public boolean exists() {
+        return !jdbcTemplate.queryForList("select id from notificacao_pagamento limit 1", Long.class).isEmpty();
+    }
+
+    public int deleteByIdIn(Collection<Long> ids) {
+        return namedParameterJdbcTemplate.update(
+            "delete from notificacao_pagamento where id in (:ids)",
+            new MapSqlParameterSource("ids", ids)
+        );
+    }
+
+    private boolean isPostgresql() {
+        Boolean result = postgresql;
+        if (result == null) {
+            result =
+                jdbcTemplate.execute(
+                    (ConnectionCallback<Boolean>) connection -> "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())
+                );
+            postgresql = result;
+        }
+        return Boolean.TRUE.equals(result);
+    }
+}
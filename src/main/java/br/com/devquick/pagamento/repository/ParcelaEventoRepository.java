@@ -0,0 +1,72 @@
+package br.com.devquick.pagamento.repository;
+
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.projection.ParcelaEventoDTO;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository of the {@code parcela_evento} table, the outbox of the status changes of the parcelas.
+ * <p>
+ * Events must be recorded in the transaction changing the status, after the conditional update which changed it and
+ * locked the row of the parcela, so that the events of a parcela are recorded in the order its status changed.
+ */
+@Repository
+public class ParcelaEventoRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public ParcelaEventoRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * Record that parcelas changed to a status, with a single JDBC batch.
+     *
+     * @param parcelaIds the ids of the parcelas.
+     * @param status the new status of the parcelas.
+     */
+    public void saveAll(Collection<Long> parcelaIds, Status status) {
+        Timestamp dataEvento = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(parcelaIds.size());
+        for (Long parcelaId : parcelaIds) {
+            rows.add(new Object[] { parcelaId, status.name(), dataEvento });
+        }
+        jdbcTemplate.batchUpdate("insert into parcela_evento (parcela_id, status, data_evento) values (?, ?, ?)", rows);
+    }
+
+    /**
+     * Get the oldest events and lock them until the end of the transaction, so that concurrent relays publish them once
+     * and in order.
+     *
+     * @param limit the maximum number of events returned.
+     * @return the events in the order they were recorded.
+     */
+    public List<ParcelaEventoDTO> findFirstForUpdate(int limit) {
+        return jdbcTemplate.query(
+            "select id, parcela_id, status, data_evento from parcela_evento order by id limit ? for update",
+            (rs, rowNum) ->
+                new ParcelaEventoDTO(
+                    rs.getLong("id"),
+                    rs.getLong("parcela_id"),
+                    Status.valueOf(rs.getString("status")),
+                    rs.getTimestamp("data_evento").toInstant()
+                ),
+            limit
+        );
+    }
+
+    public int deleteByIdIn(Collection<Long> ids) {
+        return namedParameterJdbcTemplate.update("delete from parcela_evento where id in (:ids)", new MapSqlParameterSource("ids", ids));
+    }
+}
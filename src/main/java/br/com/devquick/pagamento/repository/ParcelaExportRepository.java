@@ -0,0 +1,20 @@
+package br.com.devquick.pagamento.repository;
+
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import java.util.stream.Stream;
+
+/**
+ * Repository fragment streaming the parcelas to export.
+ */
+public interface ParcelaExportRepository {
+    /**
+     * Stream the parcelas matching the given filters with their cliente, ordered by id, {@link ParcelaRepository#STREAM_FETCH_SIZE}
+     * rows at a time. Only the filters given are added to the query, so that it can use the index of their column.
+     *
+     * @param status the status to filter on, or {@code null} for all.
+     * @param clienteId the id of the cliente to filter on, or {@code null} for all.
+     * @return the stream of read-only parcelas, to be closed by the caller.
+     */
+    Stream<Parcela> streamAllByStatusAndCliente(Status status, Long clienteId);
+}
@@ -0,0 +1,56 @@
+package br.com.devquick.pagamento.repository;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import br.com.devquick.pagamento.domain.Cliente_;
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.domain.Parcela_;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import org.hibernate.CacheMode;
+
+/**
+ * Implementation of {@link ParcelaExportRepository}, with a criteria query.
+ */
+class ParcelaExportRepositoryImpl implements ParcelaExportRepository {
+
+    private final EntityManager em;
+
+    ParcelaExportRepositoryImpl(EntityManager em) {
+        this.em = em;
+    }
+
+    @Override
+    public Stream<Parcela> streamAllByStatusAndCliente(Status status, Long clienteId) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Parcela> query = cb.createQuery(Parcela.class);
+        Root<Parcela> parcela = query.from(Parcela.class);
+        parcela.fetch(Parcela_.cliente, JoinType.LEFT);
+        List<Predicate> predicates = new ArrayList<>(2);
+        if (status != null) {
+            predicates.add(cb.equal(parcela.get(Parcela_.status), status));
+        }
+        if (clienteId != null) {
+            predicates.add(cb.equal(parcela.get(Parcela_.cliente).get(Cliente_.id), clienteId));
+        }
+        query.select(parcela).where(predicates.toArray(new Predicate[0])).orderBy(cb.asc(parcela.get(Parcela_.id)));
+        return em
+            .createQuery(query)
+            .setHint(HINT_FETCH_SIZE, Integer.valueOf(ParcelaRepository.STREAM_FETCH_SIZE))
+            .setHint(HINT_READONLY, true)
+            .setHint(HINT_CACHEABLE, false)
+            .setHint(HINT_CACHE_MODE, CacheMode.IGNORE)
+            .getResultStream();
+    }
+}
@@ -1,7 +1,18 @@
 package br.com.devquick.pagamento.repository;
 
 import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.projection.ParcelaRemessaDTO;
+import br.com.devquick.pagamento.repository.projection.ParcelaSituacaoDTO;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +20,102 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ParcelaRepository extends JpaRepository<Parcela, Long> {}
+public interface ParcelaRepository
+    extends
+        JpaRepository<Parcela, Long>,
+        JpaSpecificationExecutor<Parcela>,
+        ParcelaResumoRepository,
+        ParcelaUpdateRepository,
+        ParcelaExportRepository {
+    /**
+     * JDBC fetch size used when streaming parcelas, the number of rows held in memory at once.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    @Query("select min(parcela.id) from Parcela parcela where parcela.status = :status and parcela.dataVencimento < :date")
+    Long findMinIdByStatusAndDataVencimentoBefore(@Param("status") Status status, @Param("date") LocalDate date);
+
+    @Query("select max(parcela.id) from Parcela parcela where parcela.status = :status and parcela.dataVencimento < :date")
+    Long findMaxIdByStatusAndDataVencimentoBefore(@Param("status") Status status, @Param("date") LocalDate date);
+
+    @Query("select parcela.id from Parcela parcela where parcela.idTransacao = :idTransacao")
+    Optional<Long> findIdByIdTransacao(@Param("idTransacao") String idTransacao);
+
+    @Query("select parcela.idTransacao from Parcela parcela where parcela.idTransacao in :idTransacoes")
+    Set<String> findExistingIdTransacoes(@Param("idTransacoes") Collection<String> idTransacoes);
+
+    /**
+     * Change the status of a parcela, unless it already has this status. A parcela without status is changed too. Like the
+     * other bulk updates, it increments the version, so that updates of the parcela read before fail instead of
+     * overwriting the change.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "update Parcela parcela set parcela.status = :status, parcela.version = parcela.version + 1" +
+        " where parcela.id = :id and (parcela.status is null or parcela.status <> :status)"
+    )
+    int updateStatusByIdAndStatusNot(@Param("status") Status status, @Param("id") Long id);
+
+    @EntityGraph(attributePaths = "cliente")
+    Optional<Parcela> findOneWithClienteById(Long id);
+
+    @Query("select parcela.version from Parcela parcela where parcela.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query(
+        "select new br.com.devquick.pagamento.repository.projection.ParcelaSituacaoDTO(" +
+        "parcela.id, parcela.idTransacao, parcela.documento, parcela.valor, parcela.status)" +
+        " from Parcela parcela where parcela.idTransacao in :idTransacoes"
+    )
+    List<ParcelaSituacaoDTO> findSituacoesByIdTransacaoIn(@Param("idTransacoes") Collection<String> idTransacoes);
+
+    @Query(
+        "select new br.com.devquick.pagamento.repository.projection.ParcelaSituacaoDTO(" +
+        "parcela.id, parcela.idTransacao, parcela.documento, parcela.valor, parcela.status)" +
+        " from Parcela parcela where parcela.documento in :documentos"
+    )
+    List<ParcelaSituacaoDTO> findSituacoesByDocumentoIn(@Param("documentos") Collection<Long> documentos);
+
+    @Query(
+        "select new br.com.devquick.pagamento.repository.projection.ParcelaRemessaDTO(" +
+        "parcela.id, parcela.documento, parcela.idTransacao, parcela.valor, parcela.dataVencimento, cliente.nome, cliente.cpf)" +
+        " from Parcela parcela left join parcela.cliente cliente" +
+        " where parcela.status = :status and parcela.dataRemessa is null and parcela.id > :afterId" +
+        " and parcela.valor is not null and parcela.dataVencimento is not null" +
+        " order by parcela.id"
+    )
+    List<ParcelaRemessaDTO> findRemessasByStatusAndIdGreaterThan(
+        @Param("status") Status status,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+
+    /**
+     * Mark parcelas as written to a remessa, those of another status or already marked are left untouched. Parcelas
+     * without documento are given their id as documento, which the bank returns as número do documento.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "update Parcela parcela set parcela.dataRemessa = :dataRemessa, parcela.documento = coalesce(parcela.documento, parcela.id)," +
+        " parcela.version = parcela.version + 1" +
+        " where parcela.id in :ids and parcela.status = :status and parcela.dataRemessa is null"
+    )
+    int updateDataRemessaByIdInAndStatus(
+        @Param("dataRemessa") Instant dataRemessa,
+        @Param("ids") Collection<Long> ids,
+        @Param("status") Status status
+    );
+
+    @Query("select parcela.id from Parcela parcela where parcela.id in :ids and parcela.status = :status")
+    Set<Long> findIdsByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") Status status);
+
+    @Query("select parcela.id from Parcela parcela where parcela.id in :ids and parcela.dataRemessa = :dataRemessa")
+    Set<Long> findIdsByIdInAndDataRemessa(@Param("ids") Collection<Long> ids, @Param("dataRemessa") Instant dataRemessa);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "update Parcela parcela set parcela.dataRemessa = null, parcela.version = parcela.version + 1" +
+        " where parcela.dataRemessa = :dataRemessa"
+    )
+    int clearDataRemessa(@Param("dataRemessa") Instant dataRemessa);
+}
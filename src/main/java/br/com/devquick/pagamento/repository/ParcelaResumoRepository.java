@@ -0,0 +1,31 @@
+package br.com.devquick.pagamento.repository;
+
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.repository.projection.ParcelaResumoDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Repository fragment reading {@link ParcelaResumoDTO} projections of the parcelas matching a {@link Specification}.
+ */
+public interface ParcelaResumoRepository {
+    /**
+     * Get a page of the matching parcelas.
+     *
+     * @param specification the filter, or {@code null} for all the parcelas.
+     * @param pageable the pagination information.
+     * @return the page of projections.
+     */
+    Page<ParcelaResumoDTO> findAllResumos(Specification<Parcela> specification, Pageable pageable);
+
+    /**
+     * Get a slice of the matching parcelas, without counting them.
+     *
+     * @param specification the filter, or {@code null} for all the parcelas.
+     * @param pageable the pagination information.
+     * @return the slice of projections.
+     */
+    Slice<ParcelaResumoDTO> findAllResumosWithoutCount(Specification<Parcela> specification, Pageable pageable);
+}
@@ -0,0 +1,62 @@
+package br.com.devquick.pagamento.repository;
+
+import br.com.devquick.pagamento.domain.Cliente;
+import br.com.devquick.pagamento.domain.Cliente_;
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.domain.Parcela_;
+import br.com.devquick.pagamento.repository.projection.ParcelaResumoDTO;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Implementation of {@link ParcelaResumoRepository}, selecting the columns of the parcela and of its cliente.
+ */
+class ParcelaResumoRepositoryImpl implements ParcelaResumoRepository {
+
+    private final ProjectionQueries<Parcela, ParcelaResumoDTO> queries;
+
+    ParcelaResumoRepositoryImpl(EntityManager em) {
+        this.queries =
+            new ProjectionQueries<>(
+                em,
+                Parcela.class,
+                ParcelaResumoDTO.class,
+                (parcela, cb) -> {
+                    Join<Parcela, Cliente> cliente = parcela.join(Parcela_.cliente, JoinType.LEFT);
+                    return cb.construct(
+                        ParcelaResumoDTO.class,
+                        parcela.get(Parcela_.id),
+                        parcela.get(Parcela_.documento),
+                        parcela.get(Parcela_.idTransacao),
+                        parcela.get(Parcela_.valor),
+                        parcela.get(Parcela_.numero),
+                        parcela.get(Parcela_.total),
+                        parcela.get(Parcela_.status),
+                        parcela.get(Parcela_.dataVencimento),
+                        parcela.get(Parcela_.dataRemessa),
+                        parcela.get(Parcela_.version),
+                        cliente.get(Cliente_.id),
+                        cliente.get(Cliente_.nome),
+                        cliente.get(Cliente_.cpf),
+                        cliente.get(Cliente_.email),
+                        cliente.get(Cliente_.telefone)
+                    );
+                }
+            );
+    }
+
+    @Override
+    public Page<ParcelaResumoDTO> findAllResumos(Specification<Parcela> specification, Pageable pageable) {
+        return queries.findPage(specification, pageable);
+    }
+
+    @Override
+    public Slice<ParcelaResumoDTO> findAllResumosWithoutCount(Specification<Parcela> specification, Pageable pageable) {
+        return queries.findSlice(specification, pageable);
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.devquick.pagamento.repository;
+
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.projection.ParcelaSituacaoDTO;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository fragment updating the parcelas with a single statement, without reading them first.
+ * <p>
+ * The status changes are conditional updates which lock the changed rows, in id order so that concurrent changes don't
+ * deadlock, and tell which parcelas changed, so that their events are recorded after them in the same transaction. A
+ * parcela without status doesn't have the status it is changed to, so it is changed too.
+ */
+public interface ParcelaUpdateRepository {
+    /**
+     * Update every field of a parcela and increment its version. If the parcela has a version, it is only updated if it still
+     * has this version.
+     *
+     * @param parcela the parcela, with its id.
+     * @return the number of updated parcelas, 0 if no parcela has this id and version.
+     */
+    @Transactional
+    int update(Parcela parcela);
+
+    /**
+     * Update the fields of a parcela which are not {@code null} in the partial update, and increment its version. If the
+     * partial update has a version, the parcela is only updated if it still has this version.
+     *
+     * @param parcela the partial update, with the id of the parcela.
+     * @return the number of updated parcelas, 0 if no parcela has this id and version.
+     */
+    @Transactional
+    int partialUpdate(Parcela parcela);
+
+    /**
+     * Set the status of a parcela about to be updated, unless it already has this status, or the parcela has not the version
+     * of the update. The version is not incremented, the update that follows in the transaction does.
+     *
+     * @param parcela the update, with the id of the parcela and its new status.
+     * @return whether the status of the parcela changed.
+     */
+    @Transactional
+    boolean updateStatusBeforeUpdate(Parcela parcela);
+
+    /**
+     * Change the status of a parcela, unless it already has this status, or the parcela has not the version of the update,
+     * and increment its version.
+     *
+     * @param parcela the update, with the id of the parcela and its new status.
+     * @return whether the status of the parcela changed.
+     */
+    @Transactional
+    boolean updateStatus(Parcela parcela);
+
+    /**
+     * Change the status of parcelas, unless they already have it, and increment their version.
+     *
+     * @param status the new status.
+     * @param ids the ids of the parcelas.
+     * @return the ids of the changed parcelas.
+     */
+    @Transactional
+    List<Long> updateStatusByIdIn(Status status, Collection<Long> ids);
+
+    /**
+     * Change the status of parcelas, unless they already have it or their transaction id changed since they were read, and
+     * increment their version.
+     *
+     * @param status the new status.
+     * @param parcelas the parcelas, with their id and transaction id.
+     * @return the ids of the changed parcelas.
+     */
+    @Transactional
+    List<Long> updateStatusByIdTransacaoIn(Status status, Collection<ParcelaSituacaoDTO> parcelas);
+
+    /**
+     * Change the status of the parcelas of an id range that have a status and are due before a date, with a single
+     * statement, and increment their version.
+     *
+     * @param novo the new status.
+     * @param status the status the parcelas must have to be changed.
+     * @param date the date the parcelas must be due before to be changed.
+     * @param fromId the first id of the range.
+     * @param toId the last id of the range.
+     * @return the ids of the changed parcelas.
+     */
+    @Transactional
+    List<Long> updateStatusByStatusAndDataVencimentoBeforeAndIdBetween(
+        Status novo,
+        Status status,
+        LocalDate date,
+        Long fromId,
+        Long toId
+    );
+}
@@ -0,0 +1,212 @@
+package br.com.devquick.pagamento.repository;
+
+import br.com.devquick.pagamento.domain.Cliente;
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.domain.Parcela_;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.projection.ParcelaSituacaoDTO;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import javax.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+/**
+ * Implementation of {@link ParcelaUpdateRepository}, with criteria updates, and JDBC statements for the status changes of
+ * several parcelas, which return the ids of the changed parcelas.
+ */
+class ParcelaUpdateRepositoryImpl implements ParcelaUpdateRepository {
+
+    private final EntityManager em;
+
+    private volatile Boolean postgresql;
+
+    ParcelaUpdateRepositoryImpl(EntityManager em) {
+        this.em = em;
+    }
+
+    @Override
+    public int update(Parcela parcela) {
+        return new UpdateStatement<>(em, Parcela.class)
+            .set(Parcela_.documento, parcela.getDocumento())
+            .set(Parcela_.idTransacao, parcela.getIdTransacao())
+            .set(Parcela_.valor, parcela.getValor())
+            .set(Parcela_.numero, parcela.getNumero())
+            .set(Parcela_.total, parcela.getTotal())
+            .set(Parcela_.status, parcela.getStatus())
+            .set(Parcela_.dataVencimento, parcela.getDataVencimento())
+            .set(Parcela_.dataRemessa, parcela.getDataRemessa())
+            .setReference(Parcela_.cliente, parcela.getCliente(), Cliente::getId)
+            .incrementVersion(Parcela_.version, parcela.getVersion())
+            .execute(Parcela_.id, parcela.getId());
+    }
+
+    @Override
+    public int partialUpdate(Parcela parcela) {
+        return new UpdateStatement<>(em, Parcela.class)
+            .setIfNotNull(Parcela_.documento, parcela.getDocumento())
+            .setIfNotNull(Parcela_.idTransacao, parcela.getIdTransacao())
+            .setIfNotNull(Parcela_.valor, parcela.getValor())
+            .setIfNotNull(Parcela_.numero, parcela.getNumero())
+            .setIfNotNull(Parcela_.total, parcela.getTotal())
+            .setIfNotNull(Parcela_.status, parcela.getStatus())
+            .setIfNotNull(Parcela_.dataVencimento, parcela.getDataVencimento())
+            .setIfNotNull(Parcela_.dataRemessa, parcela.getDataRemessa())
+            .incrementVersion(Parcela_.version, parcela.getVersion())
+            .execute(Parcela_.id, parcela.getId());
+    }
+
+    @Override
+    public boolean updateStatusBeforeUpdate(Parcela parcela) {
+        return (
+            new UpdateStatement<>(em, Parcela.class)
+                .set(Parcela_.status, parcela.getStatus())
+                .whereNot(Parcela_.status, parcela.getStatus())
+                .whereVersion(Parcela_.version, parcela.getVersion())
+                .execute(Parcela_.id, parcela.getId()) >
+            0
+        );
+    }
+
+    @Override
+    public boolean updateStatus(Parcela parcela) {
+        return (
+            new UpdateStatement<>(em, Parcela.class)
+                .set(Parcela_.status, parcela.getStatus())
+                .whereNot(Parcela_.status, parcela.getStatus())
+                .incrementVersion(Parcela_.version, parcela.getVersion())
+                .execute(Parcela_.id, parcela.getId()) >
+            0
+        );
+    }
+
+    @Override
+    public List<Long> updateStatusByIdIn(Status status, Collection<Long> ids) {
+        return updateEach(
+            "update parcela set status = ?, version = version + 1 where id = ? and (status is null or status <> ?)",
+            ids,
+            Long::longValue,
+            (ps, id) -> {
+                ps.setString(1, status.name());
+                ps.setLong(2, id);
+                ps.setString(3, status.name());
+            }
+        );
+    }
+
+    @Override
+    public List<Long> updateStatusByIdTransacaoIn(Status status, Collection<ParcelaSituacaoDTO> parcelas) {
+        return updateEach(
+            "update parcela set status = ?, version = version + 1 where id = ? and id_transacao = ? and (status is null or status <> ?)",
+            parcelas,
+            ParcelaSituacaoDTO::getId,
+            (ps, parcela) -> {
+                ps.setString(1, status.name());
+                ps.setLong(2, parcela.getId());
+                ps.setString(3, parcela.getIdTransacao());
+                ps.setString(4, status.name());
+            }
+        );
+    }
+
+    @Override
+    public List<Long> updateStatusByStatusAndDataVencimentoBeforeAndIdBetween(
+        Status novo,
+        Status status,
+        LocalDate date,
+        Long fromId,
+        Long toId
+    ) {
+        String update =
+            "update parcela set status = ?, version = version + 1" +
+            " where status = ? and data_vencimento < ? and id between ? and ?";
+        em.flush();
+        List<Long> updated = em
+            .unwrap(Session.class)
+            .doReturningWork(
+                connection -> {
+                    // PostgreSQL returns the updated rows, H2 reads them from the final table of the update
+                    String sql = isPostgresql(connection) ? update + " returning id" : "select id from final table (" + update + ")";
+                    try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                        ps.setString(1, novo.name());
+                        ps.setString(2, status.name());
+                        ps.setDate(3, Date.valueOf(date));
+                        ps.setLong(4, fromId);
+                        ps.setLong(5, toId);
+                        List<Long> ids = new ArrayList<>();
+                        try (ResultSet rs = ps.executeQuery()) {
+                            while (rs.next()) {
+                                ids.add(rs.getLong(1));
+                            }
+                        }
+                        return ids;
+                    }
+                }
+            );
+        updated.forEach(id -> em.detach(em.getReference(Parcela.class, id)));
+        return updated;
+    }
+
+    /**
+     * Run a conditional update of a single parcela for each row, with a single JDBC batch on the connection of the
+     * persistence context, in id order.
+     * <p>
+     * Like the other updates, the pending changes are flushed before the batch, and the changed parcelas are detached, so
+     * that they are read again. The other entities stay managed.
+     *
+     * @return the ids of the parcelas the update changed.
+     */
+    private <R> List<Long> updateEach(
+        String sql,
+        Collection<R> rows,
+        ToLongFunction<R> id,
+        ParameterizedPreparedStatementSetter<R> setter
+    ) {
+        List<R> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparingLong(id));
+        if (sorted.isEmpty()) {
+            return List.of();
+        }
+        em.flush();
+        int[] counts = em
+            .unwrap(Session.class)
+            .doReturningWork(
+                connection -> {
+                    try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                        for (R row : sorted) {
+                            setter.setValues(ps, row);
+                            ps.addBatch();
+                        }
+                        return ps.executeBatch();
+                    }
+                }
+            );
+        List<Long> updated = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                long updatedId = id.applyAsLong(sorted.get(i));
+                updated.add(updatedId);
+                em.detach(em.getReference(Parcela.class, updatedId));
+            }
+        }
+        return updated;
+    }
+
+    private boolean isPostgresql(Connection connection) throws SQLException {
+        Boolean result = postgresql;
+        if (result == null) {
+            result = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+            postgresql = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.devquick.pagamento.repository;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CompoundSelection;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * Criteria queries selecting a constructor projection of the rows matching a {@link Specification}.
+ * <p>
+ * This is the projection counterpart of {@link org.springframework.data.jpa.repository.JpaSpecificationExecutor}, which only
+ * returns managed entities.
+ *
+ * @param <T> the type of the entity.
+ * @param <R> the type of the projection.
+ */
+final class ProjectionQueries<T, R> {
+
+    private final EntityManager em;
+
+    private final Class<T> domainClass;
+
+    private final Class<R> projectionClass;
+
+    private final BiFunction<Root<T>, CriteriaBuilder, CompoundSelection<R>> selection;
+
+    ProjectionQueries(
+        EntityManager em,
+        Class<T> domainClass,
+        Class<R> projectionClass,
+        BiFunction<Root<T>, CriteriaBuilder, CompoundSelection<R>> selection
+    ) {
+        this.em = em;
+        this.domainClass = domainClass;
+        this.projectionClass = projectionClass;
+        this.selection = selection;
+    }
+
+    Page<R> findPage(Specification<T> specification, Pageable pageable) {
+        List<R> content = find(specification, pageable, pageable.isPaged() ? pageable.getPageSize() : 0);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    Slice<R> findSlice(Specification<T> specification, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(find(specification, pageable, 0), pageable, false);
+        }
+        // Read one row more than the page size to know whether there is a next slice
+        List<R> content = find(specification, pageable, pageable.getPageSize() + 1);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    private List<R> find(Specification<T> specification, Pageable pageable, int maxResults) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(projectionClass);
+        Root<T> root = query.from(domainClass);
+        query.select(selection.apply(root, cb));
+        Predicate predicate = specification != null ? specification.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+        TypedQuery<R> typedQuery = em.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(maxResults);
+        }
+        return typedQuery.getResultList();
+    }
+
+    private long count(Specification<T> specification) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(domainClass);
+        Predicate predicate = specification != null ? specification.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        return em.createQuery(query).getSingleResult();
+    }
+}
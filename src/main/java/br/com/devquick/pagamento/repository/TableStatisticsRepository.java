@@ -0,0 +1,63 @@
+package br.com.devquick.pagamento.repository;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository reading row counts from the database statistics.
+ * <p>
+ * On PostgreSQL the planner estimate ({@code pg_class.reltuples}) is returned, which costs a catalog lookup instead of a
+ * scan of the table. On other databases, or when the table was never analyzed, an exact {@code count(*)} is returned.
+ */
+@Repository
+public class TableStatisticsRepository {
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgresql;
+
+    public TableStatisticsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Get the approximate number of rows of a table.
+     *
+     * @param tableName the unquoted name of the table.
+     * @return the estimated number of rows.
+     */
+    public long approximateCount(String tableName) {
+        if (!TABLE_NAME.matcher(tableName).matches()) {
+            throw new IllegalArgumentException("Invalid table name: " + tableName);
+        }
+        if (isPostgresql()) {
+            List<Long> estimate = jdbcTemplate.queryForList(
+                "select reltuples::bigint from pg_class where oid = to_regclass(?)",
+                Long.class,
+                tableName
+            );
+            if (!estimate.isEmpty() && estimate.get(0) != null && estimate.get(0) >= 0) {
+                return estimate.get(0);
+            }
+        }
+        Long count = jdbcTemplate.queryForObject("select count(*) from " + tableName, Long.class);
+        return count != null ? count : 0L;
+    }
+
+    private boolean isPostgresql() {
+        Boolean result = postgresql;
+        if (result == null) {
+            result =
+                jdbcTemplate.execute(
+                    (ConnectionCallback<Boolean>) connection -> "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())
+                );
+            postgresql = result;
+        }
+        return Boolean.TRUE.equals(result);
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.devquick.pagamento.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.SingularAttribute;
+
+/**
+ * Criteria update of an entity by id, in a single statement which writes the fields it is given and leaves the other
+ * columns untouched, so that an update costs neither the select of a merge nor an existence check.
+ * <p>
+ * The pending changes are flushed before the statement, and only the updated entity is detached after it, so that it is
+ * read again with the update while the other entities of the persistence context stay managed.
+ *
+ * @param <T> the type of the entity.
+ */
+final class UpdateStatement<T> {
+
+    private final EntityManager em;
+
+    private final Class<T> domainClass;
+
+    private final CriteriaBuilder cb;
+
+    private final CriteriaUpdate<T> update;
+
+    private final Root<T> root;
+
+    private final List<Predicate> where = new ArrayList<>();
+
+    UpdateStatement(EntityManager em, Class<T> domainClass) {
+        this.em = em;
+        this.domainClass = domainClass;
+        this.cb = em.getCriteriaBuilder();
+        this.update = cb.createCriteriaUpdate(domainClass);
+        this.root = update.from(domainClass);
+    }
+
+    /**
+     * Set a field, to {@code null} if the value is.
+     */
+    <Y> UpdateStatement<T> set(SingularAttribute<? super T, Y> attribute, Y value) {
+        update.set(attribute, value);
+        return this;
+    }
+
+    /**
+     * Set a field, unless its value is {@code null}.
+     */
+    <Y> UpdateStatement<T> setIfNotNull(SingularAttribute<? super T, Y> attribute, Y value) {
+        if (value != null) {
+            update.set(attribute, value);
+        }
+        return this;
+    }
+
+    /**
+     * Set a to-one association to the entity with the id of the given one, without loading it.
+     */
+    <Y> UpdateStatement<T> setReference(SingularAttribute<? super T, Y> attribute, Y value, Function<Y, Object> id) {
+        update.set(attribute, value != null ? em.getReference(attribute.getJavaType(), id.apply(value)) : null);
+        return this;
+    }
+
+    /**
+     * Increment the version of the entity.
+     *
+     * @param versionAttribute the version of the entity.
+     * @param version the version the entity must have to be updated, or {@code null} to update any version.
+     */
+    UpdateStatement<T> incrementVersion(SingularAttribute<? super T, Long> versionAttribute, Long version) {
+        Path<Long> versionPath = root.get(versionAttribute);
+        update.set(versionPath, cb.sum(versionPath, 1L));
+        return whereVersion(versionAttribute, version);
+    }
+
+    /**
+     * Only update the entity if it has the given version, without incrementing it.
+     *
+     * @param versionAttribute the version of the entity.
+     * @param version the version the entity must have to be updated, or {@code null} to update any version.
+     */
+    UpdateStatement<T> whereVersion(SingularAttribute<? super T, Long> versionAttribute, Long version) {
+        if (version != null) {
+            where.add(cb.equal(root.get(versionAttribute), version));
+        }
+        return this;
+    }
+
+    /**
+     * Only update the entity if a field has not the given value, so that the row count tells whether it changed. A
+     * {@code null} field has not the value, which {@code <>} alone doesn't match.
+     */
+    <Y> UpdateStatement<T> whereNot(SingularAttribute<? super T, Y> attribute, Y value) {
+        Path<Y> path = root.get(attribute);
+        where.add(cb.or(cb.isNull(path), cb.notEqual(path, value)));
+        return this;
+    }
+
+    /**
+     * Update the entity with the given id.
+     *
+     * @param idAttribute the id of the entity.
+     * @param id the id of the updated entity.
+     * @return the number of updated rows, 0 if no entity has this id and matches the conditions given.
+     */
+    int execute(SingularAttribute<? super T, Long> idAttribute, Long id) {
+        where.add(0, cb.equal(root.get(idAttribute), id));
+        update.where(where.toArray(new Predicate[0]));
+        em.flush();
+        int updated = em.createQuery(update).executeUpdate();
+        if (updated > 0) {
+            em.detach(em.getReference(domainClass, id));
+        }
+        return updated;
+    }
+}
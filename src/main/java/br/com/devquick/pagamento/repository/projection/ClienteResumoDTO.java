@@ -0,0 +1,102 @@
+package br.com.devquick.pagamento.repository.projection;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+
+/**
+ * The columns of a {@link br.com.devquick.pagamento.domain.Cliente} exposed by the list endpoints.
+ * <p>
+ * The version is only read for the list of the clientes, not for the cliente of a parcela.
+ * <p>
+ * Instances are built by JPQL constructor expressions: they are not managed, so reading them costs neither a persistence
+ * context entry nor a dirty check.
+ */
+public class ClienteResumoDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    private final String nome;
+
+    private final String cpf;
+
+    private final String email;
+
+    private final String telefone;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Long version;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final CursoResumoDTO curso;
+
+    public ClienteResumoDTO(Long id, String nome, String cpf, String email, String telefone) {
+        this(id, nome, cpf, email, telefone, null, null);
+    }
+
+    public ClienteResumoDTO(
+        Long id,
+        String nome,
+        String cpf,
+        String email,
+        String telefone,
+        Long version,
+        Long cursoId,
+        String cursoNome
+    ) {
+        this(id, nome, cpf, email, telefone, version, cursoId != null ? new CursoResumoDTO(cursoId, cursoNome) : null);
+    }
+
+    private ClienteResumoDTO(Long id, String nome, String cpf, String email, String telefone, Long version, CursoResumoDTO curso) {
+        this.id = id;
+        this.nome = nome;
+        this.cpf = cpf;
+        this.email = email;
+        this.telefone = telefone;
+        this.version = version;
+        this.curso = curso;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getCpf() {
+        return cpf;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getTelefone() {
+        return telefone;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public CursoResumoDTO getCurso() {
+        return curso;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ClienteResumoDTO{" +
+            "id=" + getId() +
+            ", nome='" + getNome() + "'" +
+            ", cpf='" + getCpf() + "'" +
+            ", email='" + getEmail() + "'" +
+            ", telefone='" + getTelefone() + "'" +
+            ", version=" + getVersion() +
+            ", curso=" + getCurso() +
+            "}";
+    }
+}
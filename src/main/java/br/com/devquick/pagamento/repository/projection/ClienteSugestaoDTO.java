@@ -0,0 +1,45 @@
+package br.com.devquick.pagamento.repository.projection;
+
+import java.io.Serializable;
+
+/**
+ * The columns of a {@link br.com.devquick.pagamento.domain.Cliente} suggested by the typeahead endpoint.
+ */
+public class ClienteSugestaoDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    private final String nome;
+
+    private final String email;
+
+    public ClienteSugestaoDTO(Long id, String nome, String email) {
+        this.id = id;
+        this.nome = nome;
+        this.email = email;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ClienteSugestaoDTO{" +
+            "id=" + getId() +
+            ", nome='" + getNome() + "'" +
+            ", email='" + getEmail() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.devquick.pagamento.repository.projection;
+
+import java.io.Serializable;
+
+/**
+ * The columns of a {@link br.com.devquick.pagamento.domain.Curso} exposed by the list endpoints.
+ */
+public class CursoResumoDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    private final String nome;
+
+    public CursoResumoDTO(Long id, String nome) {
+        this.id = id;
+        this.nome = nome;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CursoResumoDTO{" +
+            "id=" + getId() +
+            ", nome='" + getNome() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.devquick.pagamento.repository.projection;
+
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A payment notification waiting to be applied to the status of the {@link br.com.devquick.pagamento.domain.Parcela} of
+ * a transaction.
+ */
+public class NotificacaoPendenteDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String idTransacao;
+
+    private final Status status;
+
+    private final Instant dataRecebimento;
+
+    public NotificacaoPendenteDTO(String idTransacao, Status status, Instant dataRecebimento) {
+        this.idTransacao = idTransacao;
+        this.status = status;
+        this.dataRecebimento = dataRecebimento;
+    }
+
+    public String getIdTransacao() {
+        return idTransacao;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getDataRecebimento() {
+        return dataRecebimento;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "NotificacaoPendenteDTO{" +
+            "idTransacao='" + getIdTransacao() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", dataRecebimento='" + getDataRecebimento() + "'" +
+            "}";
+    }
+}
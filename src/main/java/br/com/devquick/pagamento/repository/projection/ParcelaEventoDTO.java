@@ -0,0 +1,57 @@
+package br.com.devquick.pagamento.repository.projection;
+
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A change of the status of a {@link br.com.devquick.pagamento.domain.Parcela}, published to the downstream services.
+ * <p>
+ * Events are delivered at least once: the id of the event tells a redelivered event from a new one.
+ */
+public class ParcelaEventoDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    private final Long parcelaId;
+
+    private final Status status;
+
+    private final Instant dataEvento;
+
+    public ParcelaEventoDTO(Long id, Long parcelaId, Status status, Instant dataEvento) {
+        this.id = id;
+        this.parcelaId = parcelaId;
+        this.status = status;
+        this.dataEvento = dataEvento;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getParcelaId() {
+        return parcelaId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getDataEvento() {
+        return dataEvento;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ParcelaEventoDTO{" +
+            "id=" + getId() +
+            ", parcelaId=" + getParcelaId() +
+            ", status='" + getStatus() + "'" +
+            ", dataEvento='" + getDataEvento() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.devquick.pagamento.repository.projection;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The columns of a {@link br.com.devquick.pagamento.domain.Parcela} and of its cliente written to a CNAB remessa file.
+ */
+public class ParcelaRemessaDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    private final Long documento;
+
+    private final String idTransacao;
+
+    private final BigDecimal valor;
+
+    private final LocalDate dataVencimento;
+
+    private final String clienteNome;
+
+    private final String clienteCpf;
+
+    public ParcelaRemessaDTO(
+        Long id,
+        Long documento,
+        String idTransacao,
+        BigDecimal valor,
+        LocalDate dataVencimento,
+        String clienteNome,
+        String clienteCpf
+    ) {
+        this.id = id;
+        this.documento = documento;
+        this.idTransacao = idTransacao;
+        this.valor = valor;
+        this.dataVencimento = dataVencimento;
+        this.clienteNome = clienteNome;
+        this.clienteCpf = clienteCpf;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getDocumento() {
+        return documento;
+    }
+
+    public String getIdTransacao() {
+        return idTransacao;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public LocalDate getDataVencimento() {
+        return dataVencimento;
+    }
+
+    public String getClienteNome() {
+        return clienteNome;
+    }
+
+    public String getClienteCpf() {
+        return clienteCpf;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ParcelaRemessaDTO{" +
+            "id=" + getId() +
+            ", documento=" + getDocumento() +
+            ", idTransacao='" + getIdTransacao() + "'" +
+            ", valor=" + getValor() +
+            ", dataVencimento='" + getDataVencimento() + "'" +
+            ", clienteNome='" + getClienteNome() + "'" +
+            ", clienteCpf='" + getClienteCpf() + "'" +
+            "}";
+    }
+}
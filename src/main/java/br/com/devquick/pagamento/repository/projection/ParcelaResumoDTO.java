@@ -0,0 +1,133 @@
+package br.com.devquick.pagamento.repository.projection;
+
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * The columns of a {@link br.com.devquick.pagamento.domain.Parcela} and of its cliente exposed by the list endpoints.
+ * <p>
+ * Instances are built by JPQL constructor expressions: they are not managed, so reading them costs neither a persistence
+ * context entry nor a dirty check.
+ */
+public class ParcelaResumoDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    private final Long documento;
+
+    private final String idTransacao;
+
+    private final BigDecimal valor;
+
+    private final Integer numero;
+
+    private final Integer total;
+
+    private final Status status;
+
+    private final LocalDate dataVencimento;
+
+    private final Instant dataRemessa;
+
+    private final Long version;
+
+    private final ClienteResumoDTO cliente;
+
+    public ParcelaResumoDTO(
+        Long id,
+        Long documento,
+        String idTransacao,
+        BigDecimal valor,
+        Integer numero,
+        Integer total,
+        Status status,
+        LocalDate dataVencimento,
+        Instant dataRemessa,
+        Long version,
+        Long clienteId,
+        String clienteNome,
+        String clienteCpf,
+        String clienteEmail,
+        String clienteTelefone
+    ) {
+        this.id = id;
+        this.documento = documento;
+        this.idTransacao = idTransacao;
+        this.valor = valor;
+        this.numero = numero;
+        this.total = total;
+        this.status = status;
+        this.dataVencimento = dataVencimento;
+        this.dataRemessa = dataRemessa;
+        this.version = version;
+        this.cliente =
+            clienteId != null ? new ClienteResumoDTO(clienteId, clienteNome, clienteCpf, clienteEmail, clienteTelefone) : null;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getDocumento() {
+        return documento;
+    }
+
+    public String getIdTransacao() {
+        return idTransacao;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public Integer getNumero() {
+        return numero;
+    }
+
+    public Integer getTotal() {
+        return total;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public LocalDate getDataVencimento() {
+        return dataVencimento;
+    }
+
+    public Instant getDataRemessa() {
+        return dataRemessa;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public ClienteResumoDTO getCliente() {
+        return cliente;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ParcelaResumoDTO{" +
+            "id=" + getId() +
+            ", documento=" + getDocumento() +
+            ", idTransacao='" + getIdTransacao() + "'" +
+            ", valor=" + getValor() +
+            ", numero=" + getNumero() +
+            ", total=" + getTotal() +
+            ", status='" + getStatus() + "'" +
+            ", dataVencimento='" + getDataVencimento() + "'" +
+            ", dataRemessa='" + getDataRemessa() + "'" +
+            ", version=" + getVersion() +
+            ", cliente=" + getCliente() +
+            "}";
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.devquick.pagamento.repository.projection;
+
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * The columns of a {@link br.com.devquick.pagamento.domain.Parcela} needed to reconcile a payment against it.
+ */
+public class ParcelaSituacaoDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    private final String idTransacao;
+
+    private final Long documento;
+
+    private final BigDecimal valor;
+
+    private final Status status;
+
+    public ParcelaSituacaoDTO(Long id, String idTransacao, Long documento, BigDecimal valor, Status status) {
+        this.id = id;
+        this.idTransacao = idTransacao;
+        this.documento = documento;
+        this.valor = valor;
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getIdTransacao() {
+        return idTransacao;
+    }
+
+    public Long getDocumento() {
+        return documento;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ParcelaSituacaoDTO{" +
+            "id=" + getId() +
+            ", idTransacao='" + getIdTransacao() + "'" +
+            ", documento=" + getDocumento() +
+            ", valor=" + getValor() +
+            ", status='" + getStatus() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Read-only projections built by the repositories, without loading the entities.
+ */
+package br.com.devquick.pagamento.repository.projection;
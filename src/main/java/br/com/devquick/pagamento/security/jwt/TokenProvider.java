@@ -1,11 +1,21 @@
 package br.com.devquick.pagamento.security.jwt;
 
+import br.com.devquick.pagamento.config.ApplicationProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,8 +26,18 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
 import tech.jhipster.config.JHipsterProperties;
 
+/**
+ * Creates and verifies the JWT tokens.
+ * <p>
+ * A token is parsed once per request by {@link #authenticate(String)}. The principals of the verified tokens are kept in a
+ * bounded cache of {@code application.jwt.cache-size} entries, keyed by the SHA-256 digest of the token and expiring at
+ * the expiration of the token, so the requests of a client reusing its token skip the signature check and the claims
+ * parsing. Each request still gets its own authentication, only the immutable principal and authorities are shared. The
+ * authorities are shared between the authentications having the same {@code auth} claim.
+ */
 @Component
 public class TokenProvider {
 
@@ -33,7 +53,11 @@ public class TokenProvider {
 
     private final long tokenValidityInMillisecondsForRememberMe;
 
-    public TokenProvider(JHipsterProperties jHipsterProperties) {
+    private final Cache<ByteBuffer, VerifiedToken> verifiedTokens;
+
+    private final ConcurrentMap<String, List<GrantedAuthority>> authoritiesByClaim = new ConcurrentHashMap<>();
+
+    public TokenProvider(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret();
         if (!ObjectUtils.isEmpty(secret)) {
@@ -52,6 +76,13 @@ public class TokenProvider {
         this.tokenValidityInMilliseconds = 1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSeconds();
         this.tokenValidityInMillisecondsForRememberMe =
             1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSecondsForRememberMe();
+        this.verifiedTokens =
+            Caffeine
+                .newBuilder()
+                .maximumSize(Math.max(0, applicationProperties.getJwt().getCacheSize()))
+                .expireAfter(new ExpireAtTokenExpiration())
+                .executor(Runnable::run)
+                .build();
     }
 
     public String createToken(Authentication authentication, boolean rememberMe) {
@@ -75,27 +106,105 @@ public class TokenProvider {
     }
 
     public Authentication getAuthentication(String token) {
-        Claims claims = jwtParser.parseClaimsJws(token).getBody();
-
-        Collection<? extends GrantedAuthority> authorities = Arrays
-            .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-            .filter(auth -> !auth.trim().isEmpty())
-            .map(SimpleGrantedAuthority::new)
-            .collect(Collectors.toList());
-
-        User principal = new User(claims.getSubject(), "", authorities);
-
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        return toAuthentication(token, jwtParser.parseClaimsJws(token).getBody());
     }
 
     public boolean validateToken(String authToken) {
+        return authenticate(authToken).isPresent();
+    }
+
+    /**
+     * Verify a token and build its authentication, parsing it at most once.
+     *
+     * @param authToken the token.
+     * @return the authentication, or empty if the token is invalid or expired.
+     */
+    public Optional<Authentication> authenticate(String authToken) {
+        if (!StringUtils.hasText(authToken)) {
+            return Optional.empty();
+        }
+        ByteBuffer digest = digest(authToken);
+        VerifiedToken verified = verifiedTokens.getIfPresent(digest);
+        if (verified != null) {
+            return Optional.of(new UsernamePasswordAuthenticationToken(verified.principal, authToken, verified.principal.getAuthorities()));
+        }
+        Claims claims;
         try {
-            jwtParser.parseClaimsJws(authToken);
-            return true;
+            claims = jwtParser.parseClaimsJws(authToken).getBody();
         } catch (JwtException | IllegalArgumentException e) {
             log.info("Invalid JWT token.");
             log.trace("Invalid JWT token trace.", e);
+            return Optional.empty();
+        }
+        User principal = toPrincipal(claims);
+        // A token without expiration is never cached, it would be trusted for as long as it stays in the cache
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(digest, new VerifiedToken(principal, claims.getExpiration().getTime()));
+        }
+        return Optional.of(new UsernamePasswordAuthenticationToken(principal, authToken, principal.getAuthorities()));
+    }
+
+    private Authentication toAuthentication(String token, Claims claims) {
+        User principal = toPrincipal(claims);
+
+        return new UsernamePasswordAuthenticationToken(principal, token, principal.getAuthorities());
+    }
+
+    private User toPrincipal(Claims claims) {
+        Object claim = claims.get(AUTHORITIES_KEY);
+        Collection<GrantedAuthority> authorities = claim == null
+            ? Collections.emptyList()
+            : authoritiesByClaim.computeIfAbsent(claim.toString(), TokenProvider::parseAuthorities);
+
+        return new User(claims.getSubject(), "", authorities);
+    }
+
+    private static List<GrantedAuthority> parseAuthorities(String claim) {
+        return Arrays
+            .stream(claim.split(","))
+            .filter(auth -> !auth.trim().isEmpty())
+            .map(SimpleGrantedAuthority::new)
+            .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class VerifiedToken {
+
+        private final User principal;
+
+        private final long expiration;
+
+        VerifiedToken(User principal, long expiration) {
+            this.principal = principal;
+            this.expiration = expiration;
+        }
+    }
+
+    /**
+     * Expires a verified token at the expiration of the token, whenever it was cached or last read.
+     */
+    private static final class ExpireAtTokenExpiration implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer digest, VerifiedToken verified, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, verified.expiration - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer digest, VerifiedToken verified, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, verified, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer digest, VerifiedToken verified, long currentTime, long currentDuration) {
+            return currentDuration;
         }
-        return false;
     }
 }
@@ -0,0 +1,158 @@
+package br.com.devquick.pagamento.service;
+
+import br.com.devquick.pagamento.domain.*; // for static metamodels
+import br.com.devquick.pagamento.domain.Cliente;
+import br.com.devquick.pagamento.repository.ClienteRepository;
+import br.com.devquick.pagamento.repository.TableStatisticsRepository;
+import br.com.devquick.pagamento.repository.projection.ClienteResumoDTO;
+import br.com.devquick.pagamento.service.criteria.ClienteCriteria;
+import javax.persistence.criteria.JoinType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link Cliente} entities in the database.
+ * The main input is a {@link ClienteCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Page} or a {@link Slice} of {@link ClienteResumoDTO} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ClienteQueryService extends QueryService<Cliente> {
+
+    private final Logger log = LoggerFactory.getLogger(ClienteQueryService.class);
+
+    private final ClienteRepository clienteRepository;
+
+    private final TableStatisticsRepository tableStatisticsRepository;
+
+    public ClienteQueryService(ClienteRepository clienteRepository, TableStatisticsRepository tableStatisticsRepository) {
+        this.clienteRepository = clienteRepository;
+        this.tableStatisticsRepository = tableStatisticsRepository;
+    }
+
+    /**
+     * Return a {@link Page} of {@link ClienteResumoDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<ClienteResumoDTO> findByCriteria(ClienteCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Cliente> specification = createSpecification(criteria);
+        return clienteRepository.findAllResumos(specification, page);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link ClienteResumoDTO} which matches the criteria from the database, without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ClienteResumoDTO> findSliceByCriteria(ClienteCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<Cliente> specification = createSpecification(criteria);
+        return clienteRepository.findAllResumosWithoutCount(specification, page);
+    }
+
+    /**
+     * Return the {@link ClienteResumoDTO}s which match the criteria and follow the given id, ordered by id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param id The id after which the slice starts, or {@code null} to start from the first entity.
+     * @param page The pagination information, only the page size is used.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ClienteResumoDTO> findByCriteriaAfter(ClienteCriteria criteria, Long id, Pageable page) {
+        log.debug("find by criteria : {}, after: {}", criteria, id);
+        Specification<Cliente> specification = createSpecification(criteria);
+        if (id != null) {
+            specification = specification.and((root, query, cb) -> cb.greaterThan(root.get(Cliente_.id), id));
+        }
+        return clienteRepository.findAllResumosWithoutCount(specification, PageRequest.of(0, page.getPageSize(), Sort.by(Cliente_.ID)));
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(ClienteCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<Cliente> specification = createSpecification(criteria);
+        return clienteRepository.count(specification);
+    }
+
+    /**
+     * Return the approximate number of matching entities: the database statistics when no filter is set, the exact
+     * count of the matching entities otherwise.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the approximate number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countApproximatelyByCriteria(ClienteCriteria criteria) {
+        if (criteria == null || new ClienteCriteria().equals(criteria)) {
+            log.debug("count approximately");
+            return tableStatisticsRepository.approximateCount("cliente");
+        }
+        return countByCriteria(criteria);
+    }
+
+    /**
+     * Function to convert {@link ClienteCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Cliente> createSpecification(ClienteCriteria criteria) {
+        Specification<Cliente> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Cliente_.id));
+            }
+            if (criteria.getNome() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getNome(), Cliente_.nome));
+            }
+            if (criteria.getCpf() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getCpf(), Cliente_.cpf));
+            }
+            if (criteria.getEmail() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getEmail(), Cliente_.email));
+            }
+            if (criteria.getTelefone() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getTelefone(), Cliente_.telefone));
+            }
+            if (criteria.getParcelaId() != null) {
+                // A cliente matching several parcelas must only be returned once
+                specification =
+                    specification.and(
+                        (root, query, cb) -> {
+                            query.distinct(true);
+                            return null;
+                        }
+                    );
+                specification =
+                    specification.and(
+                        buildSpecification(criteria.getParcelaId(), root -> root.join(Cliente_.parcelas, JoinType.LEFT).get(Parcela_.id))
+                    );
+            }
+            if (criteria.getCursoId() != null) {
+                // The foreign key column is compared directly, without joining the curso table
+                specification =
+                    specification.and(buildSpecification(criteria.getCursoId(), root -> root.get(Cliente_.curso).get(Curso_.id)));
+            }
+        }
+        return specification;
+    }
+}
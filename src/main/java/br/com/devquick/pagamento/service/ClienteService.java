@@ -1,6 +1,7 @@
 package br.com.devquick.pagamento.service;
 
 import br.com.devquick.pagamento.domain.Cliente;
+import br.com.devquick.pagamento.repository.projection.ClienteResumoDTO;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,17 +12,32 @@ import org.springframework.data.domain.Pageable;
 public interface ClienteService {
     /**
      * Save a cliente.
+     * <p>
+     * The cpf is stored as its 11 digits, without punctuation.
      *
      * @param cliente the entity to save.
      * @return the persisted entity.
+     * @throws InvalidCpfException if the cpf is not made of 11 digits or belongs to another cliente.
      */
     Cliente save(Cliente cliente);
 
+    /**
+     * Update every field of an existing cliente.
+     *
+     * @param cliente the entity to update.
+     * @return the persisted entity, or empty if the cliente doesn't exist.
+     * @throws InvalidCpfException if the cpf is not made of 11 digits or belongs to another cliente.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the cliente changed since its version.
+     */
+    Optional<Cliente> update(Cliente cliente);
+
     /**
      * Partially updates a cliente.
      *
      * @param cliente the entity to update partially.
      * @return the persisted entity.
+     * @throws InvalidCpfException if the cpf is not made of 11 digits or belongs to another cliente.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the cliente changed since its version.
      */
     Optional<Cliente> partialUpdate(Cliente cliente);
 
@@ -29,9 +45,9 @@ public interface ClienteService {
      * Get all the clientes.
      *
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the list of projections.
      */
-    Page<Cliente> findAll(Pageable pageable);
+    Page<ClienteResumoDTO> findAll(Pageable pageable);
 
     /**
      * Get the "id" cliente.
@@ -41,6 +57,14 @@ public interface ClienteService {
      */
     Optional<Cliente> findOne(Long id);
 
+    /**
+     * Get the cliente with the given cpf.
+     *
+     * @param cpf the cpf of the entity, with or without punctuation.
+     * @return the entity.
+     */
+    Optional<Cliente> findOneByCpf(String cpf);
+
     /**
      * Delete the "id" cliente.
      *
@@ -0,0 +1,369 @@
+package br.com.devquick.pagamento.service;
+
+import br.com.devquick.pagamento.domain.Cliente;
+import br.com.devquick.pagamento.repository.ClienteRepository;
+import br.com.devquick.pagamento.repository.projection.ClienteSugestaoDTO;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service suggesting {@link Cliente}s from the first letters of the words of their nome or email.
+ * <p>
+ * The words are accent-folded and lower-cased, and kept in memory in a sorted map from each word to the sorted ids of the
+ * clientes using it, so a prefix is answered from a range of the map without querying the database. The candidates of the
+ * longest word of a query are then filtered by the other words, against the few words of each candidate. The index is built
+ * when the application is ready and then maintained from the writes of {@link ClienteService}, once their transaction
+ * is committed.
+ */
+@Service
+public class ClienteTypeaheadService {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private final Logger log = LoggerFactory.getLogger(ClienteTypeaheadService.class);
+
+    private final ClienteRepository clienteRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Object rebuildMonitor = new Object();
+
+    private Index index = new Index();
+
+    /**
+     * The writes committed while the index is rebuilt, replayed on the new index, a {@code null} value is a deletion.
+     */
+    private Map<Long, ClienteSugestaoDTO> pendingWrites;
+
+    public ClienteTypeaheadService(ClienteRepository clienteRepository, PlatformTransactionManager transactionManager) {
+        this.clienteRepository = clienteRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Build the index when the application is ready.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Could not build the Cliente typeahead index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the index from the database, the current index keeps answering until the new one replaces it.
+     */
+    public void rebuild() {
+        synchronized (rebuildMonitor) {
+            log.debug("Request to rebuild the Cliente typeahead index");
+            lock.writeLock().lock();
+            try {
+                pendingWrites = new HashMap<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            Index rebuilt = new Index();
+            boolean built = false;
+            try {
+                transactionTemplate.executeWithoutResult(
+                    status -> {
+                        try (Stream<ClienteSugestaoDTO> clientes = clienteRepository.streamAllSugestoes()) {
+                            clientes.forEach(rebuilt::put);
+                        }
+                    }
+                );
+                built = true;
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    if (built) {
+                        pendingWrites.forEach((id, cliente) -> apply(rebuilt, id, cliente));
+                        index = rebuilt;
+                    }
+                    pendingWrites = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            log.info("Built the Cliente typeahead index with {} clientes", rebuilt.size());
+        }
+    }
+
+    /**
+     * Get the clientes having, for each word of the query, a word of their nome or email starting with it.
+     *
+     * @param query the words typed so far.
+     * @param limit the maximum number of suggestions.
+     * @return the suggestions, ordered by the word matching the longest word of the query.
+     */
+    public List<ClienteSugestaoDTO> suggest(String query, int limit) {
+        List<String> prefixes = tokenize(query);
+        if (prefixes.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        // The longest prefix usually matches the fewest clientes, the other ones filter its candidates
+        String longest = Collections.max(prefixes, (a, b) -> Integer.compare(a.length(), b.length()));
+        List<String> others = new ArrayList<>(prefixes);
+        others.remove(longest);
+        lock.readLock().lock();
+        try {
+            return index.search(longest, others, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index a cliente once the current transaction, if any, is committed.
+     *
+     * @param cliente the saved cliente.
+     */
+    public void update(Cliente cliente) {
+        write(cliente.getId(), new ClienteSugestaoDTO(cliente.getId(), cliente.getNome(), cliente.getEmail()));
+    }
+
+    /**
+     * Remove a cliente from the index once the current transaction, if any, is committed.
+     *
+     * @param id the id of the deleted cliente.
+     */
+    public void remove(Long id) {
+        write(id, null);
+    }
+
+    private void write(Long id, ClienteSugestaoDTO cliente) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        apply(id, cliente);
+                    }
+                }
+            );
+        } else {
+            apply(id, cliente);
+        }
+    }
+
+    private void apply(Long id, ClienteSugestaoDTO cliente) {
+        lock.writeLock().lock();
+        try {
+            apply(index, id, cliente);
+            if (pendingWrites != null) {
+                pendingWrites.put(id, cliente);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(Index index, Long id, ClienteSugestaoDTO cliente) {
+        if (cliente != null) {
+            index.put(cliente);
+        } else {
+            index.remove(id);
+        }
+    }
+
+    /**
+     * Split texts in accent-folded, lower-cased words.
+     */
+    static List<String> tokenize(String... texts) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+            for (String token : SEPARATORS.split(folded)) {
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * The words of the indexed clientes, not thread-safe.
+     */
+    private static final class Index {
+
+        private final TreeMap<String, Ids> idsByToken = new TreeMap<>();
+
+        private final Map<Long, Entry> clientes = new HashMap<>();
+
+        int size() {
+            return clientes.size();
+        }
+
+        void put(ClienteSugestaoDTO cliente) {
+            remove(cliente.getId());
+            List<String> words = tokenize(cliente.getNome(), cliente.getEmail());
+            String[] tokens = new String[words.size()];
+            for (int i = 0; i < tokens.length; i++) {
+                // Share the key of the map, instead of keeping a copy of the word for every cliente using it
+                String token = idsByToken.ceilingKey(words.get(i));
+                if (!words.get(i).equals(token)) {
+                    token = words.get(i);
+                    idsByToken.put(token, new Ids());
+                }
+                idsByToken.get(token).add(cliente.getId());
+                tokens[i] = token;
+            }
+            clientes.put(cliente.getId(), new Entry(cliente, tokens));
+        }
+
+        void remove(Long id) {
+            Entry previous = clientes.remove(id);
+            if (previous == null) {
+                return;
+            }
+            for (String token : previous.tokens) {
+                Ids ids = idsByToken.get(token);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    idsByToken.remove(token);
+                }
+            }
+        }
+
+        List<ClienteSugestaoDTO> search(String prefix, List<String> otherPrefixes, int limit) {
+            for (String otherPrefix : otherPrefixes) {
+                if (range(otherPrefix).isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+            List<ClienteSugestaoDTO> result = new ArrayList<>(limit);
+            Set<Long> seen = new HashSet<>();
+            for (Ids ids : range(prefix)) {
+                for (int i = 0; i < ids.size; i++) {
+                    long id = ids.values[i];
+                    if (!seen.add(id)) {
+                        continue;
+                    }
+                    Entry entry = clientes.get(id);
+                    if (entry.hasWordsStartingWith(otherPrefixes)) {
+                        result.add(entry.cliente);
+                        if (result.size() == limit) {
+                            return result;
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        private Collection<Ids> range(String prefix) {
+            // Every token starting with the prefix sorts between the prefix and the prefix followed by the last character
+            return idsByToken.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        }
+    }
+
+    /**
+     * An indexed cliente and its words, so that removing it doesn't split its nome and email again.
+     */
+    private static final class Entry {
+
+        private final ClienteSugestaoDTO cliente;
+
+        private final String[] tokens;
+
+        Entry(ClienteSugestaoDTO cliente, String[] tokens) {
+            this.cliente = cliente;
+            this.tokens = tokens;
+        }
+
+        /**
+         * @return whether every prefix starts one of the few words of the cliente.
+         */
+        boolean hasWordsStartingWith(List<String> prefixes) {
+            for (String prefix : prefixes) {
+                if (!hasWordStartingWith(prefix)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean hasWordStartingWith(String prefix) {
+            for (String token : tokens) {
+                if (token.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A growable sorted array of ids, several times smaller than a set of boxed longs.
+     */
+    private static final class Ids {
+
+        private long[] values = new long[2];
+
+        private int size;
+
+        void add(long id) {
+            int index = Arrays.binarySearch(values, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(values, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
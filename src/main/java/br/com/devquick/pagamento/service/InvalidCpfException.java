@@ -0,0 +1,13 @@
+package br.com.devquick.pagamento.service;
+
+/**
+ * Thrown when the cpf of a {@link br.com.devquick.pagamento.domain.Cliente} is malformed or belongs to another cliente.
+ */
+public class InvalidCpfException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidCpfException(String message) {
+        super(message);
+    }
+}
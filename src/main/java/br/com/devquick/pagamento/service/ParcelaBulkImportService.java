@@ -0,0 +1,315 @@
+package br.com.devquick.pagamento.service;
+
+import br.com.devquick.pagamento.config.ApplicationProperties;
+import br.com.devquick.pagamento.domain.Cliente;
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.ClienteRepository;
+import br.com.devquick.pagamento.repository.ParcelaRepository;
+import br.com.devquick.pagamento.service.dto.BulkImportResultDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for bulk importing {@link Parcela} rows from NDJSON or CSV content.
+ * <p>
+ * The content is read line by line and persisted in chunks of {@code application.bulk.chunk-size} rows, each chunk in its
+ * own transaction, so that inserts are grouped by the JDBC batching configured for Hibernate and the persistence context
+ * never holds more than one chunk.
+ */
+@Service
+public class ParcelaBulkImportService {
+
+    private final Logger log = LoggerFactory.getLogger(ParcelaBulkImportService.class);
+
+    private final EntityManager em;
+
+    private final ClienteRepository clienteRepository;
+
+    private final ParcelaRepository parcelaRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectReader parcelaReader;
+
+    private final ApplicationProperties applicationProperties;
+
+    public ParcelaBulkImportService(
+        EntityManager em,
+        ClienteRepository clienteRepository,
+        ParcelaRepository parcelaRepository,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.em = em;
+        this.clienteRepository = clienteRepository;
+        this.parcelaRepository = parcelaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.parcelaReader = objectMapper.readerFor(Parcela.class);
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Import the parcelas read from the given content.
+     *
+     * @param reader the content to import, one parcela per line.
+     * @param format the format of the content.
+     * @return the import report.
+     * @throws IOException if the content couldn't be read.
+     * @throws IllegalArgumentException if the CSV header is not valid.
+     */
+    public BulkImportResultDTO importParcelas(Reader reader, ParcelaFormat format) throws IOException {
+        log.debug("Request to bulk import Parcelas from {}", format);
+        long start = System.nanoTime();
+        int chunkSize = Math.max(1, applicationProperties.getBulk().getChunkSize());
+        BulkImportResultDTO result = new BulkImportResultDTO();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        BufferedReader in = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        CsvHeader header = null;
+        long lineNumber = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == ParcelaFormat.CSV && header == null) {
+                header = CsvHeader.parse(line);
+                continue;
+            }
+            result.setReceived(result.getReceived() + 1);
+            try {
+                Parcela parcela = format == ParcelaFormat.CSV ? header.read(line) : readJson(line);
+                validate(parcela);
+                chunk.add(new Row(lineNumber, parcela));
+            } catch (IllegalArgumentException e) {
+                reject(result, lineNumber, e.getMessage());
+            }
+            if (chunk.size() >= chunkSize) {
+                persistChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persistChunk(chunk, result);
+        }
+        result.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        log.debug("Bulk import of Parcelas finished : {}", result);
+        return result;
+    }
+
+    private Parcela readJson(String line) {
+        try {
+            return parcelaReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private void validate(Parcela parcela) {
+        if (parcela.getId() != null) {
+            throw new IllegalArgumentException("A new parcela cannot already have an ID");
+        }
+        if (parcela.getValor() != null && parcela.getValor().signum() < 0) {
+            throw new IllegalArgumentException("valor must not be negative");
+        }
+        if (parcela.getNumero() != null && parcela.getTotal() != null && parcela.getNumero() > parcela.getTotal()) {
+            throw new IllegalArgumentException("numero must not be greater than total");
+        }
+        if (parcela.getCliente() != null && parcela.getCliente().getId() == null) {
+            throw new IllegalArgumentException("cliente must reference an existing id");
+        }
+    }
+
+    private void persistChunk(List<Row> chunk, BulkImportResultDTO result) {
+        List<Row> persisted = new ArrayList<>(chunk.size());
+        try {
+            transactionTemplate.executeWithoutResult(
+                status -> {
+                    Set<Long> knownClienteIds = findKnownClienteIds(chunk);
+                    Set<String> knownIdTransacoes = findKnownIdTransacoes(chunk);
+                    for (Row row : chunk) {
+                        String idTransacao = row.parcela.getIdTransacao();
+                        if (idTransacao != null && !knownIdTransacoes.add(idTransacao)) {
+                            reject(result, row.line, "Duplicated idTransacao " + idTransacao);
+                            continue;
+                        }
+                        Cliente cliente = row.parcela.getCliente();
+                        if (cliente != null) {
+                            if (!knownClienteIds.contains(cliente.getId())) {
+                                reject(result, row.line, "Cliente " + cliente.getId() + " not found");
+                                continue;
+                            }
+                            row.parcela.setCliente(em.getReference(Cliente.class, cliente.getId()));
+                        }
+                        em.persist(row.parcela);
+                        persisted.add(row);
+                    }
+                    em.flush();
+                    em.clear();
+                }
+            );
+            result.setImported(result.getImported() + persisted.size());
+        } catch (DataAccessException | PersistenceException e) {
+            log.warn("Bulk import chunk rolled back: {}", e.getMessage());
+            persisted.forEach(row -> reject(result, row.line, "Chunk rolled back: " + e.getMessage()));
+        }
+        result.setChunks(result.getChunks() + 1);
+    }
+
+    private Set<Long> findKnownClienteIds(List<Row> chunk) {
+        Set<Long> clienteIds = chunk
+            .stream()
+            .map(row -> row.parcela.getCliente())
+            .filter(cliente -> cliente != null)
+            .map(Cliente::getId)
+            .collect(Collectors.toSet());
+        if (clienteIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return clienteRepository.findExistingIds(clienteIds);
+    }
+
+    private Set<String> findKnownIdTransacoes(List<Row> chunk) {
+        Set<String> idTransacoes = chunk
+            .stream()
+            .map(row -> row.parcela.getIdTransacao())
+            .filter(idTransacao -> idTransacao != null)
+            .collect(Collectors.toSet());
+        if (idTransacoes.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(parcelaRepository.findExistingIdTransacoes(idTransacoes));
+    }
+
+    private void reject(BulkImportResultDTO result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < applicationProperties.getBulk().getMaxErrors()) {
+            result.getErrors().add(new BulkImportResultDTO.RowError(line, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private static final class Row {
+
+        private final long line;
+
+        private final Parcela parcela;
+
+        private Row(long line, Parcela parcela) {
+            this.line = line;
+            this.parcela = parcela;
+        }
+    }
+
+    /**
+     * Column layout of a CSV import, resolved from its header line.
+     * <p>
+     * The separator is {@code ;} when the header contains one, {@code ,} otherwise. Values are not quoted.
+     */
+    private static final class CsvHeader {
+
+        private final String separator;
+
+        private final String[] columns;
+
+        private CsvHeader(String separator, String[] columns) {
+            this.separator = separator;
+            this.columns = columns;
+        }
+
+        static CsvHeader parse(String line) {
+            String separator = line.indexOf(';') >= 0 ? ";" : ",";
+            String[] columns = line.split(separator, -1);
+            for (int i = 0; i < columns.length; i++) {
+                String column = columns[i].trim().replace("_", "").toLowerCase(Locale.ROOT);
+                switch (column) {
+                    case "documento":
+                    case "idtransacao":
+                    case "valor":
+                    case "numero":
+                    case "total":
+                    case "status":
+                    case "datavencimento":
+                        break;
+                    case "cliente":
+                    case "clienteid":
+                        column = "cliente";
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown CSV column: " + columns[i]);
+                }
+                columns[i] = column;
+            }
+            return new CsvHeader(separator, columns);
+        }
+
+        Parcela read(String line) {
+            String[] values = line.split(separator, -1);
+            if (values.length != columns.length) {
+                throw new IllegalArgumentException("Expected " + columns.length + " columns but found " + values.length);
+            }
+            Parcela parcela = new Parcela();
+            for (int i = 0; i < columns.length; i++) {
+                String value = values[i].trim();
+                if (value.isEmpty()) {
+                    continue;
+                }
+                try {
+                    switch (columns[i]) {
+                        case "documento":
+                            parcela.setDocumento(Long.valueOf(value));
+                            break;
+                        case "idtransacao":
+                            parcela.setIdTransacao(value);
+                            break;
+                        case "valor":
+                            parcela.setValor(new BigDecimal(value));
+                            break;
+                        case "numero":
+                            parcela.setNumero(Integer.valueOf(value));
+                            break;
+                        case "total":
+                            parcela.setTotal(Integer.valueOf(value));
+                            break;
+                        case "status":
+                            parcela.setStatus(Status.valueOf(value.toUpperCase(Locale.ROOT)));
+                            break;
+                        case "datavencimento":
+                            parcela.setDataVencimento(LocalDate.parse(value));
+                            break;
+                        default:
+                            parcela.setCliente(new Cliente().id(Long.valueOf(value)));
+                    }
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    throw new IllegalArgumentException("Invalid value for " + columns[i] + ": " + value);
+                }
+            }
+            return parcela;
+        }
+    }
+}
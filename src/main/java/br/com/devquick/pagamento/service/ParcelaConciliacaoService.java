@@ -0,0 +1,278 @@
+package br.com.devquick.pagamento.service;
+
+import br.com.devquick.pagamento.config.ApplicationProperties;
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.ParcelaEventoRepository;
+import br.com.devquick.pagamento.repository.ParcelaRepository;
+import br.com.devquick.pagamento.repository.projection.ParcelaSituacaoDTO;
+import br.com.devquick.pagamento.service.cnab.CnabRetornoReader;
+import br.com.devquick.pagamento.service.cnab.CnabTitulo;
+import br.com.devquick.pagamento.service.dto.BulkImportResultDTO;
+import br.com.devquick.pagamento.service.dto.ConciliacaoResultDTO;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service reconciling the {@link Parcela}s with the CNAB return files of the banks.
+ * <p>
+ * The file is streamed by a {@link CnabRetornoReader} and its liquidated titles are reconciled in chunks of
+ * {@code application.cnab.chunk-size}, each chunk in its own transaction: the parcelas are looked up with one {@code IN}
+ * query on their idTransacao, from the nosso número of the titles, and one on their documento for the titles left, then
+ * the ones paid in full are marked as {@link Status#PAGO} with a single batch of conditional updates, recording the event
+ * of each change. Titles matching no parcela, or paying another amount, are left untouched and reported.
+ */
+@Service
+public class ParcelaConciliacaoService {
+
+    private final Logger log = LoggerFactory.getLogger(ParcelaConciliacaoService.class);
+
+    private final ParcelaRepository parcelaRepository;
+
+    private final ParcelaEventoRepository parcelaEventoRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    public ParcelaConciliacaoService(
+        ParcelaRepository parcelaRepository,
+        ParcelaEventoRepository parcelaEventoRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.parcelaRepository = parcelaRepository;
+        this.parcelaEventoRepository = parcelaEventoRepository;
+        this.transactionTemplate = new RetryingTransactionTemplate(transactionManager, applicationProperties.getRetry());
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Reconcile the parcelas with a return file.
+     *
+     * @param in the content of the CNAB 240 or CNAB 400 return file.
+     * @return the reconciliation report.
+     * @throws IOException if the content couldn't be read.
+     * @throws IllegalArgumentException if the content is not a CNAB return file.
+     */
+    public ConciliacaoResultDTO conciliar(InputStream in) throws IOException {
+        log.debug("Request to reconcile Parcelas with a CNAB return file");
+        long start = System.nanoTime();
+        int chunkSize = Math.max(1, applicationProperties.getCnab().getChunkSize());
+        ConciliacaoResultDTO result = new ConciliacaoResultDTO();
+        CnabRetornoReader reader = new CnabRetornoReader(in, (line, message) -> reject(result, line, message));
+        List<CnabTitulo> chunk = new ArrayList<>(chunkSize);
+        CnabTitulo titulo;
+        while ((titulo = reader.next()) != null) {
+            chunk.add(titulo);
+            if (chunk.size() >= chunkSize) {
+                reconcileChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            reconcileChunk(chunk, result);
+        }
+        result.setLayout(reader.getLayout());
+        result.setLines(reader.getLines());
+        result.setIgnored(reader.getIgnored());
+        result.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        log.debug("Reconciliation of Parcelas finished : {}", result);
+        return result;
+    }
+
+    private void reconcileChunk(List<CnabTitulo> chunk, ConciliacaoResultDTO result) {
+        result.setTitulos(result.getTitulos() + chunk.size());
+        result.setChunks(result.getChunks() + 1);
+        ChunkOutcome outcome;
+        try {
+            outcome = transactionTemplate.execute(status -> reconcile(chunk));
+        } catch (DataAccessException | PersistenceException e) {
+            log.warn("CNAB reconciliation chunk rolled back: {}", e.getMessage());
+            chunk.forEach(titulo -> reject(result, titulo.getLine(), "Chunk rolled back: " + e.getMessage()));
+            return;
+        }
+        outcome.notUpdated.forEach(titulo -> reject(result, titulo.getLine(), "Parcela deleted since it was read"));
+        result.setPaid(result.getPaid() + outcome.paid);
+        result.setAlreadyPaid(result.getAlreadyPaid() + outcome.alreadyPaid);
+        result.setUnmatched(result.getUnmatched() + outcome.unmatched.size());
+        result.setDivergent(result.getDivergent() + outcome.divergent.size());
+        addReportRows(result, result.getUnmatchedTitulos(), outcome.unmatched);
+        addReportRows(result, result.getDivergentTitulos(), outcome.divergent);
+    }
+
+    /**
+     * Reconcile a chunk of titles, in the transaction of the chunk.
+     */
+    private ChunkOutcome reconcile(List<CnabTitulo> chunk) {
+        ChunkOutcome outcome = new ChunkOutcome();
+        Map<String, ParcelaSituacaoDTO> byIdTransacao = findByIdTransacao(chunk);
+        Map<Long, List<ParcelaSituacaoDTO>> byDocumento = findByDocumento(chunk, byIdTransacao);
+        Map<Long, CnabTitulo> toPay = new LinkedHashMap<>();
+        for (CnabTitulo titulo : chunk) {
+            ParcelaSituacaoDTO parcela = byIdTransacao.get(idTransacaoKey(titulo, byIdTransacao));
+            if (parcela == null) {
+                List<ParcelaSituacaoDTO> parcelas = byDocumento.getOrDefault(titulo.getDocumento(), Collections.emptyList());
+                if (parcelas.size() != 1) {
+                    String message = parcelas.isEmpty() ? "No parcela found" : parcelas.size() + " parcelas have this documento";
+                    outcome.unmatched.add(report(titulo, null, message));
+                    continue;
+                }
+                parcela = parcelas.get(0);
+            }
+            BigDecimal valorPago = BigDecimal.valueOf(titulo.getValorPago(), 2);
+            if (parcela.getStatus() == Status.PAGO || toPay.containsKey(parcela.getId())) {
+                outcome.alreadyPaid++;
+            } else if (parcela.getValor() != null && parcela.getValor().compareTo(valorPago) == 0) {
+                toPay.put(parcela.getId(), titulo);
+            } else {
+                outcome.divergent.add(report(titulo, parcela, "Paid amount differs from the valor of the parcela"));
+            }
+        }
+        if (!toPay.isEmpty()) {
+            List<Long> ids = parcelaRepository.updateStatusByIdIn(Status.PAGO, toPay.keySet());
+            if (!ids.isEmpty()) {
+                parcelaEventoRepository.saveAll(ids, Status.PAGO);
+                outcome.paid = ids.size();
+            }
+            if (ids.size() < toPay.size()) {
+                Map<Long, CnabTitulo> notUpdated = new LinkedHashMap<>(toPay);
+                notUpdated.keySet().removeAll(ids);
+                // Parcelas paid by a concurrent transaction since they were read, the others were deleted
+                Set<Long> paid = parcelaRepository.findIdsByIdInAndStatus(notUpdated.keySet(), Status.PAGO);
+                notUpdated.forEach(
+                    (id, titulo) -> {
+                        if (paid.contains(id)) {
+                            outcome.alreadyPaid++;
+                        } else {
+                            outcome.notUpdated.add(titulo);
+                        }
+                    }
+                );
+            }
+        }
+        return outcome;
+    }
+
+    private Map<String, ParcelaSituacaoDTO> findByIdTransacao(List<CnabTitulo> chunk) {
+        Set<String> idTransacoes = new HashSet<>();
+        for (CnabTitulo titulo : chunk) {
+            if (titulo.getNossoNumero() != null) {
+                idTransacoes.add(titulo.getNossoNumero());
+                idTransacoes.add(withoutLeadingZeros(titulo.getNossoNumero()));
+            }
+        }
+        if (idTransacoes.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, ParcelaSituacaoDTO> byIdTransacao = new HashMap<>();
+        for (ParcelaSituacaoDTO parcela : parcelaRepository.findSituacoesByIdTransacaoIn(idTransacoes)) {
+            byIdTransacao.put(parcela.getIdTransacao(), parcela);
+        }
+        return byIdTransacao;
+    }
+
+    private Map<Long, List<ParcelaSituacaoDTO>> findByDocumento(
+        List<CnabTitulo> chunk,
+        Map<String, ParcelaSituacaoDTO> byIdTransacao
+    ) {
+        Set<Long> documentos = new HashSet<>();
+        for (CnabTitulo titulo : chunk) {
+            if (titulo.getDocumento() >= 0 && !byIdTransacao.containsKey(idTransacaoKey(titulo, byIdTransacao))) {
+                documentos.add(titulo.getDocumento());
+            }
+        }
+        if (documentos.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, List<ParcelaSituacaoDTO>> byDocumento = new HashMap<>();
+        for (ParcelaSituacaoDTO parcela : parcelaRepository.findSituacoesByDocumentoIn(documentos)) {
+            byDocumento.computeIfAbsent(parcela.getDocumento(), documento -> new ArrayList<>(1)).add(parcela);
+        }
+        return byDocumento;
+    }
+
+    /**
+     * The nosso número is padded with zeros by most banks, it matches an idTransacao as is or without them.
+     */
+    private static String idTransacaoKey(CnabTitulo titulo, Map<String, ParcelaSituacaoDTO> byIdTransacao) {
+        String nossoNumero = titulo.getNossoNumero();
+        if (nossoNumero == null || byIdTransacao.containsKey(nossoNumero)) {
+            return nossoNumero;
+        }
+        return withoutLeadingZeros(nossoNumero);
+    }
+
+    private static String withoutLeadingZeros(String nossoNumero) {
+        int start = 0;
+        while (start < nossoNumero.length() - 1 && nossoNumero.charAt(start) == '0') {
+            start++;
+        }
+        return nossoNumero.substring(start);
+    }
+
+    private static ConciliacaoResultDTO.Titulo report(CnabTitulo titulo, ParcelaSituacaoDTO parcela, String message) {
+        return new ConciliacaoResultDTO.Titulo(
+            titulo.getLine(),
+            titulo.getNossoNumero(),
+            titulo.getDocumento() >= 0 ? titulo.getDocumento() : null,
+            BigDecimal.valueOf(titulo.getValorPago(), 2),
+            parcela != null ? parcela.getId() : null,
+            parcela != null ? parcela.getValor() : null,
+            message
+        );
+    }
+
+    private void addReportRows(
+        ConciliacaoResultDTO result,
+        List<ConciliacaoResultDTO.Titulo> report,
+        List<ConciliacaoResultDTO.Titulo> rows
+    ) {
+        int room = applicationProperties.getCnab().getMaxReportRows() - report.size();
+        if (rows.size() > room) {
+            result.setTruncated(true);
+        }
+        report.addAll(rows.subList(0, Math.max(0, Math.min(room, rows.size()))));
+    }
+
+    private void reject(ConciliacaoResultDTO result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < applicationProperties.getCnab().getMaxReportRows()) {
+            result.getErrors().add(new BulkImportResultDTO.RowError(line, message));
+        } else {
+            result.setTruncated(true);
+        }
+    }
+
+    /**
+     * What a chunk changed, added to the report once its transaction is committed.
+     */
+    private static final class ChunkOutcome {
+
+        private long paid;
+
+        private long alreadyPaid;
+
+        private final List<CnabTitulo> notUpdated = new ArrayList<>();
+
+        private final List<ConciliacaoResultDTO.Titulo> unmatched = new ArrayList<>();
+
+        private final List<ConciliacaoResultDTO.Titulo> divergent = new ArrayList<>();
+    }
+}
@@ -0,0 +1,180 @@
+package br.com.devquick.pagamento.service;
+
+import br.com.devquick.pagamento.config.ApplicationProperties;
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.ParcelaEventoRepository;
+import br.com.devquick.pagamento.repository.ParcelaRepository;
+import br.com.devquick.pagamento.service.dto.ConfirmacaoPagamentoResultDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service confirming the payment of a {@link Parcela} from its transaction id.
+ * <p>
+ * Confirmations are idempotent: the transition to {@link Status#PAGO} is a conditional update, so a duplicated or
+ * concurrent confirmation never writes twice. The ids of the recently confirmed transactions are kept in a bounded cache of
+ * {@code application.confirmacao.cache-size} entries, so gateway retries are answered without a database round trip.
+ * <p>
+ * Confirmations are cached and evicted once their transaction is committed. A confirmation whose transaction overlapped
+ * an eviction is not cached, since it may have read the parcela before the change that caused the eviction.
+ */
+@Service
+public class ParcelaConfirmacaoService {
+
+    private final Logger log = LoggerFactory.getLogger(ParcelaConfirmacaoService.class);
+
+    private final ParcelaRepository parcelaRepository;
+
+    private final ParcelaEventoRepository parcelaEventoRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Cache<String, Long> confirmadas;
+
+    /**
+     * The transaction ids of the cached confirmations by parcela id, to evict them by parcela.
+     */
+    private final Map<Long, String> idTransacoes = new ConcurrentHashMap<>();
+
+    /**
+     * Number of evictions so far, to detect the confirmations which overlapped one.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ParcelaConfirmacaoService(
+        ParcelaRepository parcelaRepository,
+        ParcelaEventoRepository parcelaEventoRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.parcelaRepository = parcelaRepository;
+        this.parcelaEventoRepository = parcelaEventoRepository;
+        this.transactionTemplate = new RetryingTransactionTemplate(transactionManager, applicationProperties.getRetry());
+        this.confirmadas =
+            Caffeine
+                .newBuilder()
+                .maximumSize(Math.max(0, applicationProperties.getConfirmacao().getCacheSize()))
+                .executor(Runnable::run)
+                .removalListener(
+                    (String idTransacao, Long parcelaId, RemovalCause cause) -> {
+                        if (cause.wasEvicted()) {
+                            idTransacoes.remove(parcelaId, idTransacao);
+                        }
+                    }
+                )
+                .build();
+    }
+
+    /**
+     * Mark the parcela of a transaction as {@link Status#PAGO}.
+     *
+     * @param idTransacao the transaction id of the parcela.
+     * @return the outcome of the confirmation, or empty if no parcela has this transaction id.
+     */
+    public Optional<ConfirmacaoPagamentoResultDTO> confirmar(String idTransacao) {
+        log.debug("Request to confirm the payment of transaction : {}", idTransacao);
+        Long cachedId = confirmadas.getIfPresent(idTransacao);
+        if (cachedId != null) {
+            return Optional.of(new ConfirmacaoPagamentoResultDTO(idTransacao, cachedId, true));
+        }
+        long evictionsBefore = evictions.get();
+        Optional<ConfirmacaoPagamentoResultDTO> result = transactionTemplate.execute(
+            status ->
+                parcelaRepository
+                    .findIdByIdTransacao(idTransacao)
+                    .map(
+                        id -> {
+                            boolean duplicada = parcelaRepository.updateStatusByIdAndStatusNot(Status.PAGO, id) == 0;
+                            if (!duplicada) {
+                                parcelaEventoRepository.saveAll(Collections.singletonList(id), Status.PAGO);
+                            }
+                            return new ConfirmacaoPagamentoResultDTO(idTransacao, id, duplicada);
+                        }
+                    )
+        );
+        if (result != null && result.isPresent()) {
+            Long parcelaId = result.get().getParcelaId();
+            afterCommit(() -> cache(idTransacao, parcelaId, evictionsBefore));
+            return result;
+        }
+        return Optional.empty();
+    }
+
+    private void cache(String idTransacao, Long parcelaId, long evictionsBefore) {
+        idTransacoes.put(parcelaId, idTransacao);
+        confirmadas.put(idTransacao, parcelaId);
+        // Checked after the put, so that an eviction either sees the entry or is seen here
+        if (evictions.get() != evictionsBefore) {
+            confirmadas.asMap().remove(idTransacao, parcelaId);
+            idTransacoes.remove(parcelaId, idTransacao);
+        }
+    }
+
+    /**
+     * Forget the confirmation of a parcela once the current transaction, if any, is committed, to be called whenever the
+     * parcela is updated or deleted by other means.
+     *
+     * @param parcelaId the id of the parcela.
+     */
+    public void evict(Long parcelaId) {
+        afterCommit(
+            () -> {
+                evictions.incrementAndGet();
+                String idTransacao = idTransacoes.remove(parcelaId);
+                if (idTransacao != null) {
+                    confirmadas.asMap().remove(idTransacao, parcelaId);
+                }
+            }
+        );
+    }
+
+    /**
+     * Forget the confirmation of the parcelas of transactions once the current transaction, if any, is committed, to be
+     * called whenever their status is changed by other means.
+     *
+     * @param idTransacoes the transaction ids of the parcelas.
+     */
+    public void evictTransacoes(Collection<String> idTransacoes) {
+        afterCommit(
+            () -> {
+                evictions.incrementAndGet();
+                for (String idTransacao : idTransacoes) {
+                    Long parcelaId = confirmadas.asMap().remove(idTransacao);
+                    if (parcelaId != null) {
+                        this.idTransacoes.remove(parcelaId, idTransacao);
+                    }
+                }
+            }
+        );
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                }
+            );
+        } else {
+            action.run();
+        }
+    }
+}
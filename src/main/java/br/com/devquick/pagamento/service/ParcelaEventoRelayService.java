@@ -0,0 +1,119 @@
+package br.com.devquick.pagamento.service;
+
+import br.com.devquick.pagamento.config.ApplicationProperties;
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.repository.ParcelaEventoRepository;
+import br.com.devquick.pagamento.repository.projection.ParcelaEventoDTO;
+import br.com.devquick.pagamento.service.evento.ParcelaEventoSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service relaying the status change events of the {@link Parcela}s, recorded in the {@code parcela_evento} outbox, to
+ * the configured {@link ParcelaEventoSink}.
+ * <p>
+ * Events are read in the order they were recorded, in batches of {@code application.outbox.batch-size}, each in its own
+ * transaction: the batch is locked, published, then deleted. A batch that couldn't be published is left in the outbox
+ * and published again by the next relay, so events are delivered at least once and, for a parcela, in order. The lock
+ * keeps the relays of several instances from publishing the same batch.
+ */
+@Service
+public class ParcelaEventoRelayService {
+
+    private final Logger log = LoggerFactory.getLogger(ParcelaEventoRelayService.class);
+
+    private final ParcelaEventoRepository parcelaEventoRepository;
+
+    private final ParcelaEventoSink parcelaEventoSink;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Counter publishedCounter;
+
+    private final Counter failedCounter;
+
+    public ParcelaEventoRelayService(
+        ParcelaEventoRepository parcelaEventoRepository,
+        ParcelaEventoSink parcelaEventoSink,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.parcelaEventoRepository = parcelaEventoRepository;
+        this.parcelaEventoSink = parcelaEventoSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applicationProperties = applicationProperties;
+        this.publishedCounter =
+            Counter.builder("parcela.evento.published").description("Parcela status change events published").register(meterRegistry);
+        this.failedCounter =
+            Counter
+                .builder("parcela.evento.failed")
+                .description("Batches of parcela status change events that couldn't be published")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publish the recorded events to the configured sink.
+     * <p>
+     * This is scheduled every {@code application.outbox.relay-interval} milliseconds.
+     */
+    @Scheduled(
+        fixedDelayString = "${application.outbox.relay-interval}",
+        initialDelayString = "${application.outbox.relay-interval}"
+    )
+    public void relay() {
+        relay(parcelaEventoSink);
+    }
+
+    /**
+     * Publish the recorded events, until none is left or a batch fails.
+     *
+     * @param sink where the events are published.
+     * @return the number of events published.
+     */
+    public synchronized long relay(ParcelaEventoSink sink) {
+        int batchSize = Math.max(1, applicationProperties.getOutbox().getBatchSize());
+        long total = 0;
+        int published;
+        do {
+            try {
+                Integer count = transactionTemplate.execute(status -> relayBatch(sink, batchSize));
+                published = count != null ? count : 0;
+            } catch (RuntimeException e) {
+                log.warn("Could not publish the Parcela events, they are published again by the next relay: {}", e.getMessage());
+                failedCounter.increment();
+                break;
+            }
+            publishedCounter.increment(published);
+            total += published;
+        } while (published == batchSize);
+        if (total > 0) {
+            log.debug("Published {} Parcela events", total);
+        }
+        return total;
+    }
+
+    private int relayBatch(ParcelaEventoSink sink, int batchSize) {
+        List<ParcelaEventoDTO> eventos = parcelaEventoRepository.findFirstForUpdate(batchSize);
+        if (eventos.isEmpty()) {
+            return 0;
+        }
+        sink.publicar(eventos);
+        List<Long> ids = new ArrayList<>(eventos.size());
+        for (ParcelaEventoDTO evento : eventos) {
+            ids.add(evento.getId());
+        }
+        parcelaEventoRepository.deleteByIdIn(ids);
+        return eventos.size();
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.devquick.pagamento.service;
+
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.ParcelaRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for exporting {@link Parcela} rows as NDJSON or CSV.
+ * <p>
+ * Parcelas are streamed from the database with a JDBC fetch size of {@link ParcelaRepository#STREAM_FETCH_SIZE} rows and
+ * detached once written, so memory usage does not depend on the number of exported rows.
+ */
+@Service
+public class ParcelaExportService {
+
+    static final String CSV_HEADER = "id;documento;id_transacao;valor;numero;total;status;data_vencimento;cliente_id";
+
+    private static final int CLEAR_INTERVAL = Integer.parseInt(ParcelaRepository.STREAM_FETCH_SIZE);
+
+    private final Logger log = LoggerFactory.getLogger(ParcelaExportService.class);
+
+    private final ParcelaRepository parcelaRepository;
+
+    private final EntityManager em;
+
+    private final ObjectWriter parcelaWriter;
+
+    public ParcelaExportService(ParcelaRepository parcelaRepository, EntityManager em, ObjectMapper objectMapper) {
+        this.parcelaRepository = parcelaRepository;
+        this.em = em;
+        this.parcelaWriter =
+            objectMapper.writerFor(Parcela.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).withRootValueSeparator("\n");
+    }
+
+    /**
+     * Write the parcelas matching the given filters, ordered by id.
+     *
+     * @param status the status to filter on, or {@code null} for all.
+     * @param clienteId the id of the cliente to filter on, or {@code null} for all.
+     * @param format the output format.
+     * @param outputStream the stream to write to, it is flushed but not closed.
+     * @return the number of exported parcelas.
+     * @throws IOException if the output couldn't be written.
+     */
+    @Transactional(readOnly = true)
+    public long export(Status status, Long clienteId, ParcelaFormat format, OutputStream outputStream) throws IOException {
+        log.debug("Request to export Parcelas as {} with status {} and cliente {}", format, status, clienteId);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        long count = 0;
+        try (Stream<Parcela> parcelas = parcelaRepository.streamAllByStatusAndCliente(status, clienteId)) {
+            SequenceWriter json = format == ParcelaFormat.NDJSON ? parcelaWriter.writeValues(writer) : null;
+            if (format == ParcelaFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            Iterator<Parcela> iterator = parcelas.iterator();
+            while (iterator.hasNext()) {
+                Parcela parcela = iterator.next();
+                if (json != null) {
+                    json.write(parcela);
+                } else {
+                    writeCsv(parcela, writer);
+                }
+                em.detach(parcela);
+                if (++count % CLEAR_INTERVAL == 0) {
+                    em.clear();
+                }
+            }
+            if (json != null) {
+                json.flush();
+                if (count > 0) {
+                    writer.write('\n');
+                }
+            }
+        }
+        writer.flush();
+        log.debug("Exported {} Parcelas", count);
+        return count;
+    }
+
+    private void writeCsv(Parcela parcela, Writer writer) throws IOException {
+        writer.write(String.valueOf(parcela.getId()));
+        writer.write(';');
+        writeCsvValue(parcela.getDocumento(), writer);
+        writer.write(';');
+        writeCsvValue(parcela.getIdTransacao(), writer);
+        writer.write(';');
+        writeCsvValue(parcela.getValor() != null ? parcela.getValor().toPlainString() : null, writer);
+        writer.write(';');
+        writeCsvValue(parcela.getNumero(), writer);
+        writer.write(';');
+        writeCsvValue(parcela.getTotal(), writer);
+        writer.write(';');
+        writeCsvValue(parcela.getStatus(), writer);
+        writer.write(';');
+        writeCsvValue(parcela.getDataVencimento(), writer);
+        writer.write(';');
+        writeCsvValue(parcela.getCliente() != null ? parcela.getCliente().getId() : null, writer);
+        writer.write('\n');
+    }
+
+    private void writeCsvValue(Object value, Writer writer) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(';') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
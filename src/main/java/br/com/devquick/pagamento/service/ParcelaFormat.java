@@ -0,0 +1,15 @@
+package br.com.devquick.pagamento.service;
+
+/**
+ * Line oriented formats used to import and export {@link br.com.devquick.pagamento.domain.Parcela} rows.
+ */
+public enum ParcelaFormat {
+    /**
+     * One JSON object per line.
+     */
+    NDJSON,
+    /**
+     * A header line followed by one row per line, separated by {@code ;}.
+     */
+    CSV,
+}
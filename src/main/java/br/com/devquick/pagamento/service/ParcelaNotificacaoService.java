@@ -0,0 +1,351 @@
+package br.com.devquick.pagamento.service;
+
+import br.com.devquick.pagamento.config.ApplicationProperties;
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.NotificacaoPagamentoRepository;
+import br.com.devquick.pagamento.repository.ParcelaEventoRepository;
+import br.com.devquick.pagamento.repository.ParcelaRepository;
+import br.com.devquick.pagamento.repository.projection.NotificacaoPendenteDTO;
+import br.com.devquick.pagamento.repository.projection.ParcelaSituacaoDTO;
+import br.com.devquick.pagamento.service.dto.NotificacaoPagamentoDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service applying the payment notifications of the gateway to the status of the {@link Parcela}s.
+ * <p>
+ * Notifications are acknowledged as soon as they are queued in a bounded in-memory queue of
+ * {@code application.notificacao.queue-capacity} entries. When the queue is full they are spilled to the
+ * {@code notificacao_pagamento} table instead, and only refused if that insert fails too, so the gateway sends them again
+ * later. Every {@code application.notificacao.flush-interval} milliseconds the queue, then the spill table, are drained in
+ * batches of {@code application.notificacao.batch-size} notifications: each batch is coalesced to the last notification of
+ * every transaction and applied with one update per status, in a single transaction that records the event of each
+ * change. Notifications still queued at shutdown are spilled, those spilled are applied by the next flush after a
+ * restart.
+ * <p>
+ * Notifications are applied in the order they were received: while the spill table may hold notifications, the new ones
+ * are spilled as well, so the queue only holds notifications received before those spilled. The spill table is read in
+ * the order the notifications were received, as those spilled at shutdown or after a failure are older than the rows
+ * spilled before them.
+ */
+@Service
+public class ParcelaNotificacaoService {
+
+    private final Logger log = LoggerFactory.getLogger(ParcelaNotificacaoService.class);
+
+    private final ParcelaRepository parcelaRepository;
+
+    private final NotificacaoPagamentoRepository notificacaoPagamentoRepository;
+
+    private final ParcelaEventoRepository parcelaEventoRepository;
+
+    private final ParcelaConfirmacaoService parcelaConfirmacaoService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final BlockingQueue<NotificacaoPendenteDTO> fila;
+
+    /**
+     * Whether the spill table may hold notifications, so that it isn't queried on every flush and the new notifications
+     * are spilled after those. It is only set while holding {@link #spillMonitor}.
+     */
+    private volatile boolean spilling = true;
+
+    /**
+     * Held while spilling notifications and while checking that the spill table is empty, so that a notification being
+     * spilled is never missed by the check.
+     */
+    private final Object spillMonitor = new Object();
+
+    private final Counter receivedCounter;
+
+    private final Counter spilledCounter;
+
+    private final Counter rejectedCounter;
+
+    private final Counter droppedCounter;
+
+    private final Counter updatedCounter;
+
+    private final Timer flushTimer;
+
+    public ParcelaNotificacaoService(
+        ParcelaRepository parcelaRepository,
+        NotificacaoPagamentoRepository notificacaoPagamentoRepository,
+        ParcelaEventoRepository parcelaEventoRepository,
+        ParcelaConfirmacaoService parcelaConfirmacaoService,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.parcelaRepository = parcelaRepository;
+        this.notificacaoPagamentoRepository = notificacaoPagamentoRepository;
+        this.parcelaEventoRepository = parcelaEventoRepository;
+        this.parcelaConfirmacaoService = parcelaConfirmacaoService;
+        this.transactionTemplate = new RetryingTransactionTemplate(transactionManager, applicationProperties.getRetry());
+        this.applicationProperties = applicationProperties;
+        int queueCapacity = applicationProperties.getNotificacao().getQueueCapacity();
+        // A synchronous queue never accepts an offer, as no thread waits on it, so every notification is spilled
+        this.fila = queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>();
+        Gauge
+            .builder("parcela.notificacao.queue", fila, Collection::size)
+            .description("Payment notifications waiting in memory to be applied")
+            .register(meterRegistry);
+        this.receivedCounter =
+            Counter.builder("parcela.notificacao.received").description("Payment notifications acknowledged").register(meterRegistry);
+        this.spilledCounter =
+            Counter
+                .builder("parcela.notificacao.spilled")
+                .description("Payment notifications spilled to the database as the queue was full or the application stopping")
+                .register(meterRegistry);
+        this.rejectedCounter =
+            Counter
+                .builder("parcela.notificacao.rejected")
+                .description("Payment notifications refused as they could neither be queued nor spilled")
+                .register(meterRegistry);
+        this.droppedCounter =
+            Counter
+                .builder("parcela.notificacao.dropped")
+                .description("Acknowledged payment notifications lost as they could neither be applied nor spilled")
+                .register(meterRegistry);
+        this.updatedCounter =
+            Counter
+                .builder("parcela.notificacao.updated")
+                .description("Parcelas whose status was changed by a payment notification")
+                .register(meterRegistry);
+        this.flushTimer =
+            Timer
+                .builder("parcela.notificacao.flush")
+                .description("Duration of the flush of a batch of payment notifications")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue a notification to be applied by the next flush.
+     *
+     * @param notificacaoPagamento the notification.
+     * @return whether the notification was accepted, if not it should be sent again later.
+     */
+    public boolean receber(NotificacaoPagamentoDTO notificacaoPagamento) {
+        log.debug("Request to queue a payment notification : {}", notificacaoPagamento);
+        NotificacaoPendenteDTO notificacao = new NotificacaoPendenteDTO(
+            notificacaoPagamento.getIdTransacao(),
+            notificacaoPagamento.getStatus(),
+            Instant.now()
+        );
+        if (spilling || !fila.offer(notificacao)) {
+            try {
+                spill(Collections.singletonList(notificacao));
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Could not spill the payment notification {}: {}", notificacao, e.getMessage());
+                rejectedCounter.increment();
+                return false;
+            }
+        }
+        receivedCounter.increment();
+        return true;
+    }
+
+    /**
+     * @return the number of seconds after which a refused notification should be sent again.
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (applicationProperties.getNotificacao().getFlushInterval() + 999) / 1000);
+    }
+
+    /**
+     * Apply the queued notifications, then the spilled ones.
+     * <p>
+     * This is scheduled every {@code application.notificacao.flush-interval} milliseconds.
+     *
+     * @return the number of parcelas whose status was changed.
+     */
+    @Scheduled(
+        fixedDelayString = "${application.notificacao.flush-interval}",
+        initialDelayString = "${application.notificacao.flush-interval}"
+    )
+    public synchronized long flush() {
+        int batchSize = Math.max(1, applicationProperties.getNotificacao().getBatchSize());
+        long total = 0;
+        List<NotificacaoPendenteDTO> batch = new ArrayList<>(batchSize);
+        do {
+            batch.clear();
+            fila.drainTo(batch, batchSize);
+            if (!batch.isEmpty()) {
+                try {
+                    total += aplicar(batch);
+                } catch (RuntimeException e) {
+                    log.warn("Could not apply {} payment notifications, spilling them: {}", batch.size(), e.getMessage());
+                    // The notifications queued after them are spilled too, so that they are still applied after them
+                    fila.drainTo(batch);
+                    spillOrDrop(batch);
+                    break;
+                }
+            }
+        } while (batch.size() == batchSize);
+        while (spilling) {
+            int[] spilled = new int[1];
+            try {
+                total += aplicarSpilled(batchSize, spilled);
+            } catch (RuntimeException e) {
+                log.error("Could not apply the spilled payment notifications, they are retried by the next flush: {}", e.getMessage());
+                break;
+            }
+            if (spilled[0] < batchSize) {
+                // Either the table is empty, or its other notifications are being spilled or applied by another instance
+                synchronized (spillMonitor) {
+                    if (!notificacaoPagamentoRepository.exists()) {
+                        spilling = false;
+                    }
+                }
+                break;
+            }
+        }
+        if (total > 0) {
+            log.debug("Changed the status of {} Parcelas from payment notifications", total);
+        }
+        return total;
+    }
+
+    /**
+     * Spill the notifications still queued, to be applied after a restart.
+     */
+    @PreDestroy
+    public synchronized void spillQueued() {
+        List<NotificacaoPendenteDTO> queued = new ArrayList<>(fila.size());
+        fila.drainTo(queued);
+        if (queued.isEmpty()) {
+            return;
+        }
+        try {
+            spill(queued);
+            log.info("Spilled {} queued payment notifications", queued.size());
+        } catch (DataAccessException | TransactionException e) {
+            log.error("Lost {} queued payment notifications, they couldn't be spilled: {}", queued.size(), e.getMessage());
+            droppedCounter.increment(queued.size());
+        }
+    }
+
+    private void spillOrDrop(List<NotificacaoPendenteDTO> notificacoes) {
+        try {
+            spill(notificacoes);
+        } catch (DataAccessException | TransactionException e) {
+            log.error(
+                "Lost {} payment notifications, they could neither be applied nor spilled: {}",
+                notificacoes.size(),
+                e.getMessage()
+            );
+            droppedCounter.increment(notificacoes.size());
+        }
+    }
+
+    private void spill(List<NotificacaoPendenteDTO> notificacoes) {
+        synchronized (spillMonitor) {
+            spilling = true;
+            transactionTemplate.executeWithoutResult(status -> notificacaoPagamentoRepository.saveAll(notificacoes));
+        }
+        spilledCounter.increment(notificacoes.size());
+    }
+
+    /**
+     * Apply the oldest spilled notifications and delete them, in a single transaction locking them.
+     *
+     * @param batchSize the maximum number of notifications applied.
+     * @param spilled receives the number of notifications applied.
+     * @return the number of parcelas whose status was changed.
+     */
+    private int aplicarSpilled(int batchSize, int[] spilled) {
+        Integer updated = flushTimer.record(
+            () ->
+                transactionTemplate.execute(
+                    status -> {
+                        Map<Long, NotificacaoPendenteDTO> notificacoes = notificacaoPagamentoRepository.findFirstForUpdate(batchSize);
+                        spilled[0] = notificacoes.size();
+                        if (notificacoes.isEmpty()) {
+                            return 0;
+                        }
+                        int count = aplicarNaTransacao(notificacoes.values());
+                        notificacaoPagamentoRepository.deleteByIdIn(notificacoes.keySet());
+                        return count;
+                    }
+                )
+        );
+        int count = updated != null ? updated : 0;
+        updatedCounter.increment(count);
+        return count;
+    }
+
+    /**
+     * Apply a batch of queued notifications in a single transaction.
+     *
+     * @param notificacoes the notifications, in the order they were received.
+     * @return the number of parcelas whose status was changed.
+     */
+    private int aplicar(Collection<NotificacaoPendenteDTO> notificacoes) {
+        Integer updated = flushTimer.record(() -> transactionTemplate.execute(status -> aplicarNaTransacao(notificacoes)));
+        int count = updated != null ? updated : 0;
+        updatedCounter.increment(count);
+        return count;
+    }
+
+    private int aplicarNaTransacao(Collection<NotificacaoPendenteDTO> notificacoes) {
+        // Only the last notification of a transaction counts
+        Map<String, Status> ultimas = new LinkedHashMap<>();
+        for (NotificacaoPendenteDTO notificacao : notificacoes) {
+            ultimas.put(notificacao.getIdTransacao(), notificacao.getStatus());
+        }
+        Map<Status, List<ParcelaSituacaoDTO>> porStatus = new EnumMap<>(Status.class);
+        for (ParcelaSituacaoDTO parcela : parcelaRepository.findSituacoesByIdTransacaoIn(ultimas.keySet())) {
+            Status status = ultimas.get(parcela.getIdTransacao());
+            if (parcela.getStatus() != status) {
+                porStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(parcela);
+            }
+        }
+        int count = 0;
+        for (Map.Entry<Status, List<ParcelaSituacaoDTO>> entry : porStatus.entrySet()) {
+            Status novo = entry.getKey();
+            List<Long> ids = parcelaRepository.updateStatusByIdTransacaoIn(novo, entry.getValue());
+            if (!ids.isEmpty()) {
+                parcelaEventoRepository.saveAll(ids, novo);
+                count += ids.size();
+            }
+        }
+        List<String> naoPagas = new ArrayList<>();
+        ultimas.forEach(
+            (idTransacao, status) -> {
+                if (status != Status.PAGO) {
+                    naoPagas.add(idTransacao);
+                }
+            }
+        );
+        if (!naoPagas.isEmpty()) {
+            parcelaConfirmacaoService.evictTransacoes(naoPagas);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,165 @@
+package br.com.devquick.pagamento.service;
+
+import br.com.devquick.pagamento.domain.*; // for static metamodels
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.repository.ParcelaRepository;
+import br.com.devquick.pagamento.repository.TableStatisticsRepository;
+import br.com.devquick.pagamento.repository.projection.ParcelaResumoDTO;
+import br.com.devquick.pagamento.service.criteria.ParcelaCriteria;
+import javax.persistence.criteria.JoinType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link Parcela} entities in the database.
+ * The main input is a {@link ParcelaCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Page} or a {@link Slice} of {@link ParcelaResumoDTO} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ParcelaQueryService extends QueryService<Parcela> {
+
+    private final Logger log = LoggerFactory.getLogger(ParcelaQueryService.class);
+
+    private final ParcelaRepository parcelaRepository;
+
+    private final TableStatisticsRepository tableStatisticsRepository;
+
+    public ParcelaQueryService(ParcelaRepository parcelaRepository, TableStatisticsRepository tableStatisticsRepository) {
+        this.parcelaRepository = parcelaRepository;
+        this.tableStatisticsRepository = tableStatisticsRepository;
+    }
+
+    /**
+     * Return a {@link Page} of {@link ParcelaResumoDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<ParcelaResumoDTO> findByCriteria(ParcelaCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Parcela> specification = createSpecification(criteria);
+        return parcelaRepository.findAllResumos(specification, page);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link ParcelaResumoDTO} which matches the criteria from the database, without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ParcelaResumoDTO> findSliceByCriteria(ParcelaCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<Parcela> specification = createSpecification(criteria);
+        return parcelaRepository.findAllResumosWithoutCount(specification, page);
+    }
+
+    /**
+     * Return the {@link ParcelaResumoDTO}s which match the criteria and follow the given id, ordered by id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param id The id after which the slice starts, or {@code null} to start from the first entity.
+     * @param page The pagination information, only the page size is used.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ParcelaResumoDTO> findByCriteriaAfter(ParcelaCriteria criteria, Long id, Pageable page) {
+        log.debug("find by criteria : {}, after: {}", criteria, id);
+        Specification<Parcela> specification = createSpecification(criteria);
+        if (id != null) {
+            specification = specification.and((root, query, cb) -> cb.greaterThan(root.get(Parcela_.id), id));
+        }
+        return parcelaRepository.findAllResumosWithoutCount(specification, PageRequest.of(0, page.getPageSize(), Sort.by(Parcela_.ID)));
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(ParcelaCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<Parcela> specification = createSpecification(criteria);
+        return parcelaRepository.count(specification);
+    }
+
+    /**
+     * Return the approximate number of matching entities: the database statistics when no filter is set, the exact
+     * count of the matching entities otherwise.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the approximate number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countApproximatelyByCriteria(ParcelaCriteria criteria) {
+        if (criteria == null || new ParcelaCriteria().equals(criteria)) {
+            log.debug("count approximately");
+            return tableStatisticsRepository.approximateCount("parcela");
+        }
+        return countByCriteria(criteria);
+    }
+
+    /**
+     * Function to convert {@link ParcelaCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Parcela> createSpecification(ParcelaCriteria criteria) {
+        Specification<Parcela> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Parcela_.id));
+            }
+            if (criteria.getDocumento() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getDocumento(), Parcela_.documento));
+            }
+            if (criteria.getIdTransacao() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getIdTransacao(), Parcela_.idTransacao));
+            }
+            if (criteria.getValor() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getValor(), Parcela_.valor));
+            }
+            if (criteria.getNumero() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getNumero(), Parcela_.numero));
+            }
+            if (criteria.getTotal() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getTotal(), Parcela_.total));
+            }
+            if (criteria.getStatus() != null) {
+                specification = specification.and(buildSpecification(criteria.getStatus(), Parcela_.status));
+            }
+            if (criteria.getDataVencimento() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getDataVencimento(), Parcela_.dataVencimento));
+            }
+            if (criteria.getDataRemessa() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getDataRemessa(), Parcela_.dataRemessa));
+            }
+            if (criteria.getClienteId() != null) {
+                // The foreign key column is compared directly, without joining the cliente table
+                specification =
+                    specification.and(buildSpecification(criteria.getClienteId(), root -> root.get(Parcela_.cliente).get(Cliente_.id)));
+            }
+            if (criteria.getCursoId() != null) {
+                specification =
+                    specification.and(
+                        buildSpecification(
+                            criteria.getCursoId(),
+                            root -> root.join(Parcela_.cliente, JoinType.LEFT).get(Cliente_.curso).get(Curso_.id)
+                        )
+                    );
+            }
+        }
+        return specification;
+    }
+}
@@ -0,0 +1,153 @@
+package br.com.devquick.pagamento.service;
+
+import br.com.devquick.pagamento.config.ApplicationProperties;
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.ParcelaRepository;
+import br.com.devquick.pagamento.repository.projection.ParcelaRemessaDTO;
+import br.com.devquick.pagamento.service.cnab.CnabLayout;
+import br.com.devquick.pagamento.service.cnab.CnabRemessaWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service writing the {@link Status#PENDENTE} {@link Parcela}s not registered yet to CNAB remessa files, through which
+ * the bank registers them as boletos.
+ * <p>
+ * Parcelas are read in id order in chunks of {@code application.cnab.chunk-size} rows, each chunk in its own transaction:
+ * the chunk is selected as a projection of the parcela and its cliente, marked with the dataRemessa of the file by a
+ * single update, then written to the channel before the transaction commits, so memory usage does not depend on the
+ * number of parcelas. If the file can't be completed, the parcelas marked with its dataRemessa are released for the next
+ * remessa. Parcelas without valor or dataVencimento can't be registered and are skipped.
+ */
+@Service
+public class ParcelaRemessaService {
+
+    private final Logger log = LoggerFactory.getLogger(ParcelaRemessaService.class);
+
+    private final ParcelaRepository parcelaRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    public ParcelaRemessaService(
+        ParcelaRepository parcelaRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.parcelaRepository = parcelaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Write a remessa file with the parcelas not registered yet, and mark them as registered.
+     * <p>
+     * A file holds a bounded number of titles, the parcelas left are written to the next remessa.
+     *
+     * @param layout the layout of the file.
+     * @param sequencial the sequence number of the file, increasing from one remessa to the next.
+     * @param channel the channel to write to, it is not closed.
+     * @return the number of parcelas written.
+     * @throws IOException if the channel couldn't be written.
+     * @throws IllegalArgumentException if the sequence number is out of range.
+     */
+    public long gerar(CnabLayout layout, int sequencial, WritableByteChannel channel) throws IOException {
+        log.debug("Request to write the remessa {} of Parcelas as {}", sequencial, layout);
+        int chunkSize = Math.max(1, applicationProperties.getCnab().getChunkSize());
+        // Tells the parcelas of this remessa from those of a concurrent one
+        Instant dataRemessa = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        CnabRemessaWriter writer = new CnabRemessaWriter(
+            channel,
+            layout,
+            applicationProperties.getCnab().getBeneficiario(),
+            sequencial,
+            LocalDateTime.ofInstant(dataRemessa, ZoneId.systemDefault())
+        );
+        try {
+            long afterId = Long.MIN_VALUE;
+            while (true) {
+                int size = (int) Math.min(chunkSize, writer.getRemaining());
+                if (size == 0) {
+                    log.warn("The remessa {} is full, the Parcelas left are written to the next one", sequencial);
+                    break;
+                }
+                Long lastId = writeChunk(writer, dataRemessa, afterId, size);
+                if (lastId == null) {
+                    break;
+                }
+                afterId = lastId;
+            }
+            writer.finish();
+        } catch (IOException | RuntimeException e) {
+            release(dataRemessa);
+            throw e;
+        }
+        log.info("Wrote {} Parcelas to the remessa {}", writer.getTitulos(), sequencial);
+        return writer.getTitulos();
+    }
+
+    /**
+     * @return the id of the last parcela read, or {@code null} if none was left.
+     */
+    private Long writeChunk(CnabRemessaWriter writer, Instant dataRemessa, long afterId, int size) throws IOException {
+        try {
+            return transactionTemplate.execute(
+                status -> {
+                    List<ParcelaRemessaDTO> parcelas = parcelaRepository.findRemessasByStatusAndIdGreaterThan(
+                        Status.PENDENTE,
+                        afterId,
+                        PageRequest.of(0, size)
+                    );
+                    if (parcelas.isEmpty()) {
+                        return null;
+                    }
+                    List<Long> ids = new ArrayList<>(parcelas.size());
+                    for (ParcelaRemessaDTO parcela : parcelas) {
+                        ids.add(parcela.getId());
+                    }
+                    int marked = parcelaRepository.updateDataRemessaByIdInAndStatus(dataRemessa, ids, Status.PENDENTE);
+                    // Parcelas paid or written to a concurrent remessa since they were read are left out
+                    Set<Long> markedIds = marked == ids.size() ? null : parcelaRepository.findIdsByIdInAndDataRemessa(ids, dataRemessa);
+                    try {
+                        for (ParcelaRemessaDTO parcela : parcelas) {
+                            if (markedIds == null || markedIds.contains(parcela.getId())) {
+                                writer.write(parcela);
+                            }
+                        }
+                        writer.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return ids.get(ids.size() - 1);
+                }
+            );
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void release(Instant dataRemessa) {
+        try {
+            Integer released = transactionTemplate.execute(status -> parcelaRepository.clearDataRemessa(dataRemessa));
+            log.warn("The remessa wasn't completed, released its {} Parcelas", released);
+        } catch (RuntimeException e) {
+            log.error("Could not release the Parcelas of the remessa written at {}: {}", dataRemessa, e.getMessage());
+        }
+    }
+}
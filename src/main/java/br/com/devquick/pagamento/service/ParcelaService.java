@@ -1,6 +1,9 @@
 package br.com.devquick.pagamento.service;
 
 import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.repository.projection.ParcelaResumoDTO;
+import br.com.devquick.pagamento.service.dto.PlanoParcelamentoDTO;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -18,20 +21,43 @@ public interface ParcelaService {
     Parcela save(Parcela parcela);
 
     /**
-     * Partially updates a parcela.
+     * Update every field of an existing parcela, with a single statement.
+     *
+     * @param parcela the entity to update.
+     * @return the entity with the version the update gave the parcela, or empty if the parcela doesn't exist.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the parcela changed since its version.
+     */
+    Optional<Parcela> update(Parcela parcela);
+
+    /**
+     * Partially updates a parcela, without reading it first. The updated parcela is read once updated, to be returned.
      *
      * @param parcela the entity to update partially.
-     * @return the persisted entity.
+     * @return the updated entity, or empty if the parcela doesn't exist.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the parcela changed since its version.
      */
     Optional<Parcela> partialUpdate(Parcela parcela);
 
+    /**
+     * Create all the parcelas of an installment plan in a single transaction.
+     * <p>
+     * The total amount is split in equal parcelas rounded down to the cent, the remaining cents are added one by one to
+     * the first parcelas so that the sum always matches the total. When a first due date is given, the following
+     * parcelas are due on the same day of the following months.
+     *
+     * @param plano the installment plan to create.
+     * @return the persisted parcelas, or empty if the cliente doesn't exist.
+     * @throws IllegalArgumentException if the total amount has fractions of a cent, or is less than a cent per parcela.
+     */
+    Optional<List<Parcela>> createPlano(PlanoParcelamentoDTO plano);
+
     /**
      * Get all the parcelas.
      *
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the list of projections.
      */
-    Page<Parcela> findAll(Pageable pageable);
+    Page<ParcelaResumoDTO> findAll(Pageable pageable);
 
     /**
      * Get the "id" parcela.
@@ -0,0 +1,117 @@
+package br.com.devquick.pagamento.service;
+
+import br.com.devquick.pagamento.config.ApplicationProperties;
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.ParcelaEventoRepository;
+import br.com.devquick.pagamento.repository.ParcelaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDate;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service marking overdue {@link Parcela}s as {@link Status#ATRASADA}.
+ * <p>
+ * The sweep issues set-based updates over consecutive id ranges of {@code application.vencimento.chunk-size} ids, each in
+ * its own transaction, so that row locks are only held for one range at a time. The update of a range returns the ids of
+ * the parcelas it changed, to record the event of each change in the same transaction.
+ */
+@Service
+public class ParcelaVencimentoService {
+
+    private final Logger log = LoggerFactory.getLogger(ParcelaVencimentoService.class);
+
+    private final ParcelaRepository parcelaRepository;
+
+    private final ParcelaEventoRepository parcelaEventoRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Counter atrasadasCounter;
+
+    private final Timer sweepTimer;
+
+    public ParcelaVencimentoService(
+        ParcelaRepository parcelaRepository,
+        ParcelaEventoRepository parcelaEventoRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.parcelaRepository = parcelaRepository;
+        this.parcelaEventoRepository = parcelaEventoRepository;
+        this.transactionTemplate = new RetryingTransactionTemplate(transactionManager, applicationProperties.getRetry());
+        this.applicationProperties = applicationProperties;
+        this.atrasadasCounter =
+            Counter.builder("parcela.vencimento.atrasadas").description("Parcelas marked as ATRASADA by the sweep").register(meterRegistry);
+        this.sweepTimer = Timer.builder("parcela.vencimento.sweep").description("Duration of the overdue sweep").register(meterRegistry);
+    }
+
+    /**
+     * Mark the parcelas that were due before today as overdue.
+     * <p>
+     * This is scheduled with the {@code application.vencimento.cron} expression.
+     */
+    @Scheduled(cron = "${application.vencimento.cron}")
+    public void sweepOverdueParcelas() {
+        sweepOverdueParcelas(LocalDate.now());
+    }
+
+    /**
+     * Mark the {@link Status#PENDENTE} parcelas due before the given date as {@link Status#ATRASADA}.
+     *
+     * @param today the first date on which parcelas are not overdue.
+     * @return the number of parcelas marked as overdue.
+     */
+    public long sweepOverdueParcelas(LocalDate today) {
+        log.debug("Request to mark as ATRASADA the Parcelas due before {}", today);
+        return sweepTimer.record(
+            () -> {
+                Long minId = parcelaRepository.findMinIdByStatusAndDataVencimentoBefore(Status.PENDENTE, today);
+                Long maxId = parcelaRepository.findMaxIdByStatusAndDataVencimentoBefore(Status.PENDENTE, today);
+                if (minId == null || maxId == null) {
+                    return 0L;
+                }
+                long chunkSize = Math.max(1, applicationProperties.getVencimento().getChunkSize());
+                long total = 0;
+                for (long fromId = minId; fromId <= maxId; fromId += chunkSize) {
+                    long toId = Math.min(maxId, fromId + chunkSize - 1);
+                    int updated = markOverdue(today, fromId, toId);
+                    atrasadasCounter.increment(updated);
+                    total += updated;
+                }
+                log.info("Marked {} Parcelas due before {} as ATRASADA", total, today);
+                return total;
+            }
+        );
+    }
+
+    private int markOverdue(LocalDate today, long fromId, long toId) {
+        Integer updated = transactionTemplate.execute(
+            status -> {
+                List<Long> atrasadas = parcelaRepository.updateStatusByStatusAndDataVencimentoBeforeAndIdBetween(
+                    Status.ATRASADA,
+                    Status.PENDENTE,
+                    today,
+                    fromId,
+                    toId
+                );
+                if (!atrasadas.isEmpty()) {
+                    parcelaEventoRepository.saveAll(atrasadas, Status.ATRASADA);
+                }
+                return atrasadas.size();
+            }
+        );
+        return updated != null ? updated : 0;
+    }
+}
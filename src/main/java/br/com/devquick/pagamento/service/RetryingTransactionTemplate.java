@@ -0,0 +1,71 @@
+package br.com.devquick.pagamento.service;
+
+import br.com.devquick.pagamento.config.ApplicationProperties;
+import java.util.Collections;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.backoff.ExponentialRandomBackOffPolicy;
+import org.springframework.retry.listener.RetryListenerSupport;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link TransactionTemplate} running again a transaction that failed on a concurrent update, such as a stale version, a
+ * lock timeout or a deadlock, up to {@code application.retry.max-attempts} times. The delay between two attempts grows
+ * exponentially and is randomized, so that the retries of the colliding transactions don't collide again.
+ * <p>
+ * The callback is run again from the start, so it must read the rows it changes and keep its results to itself until it
+ * returns. A callback joining a transaction already started is not retried, since the failure rolls back the whole
+ * transaction.
+ */
+public class RetryingTransactionTemplate extends TransactionTemplate {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger log = LoggerFactory.getLogger(RetryingTransactionTemplate.class);
+
+    private final transient RetryTemplate retryTemplate;
+
+    public RetryingTransactionTemplate(PlatformTransactionManager transactionManager, ApplicationProperties.Retry retry) {
+        super(transactionManager);
+        ExponentialRandomBackOffPolicy backOffPolicy = new ExponentialRandomBackOffPolicy();
+        backOffPolicy.setInitialInterval(Math.max(1, retry.getInitialInterval()));
+        backOffPolicy.setMaxInterval(Math.max(1, retry.getMaxInterval()));
+        this.retryTemplate = new RetryTemplate();
+        this.retryTemplate.setRetryPolicy(
+                new SimpleRetryPolicy(
+                    Math.max(1, retry.getMaxAttempts()),
+                    Collections.singletonMap(ConcurrencyFailureException.class, true),
+                    true
+                )
+            );
+        this.retryTemplate.setBackOffPolicy(backOffPolicy);
+        this.retryTemplate.registerListener(
+                new RetryListenerSupport() {
+                    @Override
+                    public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+                        log.debug(
+                            "Attempt {} of a transaction failed on a concurrent update: {}",
+                            context.getRetryCount(),
+                            throwable.getMessage()
+                        );
+                    }
+                }
+            );
+    }
+
+    @Override
+    public <T> T execute(TransactionCallback<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return super.execute(action);
+        }
+        return retryTemplate.execute(context -> super.execute(action));
+    }
+}
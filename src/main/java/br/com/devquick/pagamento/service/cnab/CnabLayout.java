@@ -0,0 +1,19 @@
+package br.com.devquick.pagamento.service.cnab;
+
+/**
+ * The FEBRABAN CNAB layouts, named after the fixed width of their lines.
+ */
+public enum CnabLayout {
+    CNAB_240(240),
+    CNAB_400(400);
+
+    private final int lineLength;
+
+    CnabLayout(int lineLength) {
+        this.lineLength = lineLength;
+    }
+
+    public int getLineLength() {
+        return lineLength;
+    }
+}
@@ -0,0 +1,469 @@
+package br.com.devquick.pagamento.service.cnab;
+
+import br.com.devquick.pagamento.config.ApplicationProperties;
+import br.com.devquick.pagamento.repository.projection.ParcelaRemessaDTO;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Writer of the titles to register of a CNAB 240 or CNAB 400 remessa file.
+ * <p>
+ * Each line is assembled in a reused byte array, numbers and dates are written digit by digit and texts are folded to
+ * upper case ASCII in place, then the lines are gathered in a byte buffer written to the channel when full. Nothing is
+ * allocated per title but the cents of its valor.
+ * <p>
+ * Field positions follow the FEBRABAN layouts, segments P and Q for CNAB 240, and the common detail record for CNAB 400.
+ * The titles of a CNAB 240 file are split in batches (lotes) of at most 49999 titles, and the records of a file are
+ * numbered on six digits, which bounds the number of titles of a file to {@link #getRemaining()}.
+ */
+public final class CnabRemessaWriter {
+
+    /**
+     * Largest sequence number of a remessa file.
+     */
+    public static final int MAX_SEQUENCIAL = 999_999;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int MAX_RECORDS = 999_999;
+
+    private static final int MAX_LOTE_DETAILS = 99_999;
+
+    private static final int TITULOS_PER_LOTE = MAX_LOTE_DETAILS / 2;
+
+    /**
+     * ASCII upper case letters of the characters from U+00C0 to U+00FF, a space for the symbols.
+     */
+    private static final String LATIN_1_FOLDED = "AAAAAAACEEEEIIIIDNOOOOO OUUUUY SAAAAAAACEEEEIIIIDNOOOOO OUUUUY Y";
+
+    private final WritableByteChannel channel;
+
+    private final CnabLayout layout;
+
+    private final ApplicationProperties.Cnab.Beneficiario beneficiario;
+
+    private final int sequencial;
+
+    private final LocalDateTime geracao;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    private final byte[] line;
+
+    private boolean started;
+
+    private long records;
+
+    private int lotes;
+
+    /**
+     * Records of the current lote, its header included, or 0 if no lote is open.
+     */
+    private int loteRecords;
+
+    private long loteTitulos;
+
+    private long loteValor;
+
+    private long titulos;
+
+    /**
+     * @param channel the channel to write to, it is not closed.
+     * @param layout the layout of the file.
+     * @param beneficiario the account of the company at the bank.
+     * @param sequencial the sequence number of the file.
+     * @param geracao the date and time the file is generated.
+     * @throws IllegalArgumentException if the sequence number is out of range.
+     */
+    public CnabRemessaWriter(
+        WritableByteChannel channel,
+        CnabLayout layout,
+        ApplicationProperties.Cnab.Beneficiario beneficiario,
+        int sequencial,
+        LocalDateTime geracao
+    ) {
+        if (sequencial < 1 || sequencial > MAX_SEQUENCIAL) {
+            throw new IllegalArgumentException("The sequencial must be between 1 and " + MAX_SEQUENCIAL);
+        }
+        this.channel = channel;
+        this.layout = layout;
+        this.beneficiario = beneficiario;
+        this.sequencial = sequencial;
+        this.geracao = geracao;
+        this.line = new byte[layout.getLineLength()];
+    }
+
+    /**
+     * Write the title of a parcela.
+     *
+     * @param parcela the parcela, with a valor and a dataVencimento.
+     * @throws IOException if the channel couldn't be written.
+     * @throws IllegalArgumentException if a value of the parcela doesn't fit in its field.
+     * @throws IllegalStateException if the file can't hold more titles.
+     */
+    public void write(ParcelaRemessaDTO parcela) throws IOException {
+        if (getRemaining() == 0) {
+            throw new IllegalStateException("The remessa file can't hold more titles");
+        }
+        start();
+        long valor = cents(parcela.getValor());
+        long documento = parcela.getDocumento() != null ? parcela.getDocumento() : parcela.getId();
+        if (layout == CnabLayout.CNAB_240) {
+            if (loteRecords > 0 && loteRecords - 1 + 2 > MAX_LOTE_DETAILS) {
+                endLote();
+            }
+            if (loteRecords == 0) {
+                startLote();
+            }
+            segmentP(parcela, documento, valor);
+            segmentQ(parcela);
+            loteTitulos++;
+            loteValor += valor;
+        } else {
+            detail400(parcela, documento, valor);
+        }
+        titulos++;
+    }
+
+    /**
+     * Write the trailers of the file and flush it.
+     *
+     * @throws IOException if the channel couldn't be written.
+     */
+    public void finish() throws IOException {
+        start();
+        if (layout == CnabLayout.CNAB_240) {
+            if (loteRecords > 0) {
+                endLote();
+            }
+            trailer240();
+        } else {
+            trailer400();
+        }
+        flush();
+    }
+
+    /**
+     * Write the buffered lines to the channel.
+     *
+     * @throws IOException if the channel couldn't be written.
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * @return the number of titles written so far.
+     */
+    public long getTitulos() {
+        return titulos;
+    }
+
+    /**
+     * @return the number of titles the file can still hold.
+     */
+    public long getRemaining() {
+        // The header if not written yet, the trailer of the open lote and the trailer of the file
+        long free = MAX_RECORDS - records - (started ? 0 : 1) - (loteRecords > 0 ? 1 : 0) - 1;
+        if (layout == CnabLayout.CNAB_400) {
+            return Math.max(0, free);
+        }
+        // Two records per title, and two more per new lote
+        long inLote = loteRecords > 0 ? Math.min(free / 2, (MAX_LOTE_DETAILS - (loteRecords - 1)) / 2) : 0;
+        free -= 2 * inLote;
+        long loteSize = 2 + 2L * TITULOS_PER_LOTE;
+        return inLote + (free / loteSize) * TITULOS_PER_LOTE + Math.max(0, (free % loteSize - 2) / 2);
+    }
+
+    private void start() throws IOException {
+        if (started) {
+            return;
+        }
+        started = true;
+        if (layout == CnabLayout.CNAB_240) {
+            header240();
+        } else {
+            header400();
+        }
+    }
+
+    private void header240() throws IOException {
+        blank();
+        digits(0, 3, beneficiario.getBanco());
+        numeric(3, 7, 0);
+        line[7] = '0';
+        line[17] = '2';
+        digits(18, 32, beneficiario.getInscricao());
+        text(32, 52, beneficiario.getConvenio());
+        digits(52, 57, beneficiario.getAgencia());
+        digits(58, 70, beneficiario.getConta());
+        text(72, 102, beneficiario.getNome());
+        text(102, 132, beneficiario.getNomeBanco());
+        // Código remessa
+        line[142] = '1';
+        date(143, geracao.toLocalDate(), true);
+        numeric(151, 153, geracao.getHour());
+        numeric(153, 155, geracao.getMinute());
+        numeric(155, 157, geracao.getSecond());
+        numeric(157, 163, sequencial);
+        text(163, 166, "103");
+        numeric(166, 171, 0);
+        writeLine();
+    }
+
+    private void startLote() throws IOException {
+        lotes++;
+        loteRecords = 1;
+        loteTitulos = 0;
+        loteValor = 0;
+        blank();
+        digits(0, 3, beneficiario.getBanco());
+        numeric(3, 7, lotes);
+        line[7] = '1';
+        // Remessa of the cobrança service
+        line[8] = 'R';
+        text(9, 11, "01");
+        text(13, 16, "060");
+        line[17] = '2';
+        digits(18, 33, beneficiario.getInscricao());
+        text(33, 53, beneficiario.getConvenio());
+        digits(53, 58, beneficiario.getAgencia());
+        digits(59, 71, beneficiario.getConta());
+        text(73, 103, beneficiario.getNome());
+        numeric(183, 191, sequencial);
+        date(191, geracao.toLocalDate(), true);
+        numeric(199, 207, 0);
+        writeLine();
+    }
+
+    private void segmentP(ParcelaRemessaDTO parcela, long documento, long valor) throws IOException {
+        detail240('P');
+        digits(17, 22, beneficiario.getAgencia());
+        digits(23, 35, beneficiario.getConta());
+        text(37, 57, parcela.getIdTransacao());
+        // Carteira, cadastramento, tipo de documento, emissão and distribuição by the beneficiário
+        text(57, 62, "11122");
+        numeric(62, 77, documento);
+        date(77, parcela.getDataVencimento(), true);
+        numeric(85, 100, valor);
+        numeric(100, 105, 0);
+        // Espécie duplicata de serviço, not accepted
+        text(106, 109, "04N");
+        date(109, geracao.toLocalDate(), true);
+        // No juros, no desconto
+        line[117] = '3';
+        numeric(118, 141, 0);
+        line[141] = '0';
+        numeric(142, 195, 0);
+        numeric(195, 220, parcela.getId());
+        // No protesto, no baixa, in reais
+        text(220, 229, "300000009");
+        numeric(229, 239, 0);
+        writeLine();
+    }
+
+    private void segmentQ(ParcelaRemessaDTO parcela) throws IOException {
+        detail240('Q');
+        line[17] = tipoInscricao(parcela.getClienteCpf());
+        digits(18, 33, parcela.getClienteCpf());
+        text(33, 73, parcela.getClienteNome());
+        numeric(128, 136, 0);
+        line[153] = '0';
+        numeric(154, 169, 0);
+        numeric(209, 212, 0);
+        writeLine();
+    }
+
+    private void detail240(char segmento) {
+        loteRecords++;
+        blank();
+        digits(0, 3, beneficiario.getBanco());
+        numeric(3, 7, lotes);
+        line[7] = '3';
+        numeric(8, 13, loteRecords - 1);
+        line[13] = (byte) segmento;
+        // Entrada de títulos
+        text(15, 17, "01");
+    }
+
+    private void endLote() throws IOException {
+        blank();
+        digits(0, 3, beneficiario.getBanco());
+        numeric(3, 7, lotes);
+        line[7] = '5';
+        numeric(17, 23, loteRecords + 1L);
+        numeric(23, 29, loteTitulos);
+        numeric(29, 46, loteValor);
+        writeLine();
+        loteRecords = 0;
+    }
+
+    private void trailer240() throws IOException {
+        blank();
+        digits(0, 3, beneficiario.getBanco());
+        numeric(3, 7, 9999);
+        line[7] = '9';
+        numeric(17, 23, lotes);
+        numeric(23, 29, records + 1);
+        numeric(29, 35, 0);
+        writeLine();
+    }
+
+    private void header400() throws IOException {
+        blank();
+        text(0, 26, "01REMESSA01COBRANCA");
+        text(26, 46, beneficiario.getConvenio());
+        text(46, 76, beneficiario.getNome());
+        digits(76, 79, beneficiario.getBanco());
+        text(79, 94, beneficiario.getNomeBanco());
+        date(94, geracao.toLocalDate(), false);
+        numeric(110, 117, sequencial);
+        numeric(394, 400, records + 1);
+        writeLine();
+    }
+
+    private void detail400(ParcelaRemessaDTO parcela, long documento, long valor) throws IOException {
+        blank();
+        text(0, 3, "102");
+        digits(3, 17, beneficiario.getInscricao());
+        text(17, 37, beneficiario.getConvenio());
+        numeric(37, 62, parcela.getId());
+        text(70, 82, parcela.getIdTransacao());
+        // Entrada de títulos
+        text(108, 110, "01");
+        numeric(110, 120, documento);
+        date(120, parcela.getDataVencimento(), false);
+        numeric(126, 139, valor);
+        numeric(139, 147, 0);
+        // Espécie duplicata de serviço, not accepted
+        text(147, 150, "04N");
+        date(150, geracao.toLocalDate(), false);
+        numeric(156, 218, 0);
+        line[218] = '0';
+        line[219] = tipoInscricao(parcela.getClienteCpf());
+        digits(220, 234, parcela.getClienteCpf());
+        text(234, 274, parcela.getClienteNome());
+        numeric(326, 334, 0);
+        numeric(394, 400, records + 1);
+        writeLine();
+    }
+
+    private void trailer400() throws IOException {
+        blank();
+        line[0] = '9';
+        numeric(394, 400, records + 1);
+        writeLine();
+    }
+
+    private void writeLine() throws IOException {
+        if (buffer.remaining() < line.length + 2) {
+            flush();
+        }
+        buffer.put(line).put((byte) '\r').put((byte) '\n');
+        records++;
+    }
+
+    private void blank() {
+        Arrays.fill(line, (byte) ' ');
+    }
+
+    /**
+     * Write a number right-aligned and padded with zeros, in a field 0-based and end exclusive.
+     */
+    private void numeric(int from, int to, long value) {
+        long rest = value;
+        for (int i = to - 1; i >= from; i--) {
+            line[i] = (byte) ('0' + rest % 10);
+            rest /= 10;
+        }
+        if (rest != 0 || value < 0) {
+            throw new IllegalArgumentException(value + " doesn't fit in " + (to - from) + " digits");
+        }
+    }
+
+    /**
+     * Write the digits of a text, such as a formatted cpf, right-aligned and padded with zeros.
+     */
+    private void digits(int from, int to, String text) {
+        int position = to;
+        if (text != null) {
+            for (int i = text.length() - 1; i >= 0; i--) {
+                char c = text.charAt(i);
+                if (c < '0' || c > '9') {
+                    continue;
+                }
+                if (position == from) {
+                    throw new IllegalArgumentException(text + " doesn't fit in " + (to - from) + " digits");
+                }
+                line[--position] = (byte) c;
+            }
+        }
+        while (position > from) {
+            line[--position] = '0';
+        }
+    }
+
+    /**
+     * Write a text left-aligned, folded to upper case ASCII and truncated to the field.
+     */
+    private void text(int from, int to, String text) {
+        if (text == null) {
+            return;
+        }
+        int length = Math.min(text.length(), to - from);
+        for (int i = 0; i < length; i++) {
+            line[from + i] = fold(text.charAt(i));
+        }
+    }
+
+    private void date(int from, LocalDate date, boolean fourDigitYear) {
+        numeric(from, from + 2, date.getDayOfMonth());
+        numeric(from + 2, from + 4, date.getMonthValue());
+        if (fourDigitYear) {
+            numeric(from + 4, from + 8, date.getYear());
+        } else {
+            numeric(from + 4, from + 6, date.getYear() % 100);
+        }
+    }
+
+    private static byte tipoInscricao(String inscricao) {
+        int digits = 0;
+        if (inscricao != null) {
+            for (int i = 0; i < inscricao.length(); i++) {
+                char c = inscricao.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    digits++;
+                }
+            }
+        }
+        // 1 for a cpf, 2 for a cnpj
+        return (byte) (digits == 0 ? '0' : digits <= 11 ? '1' : '2');
+    }
+
+    private static byte fold(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return (byte) (c - 'a' + 'A');
+        }
+        if (c >= ' ' && c <= '~') {
+            return (byte) c;
+        }
+        if (c >= '\u00C0' && c <= '\u00FF') {
+            return (byte) LATIN_1_FOLDED.charAt(c - '\u00C0');
+        }
+        return ' ';
+    }
+
+    private static long cents(BigDecimal valor) {
+        return valor.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
@@ -0,0 +1,274 @@
+package br.com.devquick.pagamento.service.cnab;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BiConsumer;
+
+/**
+ * Reader of the liquidated titles of a CNAB 240 or CNAB 400 return file.
+ * <p>
+ * The layout is detected from the file header. The content is read through a reused byte buffer and the fixed-width
+ * fields are decoded in place: numbers and amounts are parsed straight from the bytes, and the only string created per
+ * title is its nosso número. Only the liquidation occurrences are returned, the other ones are counted as ignored, and
+ * the malformed lines are handed to the error handler and skipped.
+ * <p>
+ * Field positions follow the FEBRABAN layouts, segments T and U for CNAB 240, and the common detail record for CNAB 400.
+ */
+public final class CnabRetornoReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final byte END_OF_FILE = 0x1A;
+
+    private final InputStream in;
+
+    private final BiConsumer<Long, String> errorHandler;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private final byte[] line = new byte[CnabLayout.CNAB_400.getLineLength()];
+
+    private int position;
+
+    private int limit;
+
+    private CnabLayout layout;
+
+    private long lineNumber;
+
+    private long ignored;
+
+    private long segmentTLine = -1;
+
+    private boolean segmentTLiquidacao;
+
+    private String segmentTNossoNumero;
+
+    private long segmentTDocumento;
+
+    /**
+     * @param in the content of the return file.
+     * @param errorHandler called with the line number and the reason of each malformed line.
+     */
+    public CnabRetornoReader(InputStream in, BiConsumer<Long, String> errorHandler) {
+        this.in = in;
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Read the next liquidated title.
+     *
+     * @return the title, or {@code null} at the end of the file.
+     * @throws IOException if the content couldn't be read.
+     * @throws IllegalArgumentException if the content is not a CNAB 240 or CNAB 400 return file.
+     */
+    public CnabTitulo next() throws IOException {
+        int length;
+        while ((length = readLine()) >= 0) {
+            if (length == 0) {
+                continue;
+            }
+            if (layout == null) {
+                layout = readHeader(length);
+                continue;
+            }
+            if (length != layout.getLineLength()) {
+                errorHandler.accept(lineNumber, "Expected " + layout.getLineLength() + " characters but found " + length);
+                continue;
+            }
+            CnabTitulo titulo = layout == CnabLayout.CNAB_240 ? read240() : read400();
+            if (titulo != null) {
+                return titulo;
+            }
+        }
+        if (layout == null) {
+            throw new IllegalArgumentException("Empty CNAB file");
+        }
+        if (segmentTLine >= 0) {
+            errorHandler.accept(segmentTLine, "Segment T without segment U");
+            segmentTLine = -1;
+        }
+        return null;
+    }
+
+    /**
+     * @return the layout of the file, {@code null} until the first title is read.
+     */
+    public CnabLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * @return the number of lines read so far.
+     */
+    public long getLines() {
+        return lineNumber;
+    }
+
+    /**
+     * @return the number of titles read so far with an occurrence other than a liquidation.
+     */
+    public long getIgnored() {
+        return ignored;
+    }
+
+    private CnabLayout readHeader(int length) {
+        if (length == CnabLayout.CNAB_240.getLineLength() && line[7] == '0') {
+            if (line[142] != '2') {
+                throw new IllegalArgumentException("Not a CNAB 240 return file");
+            }
+            return CnabLayout.CNAB_240;
+        }
+        if (length == CnabLayout.CNAB_400.getLineLength() && line[0] == '0') {
+            if (line[1] != '2') {
+                throw new IllegalArgumentException("Not a CNAB 400 return file");
+            }
+            return CnabLayout.CNAB_400;
+        }
+        throw new IllegalArgumentException("Not a CNAB 240 or CNAB 400 file header: " + length + " characters");
+    }
+
+    private CnabTitulo read240() {
+        if (line[7] != '3') {
+            return null;
+        }
+        if (line[13] == 'T') {
+            if (segmentTLine >= 0) {
+                errorHandler.accept(segmentTLine, "Segment T without segment U");
+            }
+            segmentTLine = lineNumber;
+            segmentTLiquidacao = isLiquidacao240(number(15, 17));
+            segmentTNossoNumero = segmentTLiquidacao ? text(37, 57) : null;
+            segmentTDocumento = number(58, 73);
+            return null;
+        }
+        if (line[13] != 'U') {
+            return null;
+        }
+        if (segmentTLine < 0) {
+            errorHandler.accept(lineNumber, "Segment U without segment T");
+            return null;
+        }
+        long titleLine = segmentTLine;
+        segmentTLine = -1;
+        if (!segmentTLiquidacao) {
+            ignored++;
+            return null;
+        }
+        long valorPago = number(77, 92);
+        if (valorPago < 0) {
+            errorHandler.accept(lineNumber, "Invalid valor pago");
+            return null;
+        }
+        return new CnabTitulo(titleLine, segmentTNossoNumero, segmentTDocumento, valorPago);
+    }
+
+    private CnabTitulo read400() {
+        if (line[0] != '1') {
+            return null;
+        }
+        if (!isLiquidacao400(number(108, 110))) {
+            ignored++;
+            return null;
+        }
+        long valorPago = number(253, 266);
+        if (valorPago < 0) {
+            errorHandler.accept(lineNumber, "Invalid valor pago");
+            return null;
+        }
+        return new CnabTitulo(lineNumber, text(70, 82), number(116, 126), valorPago);
+    }
+
+    private static boolean isLiquidacao240(long ocorrencia) {
+        // 06 liquidação, 17 liquidação após baixa
+        return ocorrencia == 6 || ocorrencia == 17;
+    }
+
+    private static boolean isLiquidacao400(long ocorrencia) {
+        // 06 liquidação, 15 liquidação em cartório, 17 liquidação após baixa
+        return ocorrencia == 6 || ocorrencia == 15 || ocorrencia == 17;
+    }
+
+    /**
+     * Parse the digits of a field, 0-based and end exclusive, ignoring its blank padding.
+     *
+     * @return the number, or {@code -1} if the field is blank or not numeric.
+     */
+    private long number(int from, int to) {
+        int start = from;
+        int end = to;
+        while (start < end && line[start] == ' ') {
+            start++;
+        }
+        while (end > start && line[end - 1] == ' ') {
+            end--;
+        }
+        if (start == end) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = line[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Decode a text field, 0-based and end exclusive, without its blank padding.
+     *
+     * @return the text, or {@code null} if the field is blank.
+     */
+    private String text(int from, int to) {
+        int start = from;
+        int end = to;
+        while (start < end && line[start] == ' ') {
+            start++;
+        }
+        while (end > start && line[end - 1] == ' ') {
+            end--;
+        }
+        return start == end ? null : new String(line, start, end - start, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Read the next line into {@link #line}, dropping the characters beyond its capacity.
+     *
+     * @return the length of the line without its terminator, or {@code -1} at the end of the content.
+     */
+    private int readLine() throws IOException {
+        int length = 0;
+        boolean read = false;
+        while (true) {
+            if (position == limit) {
+                limit = in.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    if (!read) {
+                        return -1;
+                    }
+                    lineNumber++;
+                    return length;
+                }
+            }
+            byte b = buffer[position++];
+            read = true;
+            if (b == '\n') {
+                lineNumber++;
+                return length;
+            }
+            if (b == '\r' || b == END_OF_FILE) {
+                continue;
+            }
+            if (length < line.length) {
+                line[length] = b;
+            }
+            length++;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.devquick.pagamento.service.cnab;
+
+/**
+ * A liquidated title of a CNAB return file.
+ */
+public final class CnabTitulo {
+
+    private final long line;
+
+    private final String nossoNumero;
+
+    private final long documento;
+
+    private final long valorPago;
+
+    CnabTitulo(long line, String nossoNumero, long documento, long valorPago) {
+        this.line = line;
+        this.nossoNumero = nossoNumero;
+        this.documento = documento;
+        this.valorPago = valorPago;
+    }
+
+    /**
+     * @return the line of the title in the file, the one of its segment T for CNAB 240.
+     */
+    public long getLine() {
+        return line;
+    }
+
+    /**
+     * @return the bank's identification of the title, without its blank padding, or {@code null} if blank.
+     */
+    public String getNossoNumero() {
+        return nossoNumero;
+    }
+
+    /**
+     * @return the company's number of the title, or {@code -1} if blank or not numeric.
+     */
+    public long getDocumento() {
+        return documento;
+    }
+
+    /**
+     * @return the paid amount, in cents.
+     */
+    public long getValorPago() {
+        return valorPago;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CnabTitulo{" +
+            "line=" + getLine() +
+            ", nossoNumero='" + getNossoNumero() + "'" +
+            ", documento=" + getDocumento() +
+            ", valorPago=" + getValorPago() +
+            "}";
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Readers of the CNAB files exchanged with the banks.
+ */
+package br.com.devquick.pagamento.service.cnab;
@@ -0,0 +1,197 @@
+package br.com.devquick.pagamento.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the {@link br.com.devquick.pagamento.domain.Cliente} entity. This class is used
+ * in {@link br.com.devquick.pagamento.web.rest.ClienteResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /clientes?id.greaterThan=5&nome.contains=silva&cursoId.equals=1}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+public class ClienteCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter nome;
+
+    private StringFilter cpf;
+
+    private StringFilter email;
+
+    private StringFilter telefone;
+
+    private LongFilter parcelaId;
+
+    private LongFilter cursoId;
+
+    public ClienteCriteria() {}
+
+    public ClienteCriteria(ClienteCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.nome = other.nome == null ? null : other.nome.copy();
+        this.cpf = other.cpf == null ? null : other.cpf.copy();
+        this.email = other.email == null ? null : other.email.copy();
+        this.telefone = other.telefone == null ? null : other.telefone.copy();
+        this.parcelaId = other.parcelaId == null ? null : other.parcelaId.copy();
+        this.cursoId = other.cursoId == null ? null : other.cursoId.copy();
+    }
+
+    @Override
+    public ClienteCriteria copy() {
+        return new ClienteCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getNome() {
+        return nome;
+    }
+
+    public StringFilter nome() {
+        if (nome == null) {
+            nome = new StringFilter();
+        }
+        return nome;
+    }
+
+    public void setNome(StringFilter nome) {
+        this.nome = nome;
+    }
+
+    public StringFilter getCpf() {
+        return cpf;
+    }
+
+    public StringFilter cpf() {
+        if (cpf == null) {
+            cpf = new StringFilter();
+        }
+        return cpf;
+    }
+
+    public void setCpf(StringFilter cpf) {
+        this.cpf = cpf;
+    }
+
+    public StringFilter getEmail() {
+        return email;
+    }
+
+    public StringFilter email() {
+        if (email == null) {
+            email = new StringFilter();
+        }
+        return email;
+    }
+
+    public void setEmail(StringFilter email) {
+        this.email = email;
+    }
+
+    public StringFilter getTelefone() {
+        return telefone;
+    }
+
+    public StringFilter telefone() {
+        if (telefone == null) {
+            telefone = new StringFilter();
+        }
+        return telefone;
+    }
+
+    public void setTelefone(StringFilter telefone) {
+        this.telefone = telefone;
+    }
+
+    public LongFilter getParcelaId() {
+        return parcelaId;
+    }
+
+    public LongFilter parcelaId() {
+        if (parcelaId == null) {
+            parcelaId = new LongFilter();
+        }
+        return parcelaId;
+    }
+
+    public void setParcelaId(LongFilter parcelaId) {
+        this.parcelaId = parcelaId;
+    }
+
+    public LongFilter getCursoId() {
+        return cursoId;
+    }
+
+    public LongFilter cursoId() {
+        if (cursoId == null) {
+            cursoId = new LongFilter();
+        }
+        return cursoId;
+    }
+
+    public void setCursoId(LongFilter cursoId) {
+        this.cursoId = cursoId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ClienteCriteria that = (ClienteCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(nome, that.nome) &&
+            Objects.equals(cpf, that.cpf) &&
+            Objects.equals(email, that.email) &&
+            Objects.equals(telefone, that.telefone) &&
+            Objects.equals(parcelaId, that.parcelaId) &&
+            Objects.equals(cursoId, that.cursoId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, nome, cpf, email, telefone, parcelaId, cursoId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ClienteCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (nome != null ? "nome=" + nome + ", " : "") +
+            (cpf != null ? "cpf=" + cpf + ", " : "") +
+            (email != null ? "email=" + email + ", " : "") +
+            (telefone != null ? "telefone=" + telefone + ", " : "") +
+            (parcelaId != null ? "parcelaId=" + parcelaId + ", " : "") +
+            (cursoId != null ? "cursoId=" + cursoId + ", " : "") +
+            "}";
+    }
+}
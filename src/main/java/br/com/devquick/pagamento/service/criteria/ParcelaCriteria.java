@@ -0,0 +1,299 @@
+package br.com.devquick.pagamento.service.criteria;
+
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import java.io.Serializable;
+import java.util.Objects;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.BigDecimalFilter;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.InstantFilter;
+import tech.jhipster.service.filter.IntegerFilter;
+import tech.jhipster.service.filter.LocalDateFilter;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the {@link br.com.devquick.pagamento.domain.Parcela} entity. This class is used
+ * in {@link br.com.devquick.pagamento.web.rest.ParcelaResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /parcelas?status.in=PENDENTE,ATRASADA&valor.greaterThan=100&clienteId.equals=1}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+public class ParcelaCriteria implements Serializable, Criteria {
+
+    /**
+     * Class for filtering Status
+     */
+    public static class StatusFilter extends Filter<Status> {
+
+        public StatusFilter() {}
+
+        public StatusFilter(StatusFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public StatusFilter copy() {
+            return new StatusFilter(this);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private LongFilter documento;
+
+    private StringFilter idTransacao;
+
+    private BigDecimalFilter valor;
+
+    private IntegerFilter numero;
+
+    private IntegerFilter total;
+
+    private StatusFilter status;
+
+    private LocalDateFilter dataVencimento;
+
+    private InstantFilter dataRemessa;
+
+    private LongFilter clienteId;
+
+    private LongFilter cursoId;
+
+    public ParcelaCriteria() {}
+
+    public ParcelaCriteria(ParcelaCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.documento = other.documento == null ? null : other.documento.copy();
+        this.idTransacao = other.idTransacao == null ? null : other.idTransacao.copy();
+        this.valor = other.valor == null ? null : other.valor.copy();
+        this.numero = other.numero == null ? null : other.numero.copy();
+        this.total = other.total == null ? null : other.total.copy();
+        this.status = other.status == null ? null : other.status.copy();
+        this.dataVencimento = other.dataVencimento == null ? null : other.dataVencimento.copy();
+        this.dataRemessa = other.dataRemessa == null ? null : other.dataRemessa.copy();
+        this.clienteId = other.clienteId == null ? null : other.clienteId.copy();
+        this.cursoId = other.cursoId == null ? null : other.cursoId.copy();
+    }
+
+    @Override
+    public ParcelaCriteria copy() {
+        return new ParcelaCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public LongFilter getDocumento() {
+        return documento;
+    }
+
+    public LongFilter documento() {
+        if (documento == null) {
+            documento = new LongFilter();
+        }
+        return documento;
+    }
+
+    public void setDocumento(LongFilter documento) {
+        this.documento = documento;
+    }
+
+    public StringFilter getIdTransacao() {
+        return idTransacao;
+    }
+
+    public StringFilter idTransacao() {
+        if (idTransacao == null) {
+            idTransacao = new StringFilter();
+        }
+        return idTransacao;
+    }
+
+    public void setIdTransacao(StringFilter idTransacao) {
+        this.idTransacao = idTransacao;
+    }
+
+    public BigDecimalFilter getValor() {
+        return valor;
+    }
+
+    public BigDecimalFilter valor() {
+        if (valor == null) {
+            valor = new BigDecimalFilter();
+        }
+        return valor;
+    }
+
+    public void setValor(BigDecimalFilter valor) {
+        this.valor = valor;
+    }
+
+    public IntegerFilter getNumero() {
+        return numero;
+    }
+
+    public IntegerFilter numero() {
+        if (numero == null) {
+            numero = new IntegerFilter();
+        }
+        return numero;
+    }
+
+    public void setNumero(IntegerFilter numero) {
+        this.numero = numero;
+    }
+
+    public IntegerFilter getTotal() {
+        return total;
+    }
+
+    public IntegerFilter total() {
+        if (total == null) {
+            total = new IntegerFilter();
+        }
+        return total;
+    }
+
+    public void setTotal(IntegerFilter total) {
+        this.total = total;
+    }
+
+    public StatusFilter getStatus() {
+        return status;
+    }
+
+    public StatusFilter status() {
+        if (status == null) {
+            status = new StatusFilter();
+        }
+        return status;
+    }
+
+    public void setStatus(StatusFilter status) {
+        this.status = status;
+    }
+
+    public LocalDateFilter getDataVencimento() {
+        return dataVencimento;
+    }
+
+    public LocalDateFilter dataVencimento() {
+        if (dataVencimento == null) {
+            dataVencimento = new LocalDateFilter();
+        }
+        return dataVencimento;
+    }
+
+    public void setDataVencimento(LocalDateFilter dataVencimento) {
+        this.dataVencimento = dataVencimento;
+    }
+
+    public InstantFilter getDataRemessa() {
+        return dataRemessa;
+    }
+
+    public InstantFilter dataRemessa() {
+        if (dataRemessa == null) {
+            dataRemessa = new InstantFilter();
+        }
+        return dataRemessa;
+    }
+
+    public void setDataRemessa(InstantFilter dataRemessa) {
+        this.dataRemessa = dataRemessa;
+    }
+
+    public LongFilter getClienteId() {
+        return clienteId;
+    }
+
+    public LongFilter clienteId() {
+        if (clienteId == null) {
+            clienteId = new LongFilter();
+        }
+        return clienteId;
+    }
+
+    public void setClienteId(LongFilter clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public LongFilter getCursoId() {
+        return cursoId;
+    }
+
+    public LongFilter cursoId() {
+        if (cursoId == null) {
+            cursoId = new LongFilter();
+        }
+        return cursoId;
+    }
+
+    public void setCursoId(LongFilter cursoId) {
+        this.cursoId = cursoId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ParcelaCriteria that = (ParcelaCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(documento, that.documento) &&
+            Objects.equals(idTransacao, that.idTransacao) &&
+            Objects.equals(valor, that.valor) &&
+            Objects.equals(numero, that.numero) &&
+            Objects.equals(total, that.total) &&
+            Objects.equals(status, that.status) &&
+            Objects.equals(dataVencimento, that.dataVencimento) &&
+            Objects.equals(dataRemessa, that.dataRemessa) &&
+            Objects.equals(clienteId, that.clienteId) &&
+            Objects.equals(cursoId, that.cursoId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, documento, idTransacao, valor, numero, total, status, dataVencimento, dataRemessa, clienteId, cursoId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ParcelaCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (documento != null ? "documento=" + documento + ", " : "") +
+            (idTransacao != null ? "idTransacao=" + idTransacao + ", " : "") +
+            (valor != null ? "valor=" + valor + ", " : "") +
+            (numero != null ? "numero=" + numero + ", " : "") +
+            (total != null ? "total=" + total + ", " : "") +
+            (status != null ? "status=" + status + ", " : "") +
+            (dataVencimento != null ? "dataVencimento=" + dataVencimento + ", " : "") +
+            (dataRemessa != null ? "dataRemessa=" + dataRemessa + ", " : "") +
+            (clienteId != null ? "clienteId=" + clienteId + ", " : "") +
+            (cursoId != null ? "cursoId=" + cursoId + ", " : "") +
+            "}";
+    }
+}
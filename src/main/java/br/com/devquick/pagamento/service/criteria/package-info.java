@@ -0,0 +1,4 @@
+/**
+ * Criteria classes holding the filters of the list endpoints.
+ */
+package br.com.devquick.pagamento.service.criteria;
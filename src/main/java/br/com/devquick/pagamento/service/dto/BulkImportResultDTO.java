@@ -0,0 +1,129 @@
+package br.com.devquick.pagamento.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: row counters, throughput and the per-row errors.
+ */
+public class BulkImportResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long received;
+
+    private long imported;
+
+    private long failed;
+
+    private int chunks;
+
+    private long elapsedMillis;
+
+    private boolean errorsTruncated;
+
+    private final List<RowError> errors = new ArrayList<>();
+
+    public long getReceived() {
+        return received;
+    }
+
+    public void setReceived(long received) {
+        this.received = received;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(int chunks) {
+        this.chunks = chunks;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        if (elapsedMillis <= 0) {
+            return imported;
+        }
+        return imported * 1000d / elapsedMillis;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "BulkImportResultDTO{" +
+            "received=" +
+            received +
+            ", imported=" +
+            imported +
+            ", failed=" +
+            failed +
+            ", chunks=" +
+            chunks +
+            ", elapsedMillis=" +
+            elapsedMillis +
+            "}"
+        );
+    }
+
+    /**
+     * An error attached to a line of the imported content.
+     */
+    public static class RowError implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long line;
+
+        private final String message;
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package br.com.devquick.pagamento.service.dto;
+
+import br.com.devquick.pagamento.service.cnab.CnabLayout;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of the reconciliation of a CNAB return file: counters, throughput and the titles needing attention.
+ */
+public class ConciliacaoResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private CnabLayout layout;
+
+    private long lines;
+
+    private long titulos;
+
+    private long paid;
+
+    private long alreadyPaid;
+
+    private long unmatched;
+
+    private long divergent;
+
+    private long ignored;
+
+    private long failed;
+
+    private int chunks;
+
+    private long elapsedMillis;
+
+    private boolean truncated;
+
+    private final List<Titulo> unmatchedTitulos = new ArrayList<>();
+
+    private final List<Titulo> divergentTitulos = new ArrayList<>();
+
+    private final List<BulkImportResultDTO.RowError> errors = new ArrayList<>();
+
+    public CnabLayout getLayout() {
+        return layout;
+    }
+
+    public void setLayout(CnabLayout layout) {
+        this.layout = layout;
+    }
+
+    public long getLines() {
+        return lines;
+    }
+
+    public void setLines(long lines) {
+        this.lines = lines;
+    }
+
+    public long getTitulos() {
+        return titulos;
+    }
+
+    public void setTitulos(long titulos) {
+        this.titulos = titulos;
+    }
+
+    public long getPaid() {
+        return paid;
+    }
+
+    public void setPaid(long paid) {
+        this.paid = paid;
+    }
+
+    public long getAlreadyPaid() {
+        return alreadyPaid;
+    }
+
+    public void setAlreadyPaid(long alreadyPaid) {
+        this.alreadyPaid = alreadyPaid;
+    }
+
+    public long getUnmatched() {
+        return unmatched;
+    }
+
+    public void setUnmatched(long unmatched) {
+        this.unmatched = unmatched;
+    }
+
+    public long getDivergent() {
+        return divergent;
+    }
+
+    public void setDivergent(long divergent) {
+        this.divergent = divergent;
+    }
+
+    public long getIgnored() {
+        return ignored;
+    }
+
+    public void setIgnored(long ignored) {
+        this.ignored = ignored;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(int chunks) {
+        this.chunks = chunks;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getLinesPerSecond() {
+        if (elapsedMillis <= 0) {
+            return lines;
+        }
+        return lines * 1000d / elapsedMillis;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public List<Titulo> getUnmatchedTitulos() {
+        return unmatchedTitulos;
+    }
+
+    public List<Titulo> getDivergentTitulos() {
+        return divergentTitulos;
+    }
+
+    public List<BulkImportResultDTO.RowError> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "ConciliacaoResultDTO{" +
+            "layout=" +
+            layout +
+            ", lines=" +
+            lines +
+            ", titulos=" +
+            titulos +
+            ", paid=" +
+            paid +
+            ", alreadyPaid=" +
+            alreadyPaid +
+            ", unmatched=" +
+            unmatched +
+            ", divergent=" +
+            divergent +
+            ", ignored=" +
+            ignored +
+            ", failed=" +
+            failed +
+            ", elapsedMillis=" +
+            elapsedMillis +
+            "}"
+        );
+    }
+
+    /**
+     * A title of the file that was not applied, with the parcela it was matched to, if any.
+     */
+    public static class Titulo implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long line;
+
+        private final String nossoNumero;
+
+        private final Long documento;
+
+        private final BigDecimal valorPago;
+
+        private final Long parcelaId;
+
+        private final BigDecimal valorEsperado;
+
+        private final String message;
+
+        public Titulo(
+            long line,
+            String nossoNumero,
+            Long documento,
+            BigDecimal valorPago,
+            Long parcelaId,
+            BigDecimal valorEsperado,
+            String message
+        ) {
+            this.line = line;
+            this.nossoNumero = nossoNumero;
+            this.documento = documento;
+            this.valorPago = valorPago;
+            this.parcelaId = parcelaId;
+            this.valorEsperado = valorEsperado;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getNossoNumero() {
+            return nossoNumero;
+        }
+
+        public Long getDocumento() {
+            return documento;
+        }
+
+        public BigDecimal getValorPago() {
+            return valorPago;
+        }
+
+        public Long getParcelaId() {
+            return parcelaId;
+        }
+
+        public BigDecimal getValorEsperado() {
+            return valorEsperado;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.devquick.pagamento.service.dto;
+
+import java.io.Serializable;
+import javax.validation.constraints.NotBlank;
+
+/**
+ * A payment confirmation sent by the payment gateway for the {@link br.com.devquick.pagamento.domain.Parcela} of a
+ * transaction.
+ */
+public class ConfirmacaoPagamentoDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotBlank
+    private String idTransacao;
+
+    public String getIdTransacao() {
+        return idTransacao;
+    }
+
+    public void setIdTransacao(String idTransacao) {
+        this.idTransacao = idTransacao;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ConfirmacaoPagamentoDTO{" +
+            "idTransacao='" + getIdTransacao() + "'" +
+            "}";
+    }
+}
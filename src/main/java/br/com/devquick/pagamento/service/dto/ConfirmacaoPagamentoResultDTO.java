@@ -0,0 +1,72 @@
+package br.com.devquick.pagamento.service.dto;
+
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import java.io.Serializable;
+
+/**
+ * Outcome of a payment confirmation: the confirmed parcela and whether it had already been confirmed before.
+ */
+public class ConfirmacaoPagamentoResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String idTransacao;
+
+    private Long parcelaId;
+
+    private Status status;
+
+    private boolean duplicada;
+
+    public ConfirmacaoPagamentoResultDTO() {}
+
+    public ConfirmacaoPagamentoResultDTO(String idTransacao, Long parcelaId, boolean duplicada) {
+        this.idTransacao = idTransacao;
+        this.parcelaId = parcelaId;
+        this.status = Status.PAGO;
+        this.duplicada = duplicada;
+    }
+
+    public String getIdTransacao() {
+        return idTransacao;
+    }
+
+    public void setIdTransacao(String idTransacao) {
+        this.idTransacao = idTransacao;
+    }
+
+    public Long getParcelaId() {
+        return parcelaId;
+    }
+
+    public void setParcelaId(Long parcelaId) {
+        this.parcelaId = parcelaId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public boolean isDuplicada() {
+        return duplicada;
+    }
+
+    public void setDuplicada(boolean duplicada) {
+        this.duplicada = duplicada;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ConfirmacaoPagamentoResultDTO{" +
+            "idTransacao='" + getIdTransacao() + "'" +
+            ", parcelaId=" + getParcelaId() +
+            ", status='" + getStatus() + "'" +
+            ", duplicada='" + isDuplicada() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.devquick.pagamento.service.dto;
+
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import java.io.Serializable;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+/**
+ * A notification sent by the payment gateway with the new status of the {@link br.com.devquick.pagamento.domain.Parcela}
+ * of a transaction.
+ */
+public class NotificacaoPagamentoDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotBlank
+    private String idTransacao;
+
+    @NotNull
+    private Status status;
+
+    public NotificacaoPagamentoDTO() {}
+
+    public NotificacaoPagamentoDTO(String idTransacao, Status status) {
+        this.idTransacao = idTransacao;
+        this.status = status;
+    }
+
+    public String getIdTransacao() {
+        return idTransacao;
+    }
+
+    public void setIdTransacao(String idTransacao) {
+        this.idTransacao = idTransacao;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "NotificacaoPagamentoDTO{" +
+            "idTransacao='" + getIdTransacao() + "'" +
+            ", status='" + getStatus() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.devquick.pagamento.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Digits;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * A request to split an amount into the installments ({@link br.com.devquick.pagamento.domain.Parcela}) of a cliente.
+ */
+public class PlanoParcelamentoDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    private Long clienteId;
+
+    @NotNull
+    @DecimalMin(value = "0.01")
+    @Digits(integer = 19, fraction = 2)
+    private BigDecimal valorTotal;
+
+    @NotNull
+    @Min(1)
+    @Max(360)
+    private Integer quantidade;
+
+    private LocalDate primeiroVencimento;
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public BigDecimal getValorTotal() {
+        return valorTotal;
+    }
+
+    public void setValorTotal(BigDecimal valorTotal) {
+        this.valorTotal = valorTotal;
+    }
+
+    public Integer getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(Integer quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public LocalDate getPrimeiroVencimento() {
+        return primeiroVencimento;
+    }
+
+    public void setPrimeiroVencimento(LocalDate primeiroVencimento) {
+        this.primeiroVencimento = primeiroVencimento;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PlanoParcelamentoDTO{" +
+            "clienteId=" + getClienteId() +
+            ", valorTotal=" + getValorTotal() +
+            ", quantidade=" + getQuantidade() +
+            ", primeiroVencimento='" + getPrimeiroVencimento() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Data Transfer Objects.
+ */
+package br.com.devquick.pagamento.service.dto;
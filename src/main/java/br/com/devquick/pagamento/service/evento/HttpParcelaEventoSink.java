@@ -0,0 +1,38 @@
+package br.com.devquick.pagamento.service.evento;
+
+import br.com.devquick.pagamento.client.ParcelaEventoClient;
+import br.com.devquick.pagamento.config.ApplicationProperties;
+import br.com.devquick.pagamento.repository.projection.ParcelaEventoDTO;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.FeignClientBuilder;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sink posting each batch of events as a JSON array to {@code application.outbox.url}.
+ * <p>
+ * The client is built with the Feign configuration of the application, so its encoder, interceptors and logging apply. An
+ * empty url resolves the {@value #SERVICE_NAME} service through the service discovery.
+ */
+@Component
+@ConditionalOnProperty(name = "application.outbox.sink", havingValue = "http")
+public class HttpParcelaEventoSink implements ParcelaEventoSink {
+
+    public static final String SERVICE_NAME = "parcela-eventos";
+
+    private final ParcelaEventoClient parcelaEventoClient;
+
+    public HttpParcelaEventoSink(ApplicationContext applicationContext, ApplicationProperties applicationProperties) {
+        this.parcelaEventoClient =
+            new FeignClientBuilder(applicationContext)
+                .forType(ParcelaEventoClient.class, SERVICE_NAME)
+                .url(applicationProperties.getOutbox().getUrl())
+                .build();
+    }
+
+    @Override
+    public void publicar(List<ParcelaEventoDTO> eventos) {
+        parcelaEventoClient.publicar(eventos);
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.devquick.pagamento.service.evento;
+
+import br.com.devquick.pagamento.repository.projection.ParcelaEventoDTO;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sink writing the events to the log, the default when no downstream service is configured.
+ */
+@Component
+@ConditionalOnProperty(name = "application.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingParcelaEventoSink implements ParcelaEventoSink {
+
+    private final Logger log = LoggerFactory.getLogger(LoggingParcelaEventoSink.class);
+
+    @Override
+    public void publicar(List<ParcelaEventoDTO> eventos) {
+        for (ParcelaEventoDTO evento : eventos) {
+            log.info("Parcela {} changed to {} : {}", evento.getParcelaId(), evento.getStatus(), evento);
+        }
+    }
+}
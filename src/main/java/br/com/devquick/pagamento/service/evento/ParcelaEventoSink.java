@@ -0,0 +1,18 @@
+package br.com.devquick.pagamento.service.evento;
+
+import br.com.devquick.pagamento.repository.projection.ParcelaEventoDTO;
+import java.util.List;
+
+/**
+ * Destination of the status change events of the parcelas, selected by {@code application.outbox.sink}.
+ */
+@FunctionalInterface
+public interface ParcelaEventoSink {
+    /**
+     * Publish a batch of events.
+     *
+     * @param eventos the events, in the order they were recorded.
+     * @throws RuntimeException if the batch couldn't be published, it is published again by the next relay.
+     */
+    void publicar(List<ParcelaEventoDTO> eventos);
+}
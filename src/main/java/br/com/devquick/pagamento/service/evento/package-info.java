@@ -0,0 +1,4 @@
+/**
+ * Sinks publishing the status change events of the parcelas to the downstream services.
+ */
+package br.com.devquick.pagamento.service.evento;
@@ -1,18 +1,37 @@
 package br.com.devquick.pagamento.service.impl;
 
+import br.com.devquick.pagamento.config.ApplicationProperties;
 import br.com.devquick.pagamento.domain.Cliente;
 import br.com.devquick.pagamento.repository.ClienteRepository;
+import br.com.devquick.pagamento.repository.projection.ClienteResumoDTO;
 import br.com.devquick.pagamento.service.ClienteService;
+import br.com.devquick.pagamento.service.ClienteTypeaheadService;
+import br.com.devquick.pagamento.service.InvalidCpfException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Service Implementation for managing {@link Cliente}.
+ * <p>
+ * The ids of the recently looked up cpfs are kept in a bounded cache of {@code application.cpf.cache-size} entries, the
+ * cliente itself is then read from the second-level cache. A mapping is dropped once a change of its cliente is committed,
+ * and checked against the cpf of the cliente it resolves to, so a mapping cached concurrently with an update is never
+ * returned.
  */
 @Service
 @Transactional
@@ -20,62 +39,211 @@ public class ClienteServiceImpl implements ClienteService {
 
     private final Logger log = LoggerFactory.getLogger(ClienteServiceImpl.class);
 
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D");
+
+    private static final int CPF_LENGTH = 11;
+
     private final ClienteRepository clienteRepository;
 
-    public ClienteServiceImpl(ClienteRepository clienteRepository) {
+    private final ClienteTypeaheadService clienteTypeaheadService;
+
+    private final Cache<String, Long> cpfIds;
+
+    /**
+     * The cpfs of the cached mappings by cliente id, to drop them by cliente.
+     */
+    private final Map<Long, String> idCpfs = new ConcurrentHashMap<>();
+
+    public ClienteServiceImpl(
+        ClienteRepository clienteRepository,
+        ClienteTypeaheadService clienteTypeaheadService,
+        ApplicationProperties applicationProperties
+    ) {
         this.clienteRepository = clienteRepository;
+        this.clienteTypeaheadService = clienteTypeaheadService;
+        this.cpfIds =
+            Caffeine
+                .newBuilder()
+                .maximumSize(Math.max(0, applicationProperties.getCpf().getCacheSize()))
+                .executor(Runnable::run)
+                .removalListener(
+                    (String cpf, Long id, RemovalCause cause) -> {
+                        if (cause.wasEvicted()) {
+                            idCpfs.remove(id, cpf);
+                        }
+                    }
+                )
+                .build();
     }
 
     @Override
     public Cliente save(Cliente cliente) {
         log.debug("Request to save Cliente : {}", cliente);
-        return clienteRepository.save(cliente);
+        cliente.setCpf(validateCpf(cliente.getCpf(), cliente.getId()));
+        if (cliente.getId() != null) {
+            evict(cliente.getId());
+            if (cliente.getVersion() == null) {
+                // Without the version it was read at, the cliente overwrites the current one. Loads the cliente that save
+                // merges into, so it costs no additional query
+                clienteRepository.findById(cliente.getId()).map(Cliente::getVersion).ifPresent(cliente::setVersion);
+            }
+        }
+        Cliente result = clienteRepository.save(cliente);
+        clienteTypeaheadService.update(result);
+        return result;
+    }
+
+    @Override
+    public Optional<Cliente> update(Cliente cliente) {
+        log.debug("Request to update Cliente : {}", cliente);
+        cliente.setCpf(validateCpf(cliente.getCpf(), cliente.getId()));
+        return findForUpdate(cliente).map(
+            existingCliente -> {
+                cliente.setVersion(existingCliente.getVersion());
+                // Flushed so that the cliente returned has the version the update gave it, even in an enclosing transaction
+                Cliente result = clienteRepository.saveAndFlush(cliente);
+                clienteTypeaheadService.update(result);
+                return result;
+            }
+        );
     }
 
     @Override
     public Optional<Cliente> partialUpdate(Cliente cliente) {
         log.debug("Request to partially update Cliente : {}", cliente);
+        String cpf = cliente.getCpf() != null ? validateCpf(cliente.getCpf(), cliente.getId()) : null;
+        return findForUpdate(cliente).map(
+            existingCliente -> {
+                if (cliente.getNome() != null) {
+                    existingCliente.setNome(cliente.getNome());
+                }
+                if (cpf != null) {
+                    existingCliente.setCpf(cpf);
+                }
+                if (cliente.getEmail() != null) {
+                    existingCliente.setEmail(cliente.getEmail());
+                }
+                if (cliente.getTelefone() != null) {
+                    existingCliente.setTelefone(cliente.getTelefone());
+                }
+                Cliente result = clienteRepository.saveAndFlush(existingCliente);
+                clienteTypeaheadService.update(result);
+                return result;
+            }
+        );
+    }
 
+    /**
+     * Get the cliente about to be updated, from the second-level cache when it holds it, so that the update merges into it
+     * without selecting it again.
+     *
+     * @return the cliente, or empty if it doesn't exist.
+     * @throws ObjectOptimisticLockingFailureException if the update has a version and the cliente changed since.
+     */
+    private Optional<Cliente> findForUpdate(Cliente cliente) {
+        evict(cliente.getId());
         return clienteRepository
             .findById(cliente.getId())
             .map(
                 existingCliente -> {
-                    if (cliente.getNome() != null) {
-                        existingCliente.setNome(cliente.getNome());
-                    }
-                    if (cliente.getCpf() != null) {
-                        existingCliente.setCpf(cliente.getCpf());
-                    }
-                    if (cliente.getEmail() != null) {
-                        existingCliente.setEmail(cliente.getEmail());
+                    if (cliente.getVersion() != null && !cliente.getVersion().equals(existingCliente.getVersion())) {
+                        throw new ObjectOptimisticLockingFailureException(Cliente.class, cliente.getId());
                     }
-                    if (cliente.getTelefone() != null) {
-                        existingCliente.setTelefone(cliente.getTelefone());
-                    }
-
                     return existingCliente;
                 }
-            )
-            .map(clienteRepository::save);
+            );
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<Cliente> findAll(Pageable pageable) {
+    public Page<ClienteResumoDTO> findAll(Pageable pageable) {
         log.debug("Request to get all Clientes");
-        return clienteRepository.findAll(pageable);
+        return clienteRepository.findAllResumos(null, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<Cliente> findOne(Long id) {
         log.debug("Request to get Cliente : {}", id);
-        return clienteRepository.findById(id);
+        return clienteRepository.findOneWithCursoById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Cliente> findOneByCpf(String cpf) {
+        log.debug("Request to get Cliente by cpf");
+        String normalized = normalizeCpf(cpf);
+        if (normalized == null || normalized.length() != CPF_LENGTH) {
+            return Optional.empty();
+        }
+        Long cachedId = cpfIds.getIfPresent(normalized);
+        if (cachedId != null) {
+            Optional<Cliente> cached = clienteRepository.findById(cachedId).filter(cliente -> normalized.equals(cliente.getCpf()));
+            if (cached.isPresent()) {
+                Hibernate.initialize(cached.get().getCurso());
+                return cached;
+            }
+            forget(cachedId);
+        }
+        Optional<Cliente> result = clienteRepository.findOneWithCursoByCpf(normalized);
+        result.ifPresent(
+            cliente -> {
+                idCpfs.put(cliente.getId(), normalized);
+                cpfIds.put(normalized, cliente.getId());
+            }
+        );
+        return result;
     }
 
     @Override
     public void delete(Long id) {
         log.debug("Request to delete Cliente : {}", id);
+        evict(id);
         clienteRepository.deleteById(id);
+        clienteTypeaheadService.remove(id);
+    }
+
+    /**
+     * Drop the mapping of a cliente once the current transaction is committed, as lookups read its previous cpf until then.
+     */
+    private void evict(Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        forget(id);
+                    }
+                }
+            );
+        } else {
+            forget(id);
+        }
+    }
+
+    private void forget(Long id) {
+        String cpf = idCpfs.remove(id);
+        if (cpf != null) {
+            cpfIds.asMap().remove(cpf, id);
+        }
+    }
+
+    private String validateCpf(String cpf, Long id) {
+        String normalized = normalizeCpf(cpf);
+        if (cpf != null && (normalized == null || normalized.length() != CPF_LENGTH)) {
+            throw new InvalidCpfException("Invalid CPF, expected " + CPF_LENGTH + " digits");
+        }
+        if (normalized != null && clienteRepository.findIdByCpf(normalized).filter(existingId -> !existingId.equals(id)).isPresent()) {
+            throw new InvalidCpfException("CPF already used by another Cliente");
+        }
+        return normalized;
+    }
+
+    private static String normalizeCpf(String cpf) {
+        if (cpf == null) {
+            return null;
+        }
+        String digits = NON_DIGITS.matcher(cpf).replaceAll("");
+        return digits.isEmpty() ? null : digits;
     }
 }
@@ -1,13 +1,28 @@
 package br.com.devquick.pagamento.service.impl;
 
+import br.com.devquick.pagamento.domain.Cliente;
 import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.ClienteRepository;
+import br.com.devquick.pagamento.repository.ParcelaEventoRepository;
 import br.com.devquick.pagamento.repository.ParcelaRepository;
+import br.com.devquick.pagamento.repository.projection.ParcelaResumoDTO;
+import br.com.devquick.pagamento.service.ParcelaConfirmacaoService;
 import br.com.devquick.pagamento.service.ParcelaService;
+import br.com.devquick.pagamento.service.dto.PlanoParcelamentoDTO;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.ToIntFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,66 +37,191 @@ public class ParcelaServiceImpl implements ParcelaService {
 
     private final ParcelaRepository parcelaRepository;
 
-    public ParcelaServiceImpl(ParcelaRepository parcelaRepository) {
+    private final ClienteRepository clienteRepository;
+
+    private final ParcelaConfirmacaoService parcelaConfirmacaoService;
+
+    private final ParcelaEventoRepository parcelaEventoRepository;
+
+    public ParcelaServiceImpl(
+        ParcelaRepository parcelaRepository,
+        ClienteRepository clienteRepository,
+        ParcelaConfirmacaoService parcelaConfirmacaoService,
+        ParcelaEventoRepository parcelaEventoRepository
+    ) {
         this.parcelaRepository = parcelaRepository;
+        this.clienteRepository = clienteRepository;
+        this.parcelaConfirmacaoService = parcelaConfirmacaoService;
+        this.parcelaEventoRepository = parcelaEventoRepository;
     }
 
     @Override
     public Parcela save(Parcela parcela) {
         log.debug("Request to save Parcela : {}", parcela);
-        return parcelaRepository.save(parcela);
+        Status anterior = null;
+        if (parcela.getId() != null) {
+            parcelaConfirmacaoService.evict(parcela.getId());
+            // Loads the parcela that save merges into, so it costs no additional query
+            Optional<Parcela> existingParcela = parcelaRepository.findById(parcela.getId());
+            anterior = existingParcela.map(Parcela::getStatus).orElse(null);
+            if (parcela.getVersion() == null) {
+                // Without the version it was read at, the parcela overwrites the current one
+                existingParcela.map(Parcela::getVersion).ifPresent(parcela::setVersion);
+            }
+        }
+        Parcela result = parcelaRepository.save(parcela);
+        registrarEvento(result, anterior);
+        return result;
+    }
+
+    @Override
+    public Optional<Parcela> update(Parcela parcela) {
+        log.debug("Request to update Parcela : {}", parcela);
+        return write(parcela, parcelaRepository::update).map(updated -> withUpdatedVersion(parcela));
     }
 
     @Override
     public Optional<Parcela> partialUpdate(Parcela parcela) {
         log.debug("Request to partially update Parcela : {}", parcela);
+        if (isStatusOnly(parcela)) {
+            return writeStatus(parcela);
+        }
+        return write(parcela, parcelaRepository::partialUpdate).flatMap(parcelaRepository::findOneWithClienteById);
+    }
+
+    private static boolean isStatusOnly(Parcela parcela) {
+        return (
+            parcela.getStatus() != null &&
+            parcela.getDocumento() == null &&
+            parcela.getIdTransacao() == null &&
+            parcela.getValor() == null &&
+            parcela.getNumero() == null &&
+            parcela.getTotal() == null &&
+            parcela.getDataVencimento() == null &&
+            parcela.getDataRemessa() == null
+        );
+    }
+
+    /**
+     * Change the status of an existing parcela with a single conditional statement, recording the event of the change if
+     * the status changed.
+     *
+     * @return the updated parcela, or empty if it doesn't exist.
+     */
+    private Optional<Parcela> writeStatus(Parcela parcela) {
+        parcelaConfirmacaoService.evict(parcela.getId());
+        boolean statusChanged = parcelaRepository.updateStatus(parcela);
+        if (statusChanged) {
+            parcelaEventoRepository.saveAll(Collections.singletonList(parcela.getId()), parcela.getStatus());
+        }
+        Optional<Parcela> result = parcelaRepository.findOneWithClienteById(parcela.getId());
+        // When nothing changed, a parcela of another version changed since the version given
+        Long version = result.map(Parcela::getVersion).orElse(null);
+        if (!statusChanged && parcela.getVersion() != null && version != null && !parcela.getVersion().equals(version)) {
+            throw new ObjectOptimisticLockingFailureException(Parcela.class, parcela.getId());
+        }
+        return result;
+    }
+
+    /**
+     * Set the version of an update to the one the update gave the parcela, read from the database when the update had none.
+     */
+    private Parcela withUpdatedVersion(Parcela parcela) {
+        if (parcela.getVersion() != null) {
+            parcela.setVersion(parcela.getVersion() + 1);
+        } else {
+            parcelaRepository.findVersionById(parcela.getId()).ifPresent(parcela::setVersion);
+        }
+        return parcela;
+    }
+
+    /**
+     * Update an existing parcela with a single statement, recording the event of the change of its status.
+     *
+     * @return the id of the parcela, or empty if it doesn't exist.
+     */
+    private Optional<Long> write(Parcela parcela, ToIntFunction<Parcela> statement) {
+        parcelaConfirmacaoService.evict(parcela.getId());
+        // The conditional update of the status locks the parcela, so that its events are recorded in the order of the changes
+        boolean statusChanged = parcela.getStatus() != null && parcelaRepository.updateStatusBeforeUpdate(parcela);
+        if (statement.applyAsInt(parcela) == 0) {
+            if (parcela.getVersion() != null && parcelaRepository.existsById(parcela.getId())) {
+                throw new ObjectOptimisticLockingFailureException(Parcela.class, parcela.getId());
+            }
+            return Optional.empty();
+        }
+        if (statusChanged) {
+            parcelaEventoRepository.saveAll(Collections.singletonList(parcela.getId()), parcela.getStatus());
+        }
+        return Optional.of(parcela.getId());
+    }
+
+    /**
+     * Record the event of the change of the status of a parcela, if it changed.
+     */
+    private void registrarEvento(Parcela parcela, Status anterior) {
+        if (parcela.getStatus() != null && parcela.getStatus() != anterior) {
+            // The update locks the row, so that the events of the parcela are recorded in the order of the changes
+            parcelaRepository.flush();
+            parcelaEventoRepository.saveAll(Collections.singletonList(parcela.getId()), parcela.getStatus());
+        }
+    }
+
+    @Override
+    public Optional<List<Parcela>> createPlano(PlanoParcelamentoDTO plano) {
+        log.debug("Request to create Plano de Parcelamento : {}", plano);
+        if (plano.getValorTotal().stripTrailingZeros().scale() > 2) {
+            throw new IllegalArgumentException("Invalid valorTotal, expected at most 2 decimals");
+        }
+        if (plano.getValorTotal().movePointRight(2).compareTo(BigDecimal.valueOf(plano.getQuantidade())) < 0) {
+            throw new IllegalArgumentException("Invalid valorTotal, expected at least 0.01 per parcela");
+        }
+        return clienteRepository.findById(plano.getClienteId()).map(cliente -> parcelaRepository.saveAll(splitPlano(cliente, plano)));
+    }
+
+    private List<Parcela> splitPlano(Cliente cliente, PlanoParcelamentoDTO plano) {
+        int quantidade = plano.getQuantidade();
+        BigDecimal valorTotal = plano.getValorTotal().setScale(2, RoundingMode.UNNECESSARY);
+        BigDecimal valorParcela = valorTotal.divide(BigDecimal.valueOf(quantidade), 2, RoundingMode.DOWN);
+        BigDecimal centavo = BigDecimal.ONE.movePointLeft(2);
+        BigDecimal resto = valorTotal.subtract(valorParcela.multiply(BigDecimal.valueOf(quantidade)));
+        int centavosRestantes = resto.movePointRight(2).intValueExact();
 
-        return parcelaRepository
-            .findById(parcela.getId())
-            .map(
-                existingParcela -> {
-                    if (parcela.getDocumento() != null) {
-                        existingParcela.setDocumento(parcela.getDocumento());
-                    }
-                    if (parcela.getIdTransacao() != null) {
-                        existingParcela.setIdTransacao(parcela.getIdTransacao());
-                    }
-                    if (parcela.getValor() != null) {
-                        existingParcela.setValor(parcela.getValor());
-                    }
-                    if (parcela.getNumero() != null) {
-                        existingParcela.setNumero(parcela.getNumero());
-                    }
-                    if (parcela.getTotal() != null) {
-                        existingParcela.setTotal(parcela.getTotal());
-                    }
-                    if (parcela.getStatus() != null) {
-                        existingParcela.setStatus(parcela.getStatus());
-                    }
-
-                    return existingParcela;
-                }
-            )
-            .map(parcelaRepository::save);
+        List<Parcela> parcelas = new ArrayList<>(quantidade);
+        for (int numero = 1; numero <= quantidade; numero++) {
+            BigDecimal valor = numero <= centavosRestantes ? valorParcela.add(centavo) : valorParcela;
+            LocalDate dataVencimento = plano.getPrimeiroVencimento() != null ? plano.getPrimeiroVencimento().plusMonths(numero - 1L) : null;
+            parcelas.add(
+                new Parcela()
+                    .numero(numero)
+                    .total(quantidade)
+                    .valor(valor)
+                    .status(Status.PENDENTE)
+                    .dataVencimento(dataVencimento)
+                    .cliente(cliente)
+            );
+        }
+        return parcelas;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<Parcela> findAll(Pageable pageable) {
+    public Page<ParcelaResumoDTO> findAll(Pageable pageable) {
         log.debug("Request to get all Parcelas");
-        return parcelaRepository.findAll(pageable);
+        return parcelaRepository.findAllResumos(null, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<Parcela> findOne(Long id) {
         log.debug("Request to get Parcela : {}", id);
-        return parcelaRepository.findById(id);
+        return parcelaRepository.findOneWithClienteById(id);
     }
 
     @Override
     public void delete(Long id) {
         log.debug("Request to delete Parcela : {}", id);
+        parcelaConfirmacaoService.evict(id);
         parcelaRepository.deleteById(id);
     }
 }
@@ -1,9 +1,17 @@
 package br.com.devquick.pagamento.web.rest;
 
 import br.com.devquick.pagamento.domain.Cliente;
-import br.com.devquick.pagamento.repository.ClienteRepository;
+import br.com.devquick.pagamento.repository.projection.ClienteResumoDTO;
+import br.com.devquick.pagamento.repository.projection.ClienteSugestaoDTO;
+import br.com.devquick.pagamento.service.ClienteQueryService;
 import br.com.devquick.pagamento.service.ClienteService;
+import br.com.devquick.pagamento.service.ClienteTypeaheadService;
+import br.com.devquick.pagamento.service.InvalidCpfException;
+import br.com.devquick.pagamento.service.criteria.ClienteCriteria;
 import br.com.devquick.pagamento.web.rest.errors.BadRequestAlertException;
+import br.com.devquick.pagamento.web.rest.util.KeysetPaginationUtil;
+import br.com.devquick.pagamento.web.rest.util.SlicePaginationUtil.CountMode;
+import br.com.devquick.pagamento.web.rest.util.SlicePaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -14,6 +22,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -34,23 +43,32 @@ public class ClienteResource {
 
     private static final String ENTITY_NAME = "pagamentoApplicationCliente";
 
+    private static final int MAX_TYPEAHEAD_SIZE = 50;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final ClienteService clienteService;
 
-    private final ClienteRepository clienteRepository;
+    private final ClienteQueryService clienteQueryService;
+
+    private final ClienteTypeaheadService clienteTypeaheadService;
 
-    public ClienteResource(ClienteService clienteService, ClienteRepository clienteRepository) {
+    public ClienteResource(
+        ClienteService clienteService,
+        ClienteQueryService clienteQueryService,
+        ClienteTypeaheadService clienteTypeaheadService
+    ) {
         this.clienteService = clienteService;
-        this.clienteRepository = clienteRepository;
+        this.clienteQueryService = clienteQueryService;
+        this.clienteTypeaheadService = clienteTypeaheadService;
     }
 
     /**
      * {@code POST  /clientes} : Create a new cliente.
      *
      * @param cliente the cliente to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new cliente, or with status {@code 400 (Bad Request)} if the cliente has already an ID.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new cliente, or with status {@code 400 (Bad Request)} if the cliente has already an ID or its cpf is not valid.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/clientes")
@@ -59,7 +77,7 @@ public class ClienteResource {
         if (cliente.getId() != null) {
             throw new BadRequestAlertException("A new cliente cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        Cliente result = clienteService.save(cliente);
+        Cliente result = save(cliente);
         return ResponseEntity
             .created(new URI("/api/clientes/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
@@ -73,6 +91,7 @@ public class ClienteResource {
      * @param cliente the cliente to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated cliente,
      * or with status {@code 400 (Bad Request)} if the cliente is not valid,
+     * or with status {@code 409 (Conflict)} if the cliente changed since the version given,
      * or with status {@code 500 (Internal Server Error)} if the cliente couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -87,11 +106,7 @@ public class ClienteResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!clienteRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Cliente result = clienteService.save(cliente);
+        Cliente result = update(cliente).orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, cliente.getId().toString()))
@@ -106,6 +121,7 @@ public class ClienteResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated cliente,
      * or with status {@code 400 (Bad Request)} if the cliente is not valid,
      * or with status {@code 404 (Not Found)} if the cliente is not found,
+     * or with status {@code 409 (Conflict)} if the cliente changed since the version given,
      * or with status {@code 500 (Internal Server Error)} if the cliente couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -122,12 +138,13 @@ public class ClienteResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!clienteRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Optional<Cliente> result;
+        try {
+            result = clienteService.partialUpdate(cliente);
+        } catch (InvalidCpfException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cpfinvalid");
         }
 
-        Optional<Cliente> result = clienteService.partialUpdate(cliente);
-
         return ResponseUtil.wrapOrNotFound(
             result,
             HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, cliente.getId().toString())
@@ -138,16 +155,84 @@ public class ClienteResource {
      * {@code GET  /clientes} : get all the clientes.
      *
      * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of clientes in body.
      */
     @GetMapping("/clientes")
-    public ResponseEntity<List<Cliente>> getAllClientes(Pageable pageable) {
-        log.debug("REST request to get a page of Clientes");
-        Page<Cliente> page = clienteService.findAll(pageable);
+    public ResponseEntity<List<ClienteResumoDTO>> getAllClientes(ClienteCriteria criteria, Pageable pageable) {
+        log.debug("REST request to get Clientes by criteria: {}", criteria);
+        Page<ClienteResumoDTO> page = clienteQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /clientes/count} : count all the clientes.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/clientes/count")
+    public ResponseEntity<Long> countClientes(ClienteCriteria criteria) {
+        log.debug("REST request to count Clientes by criteria: {}", criteria);
+        return ResponseEntity.ok().body(clienteQueryService.countByCriteria(criteria));
+    }
+
+    /**
+     * {@code GET  /clientes?count=:mode} : get all the clientes, choosing how the total is computed.
+     * <p>
+     * With {@code NONE} or {@code APPROXIMATE} no {@code count(*)} is issued, the latter returns an estimate read from
+     * the database statistics in the {@code X-Approximate-Total-Count} header. When a filter is set, the approximate
+     * total is the exact number of matching clientes.
+     *
+     * @param count the count mode.
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of clientes in body.
+     */
+    @GetMapping(value = "/clientes", params = { SlicePaginationUtil.COUNT_PARAM, "!" + KeysetPaginationUtil.CURSOR_PARAM })
+    public ResponseEntity<List<ClienteResumoDTO>> getAllClientesWithCountMode(
+        @RequestParam(SlicePaginationUtil.COUNT_PARAM) CountMode count,
+        ClienteCriteria criteria,
+        Pageable pageable
+    ) {
+        if (count == CountMode.EXACT) {
+            return getAllClientes(criteria, pageable);
+        }
+        log.debug("REST request to get a slice of Clientes by criteria: {}", criteria);
+        Slice<ClienteResumoDTO> slice = clienteQueryService.findSliceByCriteria(criteria, pageable);
+        Long total = count == CountMode.APPROXIMATE ? clienteQueryService.countApproximatelyByCriteria(criteria) : null;
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice, total);
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * {@code GET  /clientes?after=:cursor} : get the clientes following the cursor, ordered by id.
+     * <p>
+     * Keyset pagination: the cursor of the next page is returned in the {@code Link} header, and no total count is computed.
+     *
+     * @param after the cursor returned with the previous page, empty for the first page.
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information, only the page size is used.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of clientes in body.
+     */
+    @GetMapping(value = "/clientes", params = KeysetPaginationUtil.CURSOR_PARAM)
+    public ResponseEntity<List<ClienteResumoDTO>> getAllClientesAfter(
+        @RequestParam(KeysetPaginationUtil.CURSOR_PARAM) String after,
+        ClienteCriteria criteria,
+        Pageable pageable
+    ) {
+        log.debug("REST request to get a slice of Clientes after : {}", after);
+        Long id = KeysetPaginationUtil.decodeCursor(after, ENTITY_NAME);
+        Slice<ClienteResumoDTO> slice = clienteQueryService.findByCriteriaAfter(criteria, id, pageable);
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            ClienteResumoDTO::getId
+        );
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
     /**
      * {@code GET  /clientes/:id} : get the "id" cliente.
      *
@@ -161,6 +246,36 @@ public class ClienteResource {
         return ResponseUtil.wrapOrNotFound(cliente);
     }
 
+    /**
+     * {@code GET  /clientes/typeahead?q=:query} : suggest the clientes having words in their nome or email starting with
+     * the words of the query, accents and case being ignored.
+     *
+     * @param query the words typed so far.
+     * @param size the maximum number of suggestions, at most {@value #MAX_TYPEAHEAD_SIZE}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of suggestions in body.
+     */
+    @GetMapping("/clientes/typeahead")
+    public ResponseEntity<List<ClienteSugestaoDTO>> getClienteSugestoes(
+        @RequestParam("q") String query,
+        @RequestParam(value = "size", defaultValue = "10") int size
+    ) {
+        log.debug("REST request to get Cliente suggestions : {}", query);
+        return ResponseEntity.ok().body(clienteTypeaheadService.suggest(query, Math.min(size, MAX_TYPEAHEAD_SIZE)));
+    }
+
+    /**
+     * {@code GET  /clientes/cpf/:cpf} : get the cliente with the given cpf.
+     *
+     * @param cpf the cpf of the cliente to retrieve, with or without punctuation.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the cliente, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/clientes/cpf/{cpf}")
+    public ResponseEntity<Cliente> getClienteByCpf(@PathVariable String cpf) {
+        log.debug("REST request to get Cliente by cpf");
+        Optional<Cliente> cliente = clienteService.findOneByCpf(cpf);
+        return ResponseUtil.wrapOrNotFound(cliente);
+    }
+
     /**
      * {@code DELETE  /clientes/:id} : delete the "id" cliente.
      *
@@ -176,4 +291,20 @@ public class ClienteResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private Cliente save(Cliente cliente) {
+        try {
+            return clienteService.save(cliente);
+        } catch (InvalidCpfException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cpfinvalid");
+        }
+    }
+
+    private Optional<Cliente> update(Cliente cliente) {
+        try {
+            return clienteService.update(cliente);
+        } catch (InvalidCpfException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cpfinvalid");
+        }
+    }
 }
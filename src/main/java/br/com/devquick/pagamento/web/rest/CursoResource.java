@@ -79,7 +79,8 @@ public class CursoResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!cursoRepository.existsById(id)) {
+        // Read from the second-level cache, then save merges into it without selecting the curso again
+        if (cursoRepository.findById(id).isEmpty()) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
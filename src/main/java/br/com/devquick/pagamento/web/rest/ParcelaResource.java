@@ -1,23 +1,54 @@
 package br.com.devquick.pagamento.web.rest;
 
 import br.com.devquick.pagamento.domain.Parcela;
-import br.com.devquick.pagamento.repository.ParcelaRepository;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.projection.ParcelaResumoDTO;
+import br.com.devquick.pagamento.service.ParcelaBulkImportService;
+import br.com.devquick.pagamento.service.ParcelaConciliacaoService;
+import br.com.devquick.pagamento.service.ParcelaConfirmacaoService;
+import br.com.devquick.pagamento.service.ParcelaExportService;
+import br.com.devquick.pagamento.service.ParcelaFormat;
+import br.com.devquick.pagamento.service.ParcelaNotificacaoService;
+import br.com.devquick.pagamento.service.ParcelaQueryService;
+import br.com.devquick.pagamento.service.ParcelaRemessaService;
 import br.com.devquick.pagamento.service.ParcelaService;
+import br.com.devquick.pagamento.service.cnab.CnabLayout;
+import br.com.devquick.pagamento.service.cnab.CnabRemessaWriter;
+import br.com.devquick.pagamento.service.criteria.ParcelaCriteria;
+import br.com.devquick.pagamento.service.dto.BulkImportResultDTO;
+import br.com.devquick.pagamento.service.dto.ConciliacaoResultDTO;
+import br.com.devquick.pagamento.service.dto.ConfirmacaoPagamentoDTO;
+import br.com.devquick.pagamento.service.dto.ConfirmacaoPagamentoResultDTO;
+import br.com.devquick.pagamento.service.dto.NotificacaoPagamentoDTO;
+import br.com.devquick.pagamento.service.dto.PlanoParcelamentoDTO;
 import br.com.devquick.pagamento.web.rest.errors.BadRequestAlertException;
+import br.com.devquick.pagamento.web.rest.util.KeysetPaginationUtil;
+import br.com.devquick.pagamento.web.rest.util.SlicePaginationUtil.CountMode;
+import br.com.devquick.pagamento.web.rest.util.SlicePaginationUtil;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -39,11 +70,38 @@ public class ParcelaResource {
 
     private final ParcelaService parcelaService;
 
-    private final ParcelaRepository parcelaRepository;
+    private final ParcelaQueryService parcelaQueryService;
 
-    public ParcelaResource(ParcelaService parcelaService, ParcelaRepository parcelaRepository) {
+    private final ParcelaBulkImportService parcelaBulkImportService;
+
+    private final ParcelaExportService parcelaExportService;
+
+    private final ParcelaConfirmacaoService parcelaConfirmacaoService;
+
+    private final ParcelaConciliacaoService parcelaConciliacaoService;
+
+    private final ParcelaRemessaService parcelaRemessaService;
+
+    private final ParcelaNotificacaoService parcelaNotificacaoService;
+
+    public ParcelaResource(
+        ParcelaService parcelaService,
+        ParcelaQueryService parcelaQueryService,
+        ParcelaBulkImportService parcelaBulkImportService,
+        ParcelaExportService parcelaExportService,
+        ParcelaConfirmacaoService parcelaConfirmacaoService,
+        ParcelaConciliacaoService parcelaConciliacaoService,
+        ParcelaRemessaService parcelaRemessaService,
+        ParcelaNotificacaoService parcelaNotificacaoService
+    ) {
         this.parcelaService = parcelaService;
-        this.parcelaRepository = parcelaRepository;
+        this.parcelaQueryService = parcelaQueryService;
+        this.parcelaBulkImportService = parcelaBulkImportService;
+        this.parcelaExportService = parcelaExportService;
+        this.parcelaConfirmacaoService = parcelaConfirmacaoService;
+        this.parcelaConciliacaoService = parcelaConciliacaoService;
+        this.parcelaRemessaService = parcelaRemessaService;
+        this.parcelaNotificacaoService = parcelaNotificacaoService;
     }
 
     /**
@@ -66,6 +124,148 @@ public class ParcelaResource {
             .body(result);
     }
 
+    /**
+     * {@code POST  /parcelas/bulk} : Create parcelas streamed as NDJSON or CSV.
+     * <p>
+     * Rows are validated as they are read and persisted in fixed-size chunks, rows that fail are reported in the body
+     * without aborting the import.
+     *
+     * @param request the request holding the content, one parcela per line.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import report,
+     * or with status {@code 400 (Bad Request)} if the CSV header is not valid.
+     * @throws IOException if the request body couldn't be read.
+     */
+    @PostMapping(value = "/parcelas/bulk", consumes = { MediaType.APPLICATION_NDJSON_VALUE, "text/csv" })
+    public ResponseEntity<BulkImportResultDTO> bulkCreateParcelas(HttpServletRequest request) throws IOException {
+        log.debug("REST request to bulk import Parcelas : {}", request.getContentType());
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        ParcelaFormat format = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType) ? ParcelaFormat.NDJSON : ParcelaFormat.CSV;
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        BulkImportResultDTO result;
+        try {
+            result = parcelaBulkImportService.importParcelas(new InputStreamReader(request.getInputStream(), charset), format);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "bulkinvalid");
+        }
+        return ResponseEntity.ok().body(result);
+    }
+
+    /**
+     * {@code POST  /parcelas/planos} : Create all the parcelas of an installment plan.
+     *
+     * @param plano the installment plan to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new parcelas,
+     * or with status {@code 400 (Bad Request)} if the plan is not valid or the cliente doesn't exist.
+     */
+    @PostMapping("/parcelas/planos")
+    public ResponseEntity<List<Parcela>> createPlano(@Valid @RequestBody PlanoParcelamentoDTO plano) {
+        log.debug("REST request to create Plano de Parcelamento : {}", plano);
+        Optional<List<Parcela>> parcelas;
+        try {
+            parcelas = parcelaService.createPlano(plano);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "planoinvalid");
+        }
+        List<Parcela> result = parcelas.orElseThrow(
+            () -> new BadRequestAlertException("Entity not found", "pagamentoApplicationCliente", "idnotfound")
+        );
+        return ResponseEntity
+            .status(HttpStatus.CREATED)
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, String.valueOf(result.size())))
+            .body(result);
+    }
+
+    /**
+     * {@code POST  /parcelas/confirmacoes} : Confirm the payment of the parcela of a transaction.
+     * <p>
+     * Confirming the same transaction again is harmless and answered with {@code duplicada} set.
+     *
+     * @param confirmacao the payment confirmation.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of the confirmation,
+     * or with status {@code 404 (Not Found)} if no parcela has the transaction id.
+     */
+    @PostMapping("/parcelas/confirmacoes")
+    public ResponseEntity<ConfirmacaoPagamentoResultDTO> confirmarPagamento(@Valid @RequestBody ConfirmacaoPagamentoDTO confirmacao) {
+        log.debug("REST request to confirm the payment of a Parcela : {}", confirmacao);
+        return ResponseUtil.wrapOrNotFound(parcelaConfirmacaoService.confirmar(confirmacao.getIdTransacao()));
+    }
+
+    /**
+     * {@code POST  /parcelas/notificacoes} : Receive a payment notification of the gateway with the new status of the parcela
+     * of a transaction.
+     * <p>
+     * The notification is acknowledged before it is applied: notifications are queued and applied in batches, the status
+     * of the parcela is updated within {@code application.notificacao.flush-interval} milliseconds.
+     *
+     * @param notificacao the payment notification.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)},
+     * or with status {@code 503 (Service Unavailable)} and a {@code Retry-After} header if the notification couldn't be queued.
+     */
+    @PostMapping("/parcelas/notificacoes")
+    public ResponseEntity<Void> receberNotificacao(@Valid @RequestBody NotificacaoPagamentoDTO notificacao) {
+        log.debug("REST request to receive a payment notification : {}", notificacao);
+        if (!parcelaNotificacaoService.receber(notificacao)) {
+            return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(parcelaNotificacaoService.getRetryAfterSeconds()))
+                .build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * {@code POST  /parcelas/conciliacoes} : Reconcile the parcelas with a CNAB 240 or CNAB 400 bank return file.
+     * <p>
+     * The liquidated titles are matched by nosso número against the idTransacao of the parcelas, then by número do
+     * documento against their documento. The matched parcelas paid in full are marked as PAGO, the other titles are
+     * reported without aborting the reconciliation.
+     *
+     * @param request the request holding the return file.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the reconciliation report,
+     * or with status {@code 400 (Bad Request)} if the content is not a CNAB return file.
+     * @throws IOException if the request body couldn't be read.
+     */
+    @PostMapping(value = "/parcelas/conciliacoes", consumes = { MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE })
+    public ResponseEntity<ConciliacaoResultDTO> conciliarParcelas(HttpServletRequest request) throws IOException {
+        log.debug("REST request to reconcile Parcelas with a CNAB return file");
+        ConciliacaoResultDTO result;
+        try {
+            result = parcelaConciliacaoService.conciliar(request.getInputStream());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cnabinvalid");
+        }
+        return ResponseEntity.ok().body(result);
+    }
+
+    /**
+     * {@code POST  /parcelas/remessas} : Write the PENDENTE parcelas not registered yet to a CNAB 240 or CNAB 400 remessa
+     * file, to register them at the bank, and set their dataRemessa.
+     * <p>
+     * Parcelas are written while they are read from the database. If the file couldn't be completed, none of its
+     * parcelas is marked as registered.
+     *
+     * @param layout the layout of the file, {@code CNAB_240} or {@code CNAB_400}.
+     * @param sequencial the sequence number of the file, increasing from one remessa to the next.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the remessa file in body,
+     * or with status {@code 400 (Bad Request)} if the sequence number is out of range.
+     */
+    @PostMapping("/parcelas/remessas")
+    public ResponseEntity<StreamingResponseBody> gerarRemessa(
+        @RequestParam(value = "layout", defaultValue = "CNAB_240") CnabLayout layout,
+        @RequestParam(value = "sequencial") int sequencial
+    ) {
+        log.debug("REST request to write the remessa {} of Parcelas as {}", sequencial, layout);
+        if (sequencial < 1 || sequencial > CnabRemessaWriter.MAX_SEQUENCIAL) {
+            throw new BadRequestAlertException("Invalid sequencial", ENTITY_NAME, "sequencialinvalid");
+        }
+        StreamingResponseBody body = outputStream -> parcelaRemessaService.gerar(layout, sequencial, Channels.newChannel(outputStream));
+        return ResponseEntity
+            .ok()
+            .contentType(MediaType.TEXT_PLAIN)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"remessa-" + sequencial + ".rem\"")
+            .body(body);
+    }
+
     /**
      * {@code PUT  /parcelas/:id} : Updates an existing parcela.
      *
@@ -73,6 +273,7 @@ public class ParcelaResource {
      * @param parcela the parcela to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated parcela,
      * or with status {@code 400 (Bad Request)} if the parcela is not valid,
+     * or with status {@code 409 (Conflict)} if the parcela changed since the version given,
      * or with status {@code 500 (Internal Server Error)} if the parcela couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -87,11 +288,9 @@ public class ParcelaResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!parcelaRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Parcela result = parcelaService.save(parcela);
+        Parcela result = parcelaService
+            .update(parcela)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, parcela.getId().toString()))
@@ -99,13 +298,15 @@ public class ParcelaResource {
     }
 
     /**
-     * {@code PATCH  /parcelas/:id} : Partial updates given fields of an existing parcela, field will ignore if it is null
+     * {@code PATCH  /parcelas/:id} : Partial updates given fields of an existing parcela, field will ignore if it is null.
+     * The parcela is updated with a single statement, then read to be returned.
      *
      * @param id the id of the parcela to save.
      * @param parcela the parcela to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated parcela,
      * or with status {@code 400 (Bad Request)} if the parcela is not valid,
      * or with status {@code 404 (Not Found)} if the parcela is not found,
+     * or with status {@code 409 (Conflict)} if the parcela changed since the version given,
      * or with status {@code 500 (Internal Server Error)} if the parcela couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -122,10 +323,6 @@ public class ParcelaResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!parcelaRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
         Optional<Parcela> result = parcelaService.partialUpdate(parcela);
 
         return ResponseUtil.wrapOrNotFound(
@@ -138,16 +335,113 @@ public class ParcelaResource {
      * {@code GET  /parcelas} : get all the parcelas.
      *
      * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of parcelas in body.
      */
     @GetMapping("/parcelas")
-    public ResponseEntity<List<Parcela>> getAllParcelas(Pageable pageable) {
-        log.debug("REST request to get a page of Parcelas");
-        Page<Parcela> page = parcelaService.findAll(pageable);
+    public ResponseEntity<List<ParcelaResumoDTO>> getAllParcelas(ParcelaCriteria criteria, Pageable pageable) {
+        log.debug("REST request to get Parcelas by criteria: {}", criteria);
+        Page<ParcelaResumoDTO> page = parcelaQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /parcelas/count} : count all the parcelas.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/parcelas/count")
+    public ResponseEntity<Long> countParcelas(ParcelaCriteria criteria) {
+        log.debug("REST request to count Parcelas by criteria: {}", criteria);
+        return ResponseEntity.ok().body(parcelaQueryService.countByCriteria(criteria));
+    }
+
+    /**
+     * {@code GET  /parcelas/export} : stream all the parcelas as CSV or NDJSON, ordered by id.
+     * <p>
+     * Unlike {@code GET /parcelas} the content is not paginated, rows are written while they are read from the database.
+     *
+     * @param format the output format, {@code CSV} or {@code NDJSON}.
+     * @param status the status to filter on, optional.
+     * @param clienteId the id of the cliente to filter on, optional.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the parcelas in body.
+     */
+    @GetMapping("/parcelas/export")
+    public ResponseEntity<StreamingResponseBody> exportParcelas(
+        @RequestParam(value = "format", defaultValue = "CSV") ParcelaFormat format,
+        @RequestParam(value = "status", required = false) Status status,
+        @RequestParam(value = "clienteId", required = false) Long clienteId
+    ) {
+        log.debug("REST request to export Parcelas as {}", format);
+        MediaType contentType = format == ParcelaFormat.NDJSON
+            ? MediaType.APPLICATION_NDJSON
+            : new MediaType("text", "csv", StandardCharsets.UTF_8);
+        String filename = "parcelas." + (format == ParcelaFormat.NDJSON ? "ndjson" : "csv");
+        StreamingResponseBody body = outputStream -> parcelaExportService.export(status, clienteId, format, outputStream);
+        return ResponseEntity
+            .ok()
+            .contentType(contentType)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+            .body(body);
+    }
+
+    /**
+     * {@code GET  /parcelas?count=:mode} : get all the parcelas, choosing how the total is computed.
+     * <p>
+     * With {@code NONE} or {@code APPROXIMATE} no {@code count(*)} is issued, the latter returns an estimate read from
+     * the database statistics in the {@code X-Approximate-Total-Count} header. When a filter is set, the approximate
+     * total is the exact number of matching parcelas.
+     *
+     * @param count the count mode.
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of parcelas in body.
+     */
+    @GetMapping(value = "/parcelas", params = { SlicePaginationUtil.COUNT_PARAM, "!" + KeysetPaginationUtil.CURSOR_PARAM })
+    public ResponseEntity<List<ParcelaResumoDTO>> getAllParcelasWithCountMode(
+        @RequestParam(SlicePaginationUtil.COUNT_PARAM) CountMode count,
+        ParcelaCriteria criteria,
+        Pageable pageable
+    ) {
+        if (count == CountMode.EXACT) {
+            return getAllParcelas(criteria, pageable);
+        }
+        log.debug("REST request to get a slice of Parcelas by criteria: {}", criteria);
+        Slice<ParcelaResumoDTO> slice = parcelaQueryService.findSliceByCriteria(criteria, pageable);
+        Long total = count == CountMode.APPROXIMATE ? parcelaQueryService.countApproximatelyByCriteria(criteria) : null;
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice, total);
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * {@code GET  /parcelas?after=:cursor} : get the parcelas following the cursor, ordered by id.
+     * <p>
+     * Keyset pagination: the cursor of the next page is returned in the {@code Link} header, and no total count is computed.
+     *
+     * @param after the cursor returned with the previous page, empty for the first page.
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information, only the page size is used.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of parcelas in body.
+     */
+    @GetMapping(value = "/parcelas", params = KeysetPaginationUtil.CURSOR_PARAM)
+    public ResponseEntity<List<ParcelaResumoDTO>> getAllParcelasAfter(
+        @RequestParam(KeysetPaginationUtil.CURSOR_PARAM) String after,
+        ParcelaCriteria criteria,
+        Pageable pageable
+    ) {
+        log.debug("REST request to get a slice of Parcelas after : {}", after);
+        Long id = KeysetPaginationUtil.decodeCursor(after, ENTITY_NAME);
+        Slice<ParcelaResumoDTO> slice = parcelaQueryService.findByCriteriaAfter(criteria, id, pageable);
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            ParcelaResumoDTO::getId
+        );
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
     /**
      * {@code GET  /parcelas/:id} : get the "id" parcela.
      *
@@ -0,0 +1,89 @@
+package br.com.devquick.pagamento.web.rest.util;
+
+import br.com.devquick.pagamento.web.rest.errors.BadRequestAlertException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for keyset (seek) pagination, where a page is requested with the opaque cursor of the last row of the
+ * previous page instead of a page number.
+ * <p>
+ * Unlike {@link tech.jhipster.web.util.PaginationUtil} no total count is computed: the {@code Link} header only holds a
+ * {@code next} relation, present while there are more rows.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String CURSOR_PARAM = "after";
+
+    private static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Encode an id into an opaque cursor.
+     *
+     * @param id the id of the last row returned.
+     * @return the cursor.
+     */
+    public static String encodeCursor(Long id) {
+        return ENCODER.encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor produced by {@link #encodeCursor(Long)}.
+     *
+     * @param cursor the cursor, empty to start from the first row.
+     * @param entityName the name of the paginated entity, used in the error.
+     * @return the id after which the page starts, or {@code null} to start from the first row.
+     * @throws BadRequestAlertException if the cursor is not valid.
+     */
+    public static Long decodeCursor(String cursor, String entityName) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(DECODER.decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+        }
+    }
+
+    /**
+     * Generate the pagination headers of a keyset page.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param slice the page content.
+     * @param idExtractor the function extracting the id of a row.
+     * @param <T> the type of the rows.
+     * @return the {@link HttpHeaders}.
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(
+        UriComponentsBuilder uriBuilder,
+        Slice<T> slice,
+        Function<T, Long> idExtractor
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        List<T> content = slice.getContent();
+        if (slice.hasNext() && !content.isEmpty()) {
+            String nextCursor = encodeCursor(idExtractor.apply(content.get(content.size() - 1)));
+            String link = uriBuilder
+                .replaceQueryParam(CURSOR_PARAM, nextCursor)
+                .replaceQueryParam("size", slice.getSize())
+                .replaceQueryParam("page")
+                .replaceQueryParam("sort")
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+            headers.add(HEADER_NEXT_CURSOR, nextCursor);
+        }
+        return headers;
+    }
+}
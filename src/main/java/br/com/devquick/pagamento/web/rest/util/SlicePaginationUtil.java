@@ -0,0 +1,80 @@
+package br.com.devquick.pagamento.web.rest.util;
+
+import java.text.MessageFormat;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for offset pagination without an exact total count.
+ * <p>
+ * The {@code Link} header holds the {@code next}, {@code prev} and {@code first} relations that can be derived from a
+ * {@link Slice}. When requested, an approximate total is returned in the {@code X-Approximate-Total-Count} header instead
+ * of the exact {@code X-Total-Count} of {@link tech.jhipster.web.util.PaginationUtil}.
+ */
+public final class SlicePaginationUtil {
+
+    public static final String COUNT_PARAM = "count";
+
+    private static final String HEADER_APPROXIMATE_TOTAL_COUNT = "X-Approximate-Total-Count";
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    /**
+     * How the total number of rows is computed.
+     */
+    public enum CountMode {
+        /**
+         * Exact {@code count(*)}, the default of paginated endpoints.
+         */
+        EXACT,
+        /**
+         * Estimate from the database statistics.
+         */
+        APPROXIMATE,
+        /**
+         * No total at all.
+         */
+        NONE,
+    }
+
+    private SlicePaginationUtil() {}
+
+    /**
+     * Generate the pagination headers of a slice.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param slice the page content.
+     * @param approximateTotal the approximate total number of rows, or {@code null} if not requested.
+     * @param <T> the type of the rows.
+     * @return the {@link HttpHeaders}.
+     */
+    public static <T> HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice, Long approximateTotal) {
+        HttpHeaders headers = new HttpHeaders();
+        if (approximateTotal != null) {
+            headers.add(HEADER_APPROXIMATE_TOTAL_COUNT, Long.toString(Math.max(approximateTotal, slice.getNumberOfElements())));
+        }
+        int pageNumber = slice.getNumber();
+        int pageSize = slice.getSize();
+        StringBuilder link = new StringBuilder();
+        if (slice.hasNext()) {
+            link.append(prepareLink(uriBuilder, pageNumber + 1, pageSize, "next")).append(",");
+        }
+        if (slice.hasPrevious()) {
+            link.append(prepareLink(uriBuilder, pageNumber - 1, pageSize, "prev")).append(",");
+        }
+        link.append(prepareLink(uriBuilder, 0, pageSize, "first"));
+        headers.add(HttpHeaders.LINK, link.toString());
+        return headers;
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize, String relType) {
+        String uri = uriBuilder
+            .replaceQueryParam("page", Integer.toString(pageNumber))
+            .replaceQueryParam("size", Integer.toString(pageSize))
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+        return MessageFormat.format(HEADER_LINK_FORMAT, uri, relType);
+    }
+}
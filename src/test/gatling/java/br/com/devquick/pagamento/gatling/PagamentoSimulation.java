@@ -0,0 +1,171 @@
+package br.com.devquick.pagamento.gatling;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+import br.com.devquick.pagamento.config.ApplicationProperties;
+import br.com.devquick.pagamento.security.AuthoritiesConstants;
+import br.com.devquick.pagamento.security.jwt.TokenProvider;
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.Choice;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Load test of the Curso, Cliente and Parcela REST endpoints.
+ * <p>
+ * Each virtual user creates a curso, a cliente and a few parcelas, then browses and updates them with the mix of a
+ * payment back office, mostly reads. Gatling reports the latency percentiles of every request name, and fails the run
+ * when an endpoint's 99th percentile, the throughput or the error rate misses its threshold.
+ * <p>
+ * Settings, as system properties:
+ * <ul>
+ *     <li>{@code baseURL}: the application, {@code http://localhost:8081} by default.</li>
+ *     <li>{@code jwtBase64Secret}: the secret of the application's {@code jhipster.security.authentication.jwt.base64-secret},
+ *     the one of the dev profile by default.</li>
+ *     <li>{@code users}, {@code rampSeconds} and {@code durationSeconds}: the number of virtual users started over the ramp,
+ *     and how long each one keeps sending requests.</li>
+ *     <li>{@code maxP99}: the maximum 99th percentile response time of each endpoint, in milliseconds.</li>
+ *     <li>{@code minRequestsPerSecond}: the minimum mean throughput of the run.</li>
+ *     <li>{@code maxFailedPercent}: the maximum percentage of failed requests.</li>
+ * </ul>
+ */
+public class PagamentoSimulation extends Simulation {
+
+    private static final String DEV_JWT_BASE64_SECRET =
+        "ZmU3Y2ZjY2NjY2IxOGI2ZGMwNGQ2NzdlZDQzNzg0NWY0NTU0ZmMzMGZiMjcwNDhkNzIyZmI5N2RjOTIzYTEzMjk5M2Q4MzhjMWQ3MzgzZDIyZjc3NDI1NGMzNjQx" +
+        "YzlhZmYzNDM5N2IxM2JhNWNlY2E3MzE2ZDcxYjIyN2QyY2E=";
+
+    private final String baseURL = System.getProperty("baseURL", "http://localhost:8081");
+
+    private final int users = Integer.getInteger("users", 100);
+
+    private final int rampSeconds = Integer.getInteger("rampSeconds", 60);
+
+    private final int durationSeconds = Integer.getInteger("durationSeconds", 300);
+
+    private final int maxP99 = Integer.getInteger("maxP99", 500);
+
+    private final int minRequestsPerSecond = Integer.getInteger("minRequestsPerSecond", 20);
+
+    private final double maxFailedPercent = Double.parseDouble(System.getProperty("maxFailedPercent", "1"));
+
+    /**
+     * Unique cpf for the created clientes, starting at random so that successive runs do not collide.
+     */
+    private final AtomicLong cpfs = new AtomicLong(ThreadLocalRandom.current().nextLong(90_000_000_000L));
+
+    private final Iterator<Map<String, Object>> clientes = Stream
+        .generate(() -> Map.<String, Object>of("cpf", String.format("%011d", cpfs.incrementAndGet())))
+        .iterator();
+
+    private final HttpProtocolBuilder httpProtocol = http
+        .baseUrl(baseURL)
+        .acceptHeader("application/json")
+        .contentTypeHeader("application/json")
+        .authorizationHeader("Bearer " + createToken())
+        .userAgentHeader("Gatling")
+        .silentResources();
+
+    private final ChainBuilder createParcela = exec(
+        http("Create parcela")
+            .post("/api/parcelas")
+            .body(
+                StringBody(
+                    "{\"valor\":150.00,\"numero\":1,\"total\":1,\"status\":\"PENDENTE\",\"dataVencimento\":\"2030-01-10\"," +
+                    "\"cliente\":{\"id\":#{clienteId}}}"
+                )
+            )
+            .check(status().is(201))
+            .check(jsonPath("$.id").saveAs("parcelaId"))
+    );
+
+    private final ChainBuilder setUpData = exec(
+        http("Create curso")
+            .post("/api/cursos")
+            .body(StringBody("{\"nome\":\"Gatling\"}"))
+            .check(status().is(201))
+            .check(jsonPath("$.id").saveAs("cursoId"))
+    )
+        .feed(clientes)
+        .exec(
+            http("Create cliente")
+                .post("/api/clientes")
+                .body(
+                    StringBody(
+                        "{\"nome\":\"Gatling #{cpf}\",\"cpf\":\"#{cpf}\",\"email\":\"gatling.#{cpf}@localhost\"," +
+                        "\"telefone\":\"11999999999\",\"curso\":{\"id\":#{cursoId}}}"
+                    )
+                )
+                .check(status().is(201))
+                .check(jsonPath("$.id").saveAs("clienteId"))
+        )
+        .repeat(3)
+        .on(createParcela);
+
+    private final ChainBuilder browse = randomSwitch()
+        .on(
+            Choice.withWeight(
+                35.0,
+                exec(http("List parcelas").get("/api/parcelas?clienteId.equals=#{clienteId}&page=0&size=20").check(status().is(200)))
+            ),
+            Choice.withWeight(20.0, exec(http("Get parcela").get("/api/parcelas/#{parcelaId}").check(status().is(200)))),
+            Choice.withWeight(
+                10.0,
+                exec(
+                    http("Patch parcela")
+                        .patch("/api/parcelas/#{parcelaId}")
+                        .header("Content-Type", "application/merge-patch+json")
+                        .body(StringBody("{\"id\":#{parcelaId},\"dataVencimento\":\"2030-02-10\"}"))
+                        .check(status().is(200))
+                )
+            ),
+            Choice.withWeight(10.0, exec(http("List clientes").get("/api/clientes?page=0&size=20").check(status().is(200)))),
+            Choice.withWeight(10.0, exec(http("Get cliente").get("/api/clientes/#{clienteId}").check(status().is(200)))),
+            Choice.withWeight(5.0, createParcela),
+            Choice.withWeight(5.0, exec(http("List cursos").get("/api/cursos").check(status().is(200)))),
+            Choice.withWeight(5.0, exec(http("Get curso").get("/api/cursos/#{cursoId}").check(status().is(200))))
+        );
+
+    private final ScenarioBuilder scenario = scenario("Pagamento")
+        .exec(setUpData)
+        .during(Duration.ofSeconds(durationSeconds))
+        .on(exec(browse).pause(Duration.ofMillis(500), Duration.ofSeconds(2)));
+
+    {
+        setUp(scenario.injectOpen(rampUsers(users).during(Duration.ofSeconds(rampSeconds))))
+            .protocols(httpProtocol)
+            .assertions(
+                forAll().responseTime().percentile(99.0).lt(maxP99),
+                global().requestsPerSec().gte((double) minRequestsPerSecond),
+                global().failedRequests().percent().lte(maxFailedPercent)
+            );
+    }
+
+    private static String createToken() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        JHipsterProperties.Security.Authentication.Jwt jwt = jHipsterProperties.getSecurity().getAuthentication().getJwt();
+        jwt.setBase64Secret(System.getProperty("jwtBase64Secret", DEV_JWT_BASE64_SECRET));
+        jwt.setTokenValidityInSeconds(Duration.ofDays(1).toSeconds());
+        TokenProvider tokenProvider = new TokenProvider(jHipsterProperties, new ApplicationProperties());
+        return tokenProvider.createToken(
+            new UsernamePasswordAuthenticationToken(
+                "gatling",
+                "",
+                List.of(new SimpleGrantedAuthority(AuthoritiesConstants.USER), new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN))
+            ),
+            false
+        );
+    }
+}
@@ -26,4 +26,20 @@ class ArchTest {
             .because("Services and repositories should not depend on web layer")
             .check(importedClasses);
     }
+
+    @Test
+    void repositoriesShouldNotDependOnServiceLayer() {
+        JavaClasses importedClasses = new ClassFileImporter()
+            .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_TESTS)
+            .importPackages("br.com.devquick.pagamento");
+
+        noClasses()
+            .that()
+            .resideInAnyPackage("br.com.devquick.pagamento.repository..")
+            .should()
+            .dependOnClassesThat()
+            .resideInAnyPackage("..br.com.devquick.pagamento.service..")
+            .because("Repositories should not depend on service layer")
+            .check(importedClasses);
+    }
 }
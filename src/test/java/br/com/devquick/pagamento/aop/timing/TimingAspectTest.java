@@ -0,0 +1,76 @@
+package br.com.devquick.pagamento.aop.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link TimingAspect}.
+ */
+class TimingAspectTest {
+
+    private MeterRegistry meterRegistry;
+
+    private ProceedingJoinPoint joinPoint;
+
+    @BeforeEach
+    void setup() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(String.class.getMethod("trim"));
+        joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+    }
+
+    @Test
+    void testEveryCallIsTimed() throws Throwable {
+        TimingAspect timingAspect = new TimingAspect(meterRegistry, 1);
+        when(joinPoint.proceed()).thenReturn("result");
+
+        assertThat(timingAspect.timeAround(joinPoint)).isEqualTo("result");
+        assertThat(timingAspect.timeAround(joinPoint)).isEqualTo("result");
+
+        Timer timer = timer("none");
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testFailuresAreTaggedWithTheException() throws Throwable {
+        TimingAspect timingAspect = new TimingAspect(meterRegistry, 1);
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException());
+
+        assertThatThrownBy(() -> timingAspect.timeAround(joinPoint)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(timer("IllegalStateException").count()).isEqualTo(1);
+        assertThat(timer("none")).isNull();
+    }
+
+    @Test
+    void testNoCallIsTimedWithAZeroSampleRate() throws Throwable {
+        TimingAspect timingAspect = new TimingAspect(meterRegistry, 0);
+        when(joinPoint.proceed()).thenReturn("result");
+
+        assertThat(timingAspect.timeAround(joinPoint)).isEqualTo("result");
+
+        assertThat(meterRegistry.find(TimingAspect.METRIC_NAME).timers()).isEmpty();
+    }
+
+    private Timer timer(String exception) {
+        return meterRegistry
+            .find(TimingAspect.METRIC_NAME)
+            .tag("class", String.class.getName())
+            .tag("method", "trim")
+            .tag("exception", exception)
+            .timer();
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.devquick.pagamento.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.devquick.pagamento.IntegrationTest;
+import br.com.devquick.pagamento.domain.Cliente;
+import br.com.devquick.pagamento.domain.Curso;
+import br.com.devquick.pagamento.repository.CursoRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the Hibernate second-level cache configured by {@link CacheConfiguration}.
+ */
+@IntegrationTest
+class CacheConfigurationIT {
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void assertThatCursoIsReadFromTheSecondLevelCache() {
+        Curso curso = cursoRepository.saveAndFlush(new Curso().nome("CACHE"));
+        try {
+            assertThat(entityManagerFactory.getCache().contains(Curso.class, curso.getId())).isTrue();
+            double hits = hits(Curso.class.getName());
+
+            assertThat(cursoRepository.findById(curso.getId())).isPresent();
+
+            assertThat(hits(Curso.class.getName())).isGreaterThan(hits);
+        } finally {
+            cursoRepository.deleteById(curso.getId());
+        }
+    }
+
+    @Test
+    void assertThatEveryRegionPublishesMetrics() {
+        assertThat(hitCounter(Curso.class.getName())).isNotNull();
+        assertThat(hitCounter(Curso.class.getName() + ".clientes")).isNotNull();
+        assertThat(hitCounter(Cliente.class.getName())).isNotNull();
+    }
+
+    private double hits(String cacheName) {
+        return hitCounter(cacheName).count();
+    }
+
+    private FunctionCounter hitCounter(String cacheName) {
+        return meterRegistry.find("cache.gets").tag("cache", cacheName).tag("result", "hit").functionCounter();
+    }
+}
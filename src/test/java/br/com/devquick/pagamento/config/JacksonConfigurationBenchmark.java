@@ -0,0 +1,103 @@
+package br.com.devquick.pagamento.config;
+
+import br.com.devquick.pagamento.domain.Cliente;
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.projection.ParcelaResumoDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmark of the serialization of a page of parcelas with the modules of {@link JacksonConfiguration}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonConfigurationBenchmark {
+
+    @Param({ "20", "100" })
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private List<Parcela> parcelas;
+
+    private List<ParcelaResumoDTO> resumos;
+
+    @Setup
+    public void setup() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        // The defaults of the ObjectMapper built by Spring Boot
+        objectMapper =
+            Jackson2ObjectMapperBuilder
+                .json()
+                .modules(
+                    jacksonConfiguration.javaTimeModule(),
+                    jacksonConfiguration.jdk8TimeModule(),
+                    jacksonConfiguration.hibernate5Module(),
+                    jacksonConfiguration.problemModule(),
+                    jacksonConfiguration.constraintViolationProblemModule()
+                )
+                .build();
+        Cliente cliente = new Cliente().nome("Benchmark").cpf("11111111111").email("benchmark@localhost").telefone("11999999999");
+        cliente.setId(1L);
+        parcelas = new ArrayList<>(pageSize);
+        resumos = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            Parcela parcela = new Parcela()
+                .documento((long) i)
+                .idTransacao("TX" + i)
+                .valor(BigDecimal.valueOf(12345, 2))
+                .numero(i)
+                .total(pageSize)
+                .status(Status.PENDENTE)
+                .dataVencimento(LocalDate.of(2021, 1, 10).plusMonths(i))
+                .version(0L)
+                .cliente(cliente);
+            parcela.setId((long) i);
+            parcelas.add(parcela);
+            resumos.add(
+                new ParcelaResumoDTO(
+                    parcela.getId(),
+                    parcela.getDocumento(),
+                    parcela.getIdTransacao(),
+                    parcela.getValor(),
+                    parcela.getNumero(),
+                    parcela.getTotal(),
+                    parcela.getStatus(),
+                    parcela.getDataVencimento(),
+                    parcela.getDataRemessa(),
+                    parcela.getVersion(),
+                    cliente.getId(),
+                    cliente.getNome(),
+                    cliente.getCpf(),
+                    cliente.getEmail(),
+                    cliente.getTelefone()
+                )
+            );
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeParcelas() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(parcelas);
+    }
+
+    /**
+     * What {@code GET /api/parcelas} serializes.
+     */
+    @Benchmark
+    public byte[] serializeResumos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(resumos);
+    }
+}
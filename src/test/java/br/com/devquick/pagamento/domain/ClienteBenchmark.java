@@ -0,0 +1,48 @@
+package br.com.devquick.pagamento.domain;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark of {@link Cliente#addParcela(Parcela)} on clientes having many parcelas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClienteBenchmark {
+
+    /**
+     * Number of parcelas of the cliente.
+     */
+    @Param({ "10", "1000", "10000" })
+    public int size;
+
+    private Cliente cliente;
+
+    private Parcela parcela;
+
+    @Setup
+    public void setup() {
+        cliente = new Cliente();
+        cliente.setId(1L);
+        for (long id = 1; id <= size; id++) {
+            Parcela existing = new Parcela();
+            existing.setId(id);
+            cliente.addParcela(existing);
+        }
+        parcela = new Parcela();
+        parcela.setId(size + 1L);
+    }
+
+    /**
+     * Adds and removes a parcela, so that the cliente keeps the same number of parcelas.
+     */
+    @Benchmark
+    public Cliente addParcela() {
+        cliente.addParcela(parcela);
+        return cliente.removeParcela(parcela);
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.devquick.pagamento.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate {@link StatementInspector} recording the SQL statements prepared by the current thread while a capture is
+ * running, so that tests can check the SQL actually generated for the repository methods.
+ * <p>
+ * It is registered by the {@code hibernate.session_factory.statement_inspector} property of the test configuration.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    /**
+     * Run an action and get the SQL statements it prepared.
+     *
+     * @param action the action.
+     * @return the statements, in the order they were prepared.
+     */
+    public static List<String> capture(Runnable action) {
+        List<String> statements = new ArrayList<>();
+        STATEMENTS.set(statements);
+        try {
+            action.run();
+        } finally {
+            STATEMENTS.remove();
+        }
+        return statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,168 @@
+package br.com.devquick.pagamento.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.devquick.pagamento.IntegrationTest;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.service.ClienteQueryService;
+import br.com.devquick.pagamento.service.ParcelaQueryService;
+import br.com.devquick.pagamento.service.criteria.ClienteCriteria;
+import br.com.devquick.pagamento.service.criteria.ParcelaCriteria;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Query plan regression tests for the hot repository queries.
+ * <p>
+ * Each repository method is called, and the SQL generated by Hibernate is captured by the
+ * {@link CapturingStatementInspector}, then explained with the same parameters and must be answered from an index. On
+ * PostgreSQL (the {@code testcontainers} profile) sequential scans are disabled for the transaction, so that the planner
+ * only falls back to one when no index applies.
+ */
+@IntegrationTest
+@Transactional
+class QueryPlanIT {
+
+    private static final Instant DATA_REMESSA = Instant.parse("2021-01-01T00:00:00Z");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ParcelaRepository parcelaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ParcelaQueryService parcelaQueryService;
+
+    @Autowired
+    private ClienteQueryService clienteQueryService;
+
+    private boolean postgresql;
+
+    @BeforeEach
+    void setUp() {
+        String databaseProductName = jdbcTemplate.execute(
+            (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()
+        );
+        postgresql = "PostgreSQL".equals(databaseProductName);
+        if (postgresql) {
+            jdbcTemplate.execute("set local enable_seqscan = off");
+        }
+    }
+
+    @Test
+    void parcelasByClienteUseAnIndex() {
+        // Also the lookup of the foreign key check when a cliente is deleted
+        assertIndexScan(
+            () -> {
+                try (Stream<?> parcelas = parcelaRepository.streamAllByStatusAndCliente(null, 1L)) {
+                    parcelas.forEach(parcela -> {});
+                }
+            },
+            "parcela"
+        );
+    }
+
+    @Test
+    void parcelaByIdTransacaoUsesAnIndex() {
+        assertIndexScan(() -> parcelaRepository.findIdByIdTransacao("A"), "parcela", "A");
+    }
+
+    @Test
+    void parcelasByDocumentoUseAnIndex() {
+        assertIndexScan(() -> parcelaRepository.findSituacoesByDocumentoIn(List.of(1L)), "parcela", 1L);
+    }
+
+    @Test
+    void parcelasByStatusUseAnIndex() {
+        ParcelaCriteria criteria = new ParcelaCriteria();
+        criteria.status().setIn(List.of(Status.PENDENTE, Status.ATRASADA));
+        assertIndexScan(
+            () -> parcelaQueryService.findSliceByCriteria(criteria, PageRequest.of(0, 20)),
+            "parcela",
+            Status.PENDENTE.name(),
+            Status.ATRASADA.name(),
+            21
+        );
+    }
+
+    @Test
+    void overdueParcelasUseAnIndex() {
+        LocalDate date = LocalDate.of(2021, 1, 1);
+        assertIndexScan(
+            () -> parcelaRepository.findMinIdByStatusAndDataVencimentoBefore(Status.PENDENTE, date),
+            "parcela",
+            Status.PENDENTE.name(),
+            date
+        );
+    }
+
+    @Test
+    void parcelasAfterAnIdUseAnIndex() {
+        assertIndexScan(() -> parcelaQueryService.findByCriteriaAfter(new ParcelaCriteria(), 1L, PageRequest.of(0, 20)), "parcela", 21);
+    }
+
+    @Test
+    void parcelasToRegisterUseAnIndex() {
+        assertIndexScan(
+            () -> parcelaRepository.findRemessasByStatusAndIdGreaterThan(Status.PENDENTE, 1L, PageRequest.of(0, 20)),
+            "parcela",
+            Status.PENDENTE.name(),
+            1L,
+            20
+        );
+    }
+
+    @Test
+    void parcelasOfARemessaUseAnIndex() {
+        assertIndexScan(() -> parcelaRepository.clearDataRemessa(DATA_REMESSA), "parcela", Timestamp.from(DATA_REMESSA));
+    }
+
+    @Test
+    void clientesByCpfUseAnIndex() {
+        assertIndexScan(() -> clienteRepository.findIdByCpf("A"), "cliente", "A");
+    }
+
+    @Test
+    void clientesByCursoUseAnIndex() {
+        // Also the lookup of the foreign key check when a curso is deleted
+        ClienteCriteria criteria = new ClienteCriteria();
+        criteria.cursoId().setEquals(1L);
+        assertIndexScan(() -> clienteQueryService.findSliceByCriteria(criteria, PageRequest.of(0, 20)), "cliente", 21);
+    }
+
+    /**
+     * Call a repository method, then explain the single SQL statement it prepared.
+     *
+     * @param call the call of the repository method.
+     * @param table the table which must be read from an index.
+     * @param parameters the values of the parameters of the statement, in order. The numeric literals of the criteria
+     * queries are inlined, and slices read one row more than the page size.
+     */
+    private void assertIndexScan(Runnable call, String table, Object... parameters) {
+        List<String> statements = CapturingStatementInspector.capture(call);
+        assertThat(statements).hasSize(1);
+        String sql = statements.get(0);
+        assertThat(sql.chars().filter(c -> c == '?').count()).as(sql).isEqualTo(parameters.length);
+        List<String> plan = jdbcTemplate.queryForList("explain " + sql, String.class, parameters);
+        String explained = sql + "\n" + String.join("\n", plan);
+        if (postgresql) {
+            assertThat(explained).as(explained).doesNotContain("Seq Scan on " + table);
+        } else {
+            assertThat(explained.toLowerCase()).as(explained).doesNotContain("." + table + ".tablescan");
+        }
+    }
+}
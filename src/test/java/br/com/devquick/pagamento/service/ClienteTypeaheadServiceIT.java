@@ -0,0 +1,126 @@
+package br.com.devquick.pagamento.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.devquick.pagamento.IntegrationTest;
+import br.com.devquick.pagamento.domain.Cliente;
+import br.com.devquick.pagamento.repository.ClienteRepository;
+import br.com.devquick.pagamento.repository.projection.ClienteSugestaoDTO;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link ClienteTypeaheadService}.
+ * <p>
+ * The index is maintained once the writes are committed, so these tests commit their data and delete it afterwards.
+ */
+@IntegrationTest
+class ClienteTypeaheadServiceIT {
+
+    @Autowired
+    private ClienteTypeaheadService clienteTypeaheadService;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void deleteCreatedClientes() {
+        created.forEach(clienteService::delete);
+        created.clear();
+    }
+
+    @Test
+    void assertThatWordPrefixesAreSuggestedIgnoringAccentsAndCase() {
+        Long id = save("José Conceição Typeahead", "jose.conceicao@escola.com.br");
+
+        assertThat(ids("jose")).contains(id);
+        assertThat(ids("JOSÉ conc")).contains(id);
+        assertThat(ids("typeah escola")).contains(id);
+        assertThat(ids("typeahead maria")).doesNotContain(id);
+        assertThat(ids("eahead")).doesNotContain(id);
+    }
+
+    @Test
+    void assertThatSuggestionsAreLimited() {
+        save("Typeahead Um", null);
+        save("Typeahead Dois", null);
+        save("Typeahead Tres", null);
+
+        assertThat(clienteTypeaheadService.suggest("typeahead", 2)).hasSize(2);
+    }
+
+    @Test
+    void assertThatUpdatesAndDeletionsAreIndexed() {
+        Long id = save("Typeahead Antigo", null);
+
+        clienteService.partialUpdate(new Cliente().id(id).nome("Typeahead Novo"));
+        assertThat(ids("antigo")).doesNotContain(id);
+        assertThat(ids("typeahead novo")).contains(id);
+
+        clienteService.delete(id);
+        created.remove(id);
+        assertThat(ids("typeahead")).doesNotContain(id);
+    }
+
+    @Test
+    void assertThatWordsSharedByClientesAreMatchedAfterARemoval() {
+        Long first = save("Typeahead Compartilhado Um", null);
+        Long second = save("Typeahead Compartilhado Dois", null);
+        Long third = save("Typeahead Compartilhado Tres", null);
+
+        clienteService.delete(second);
+        created.remove(second);
+
+        assertThat(ids("compartilhado")).contains(first, third).doesNotContain(second);
+        assertThat(ids("typeahead compartilhado tr")).contains(third).doesNotContain(first, second);
+    }
+
+    @Test
+    void assertThatRolledBackWritesAreNotIndexed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+            status -> {
+                clienteService.save(new Cliente().nome("Typeahead Desfeito"));
+                status.setRollbackOnly();
+            }
+        );
+
+        assertThat(clienteTypeaheadService.suggest("desfeito", 10)).isEmpty();
+    }
+
+    @Test
+    void assertThatRebuildReadsTheDatabase() {
+        // Saved without the service, so only the rebuild indexes it
+        Cliente cliente = clienteRepository.saveAndFlush(new Cliente().nome("Typeahead Reconstruido"));
+        created.add(cliente.getId());
+        assertThat(ids("reconstruido")).doesNotContain(cliente.getId());
+
+        clienteTypeaheadService.rebuild();
+
+        assertThat(ids("reconstruido")).contains(cliente.getId());
+    }
+
+    private Long save(String nome, String email) {
+        Long id = clienteService.save(new Cliente().nome(nome).email(email)).getId();
+        created.add(id);
+        return id;
+    }
+
+    private List<Long> ids(String query) {
+        List<Long> ids = new ArrayList<>();
+        clienteTypeaheadService.suggest(query, 50).stream().map(ClienteSugestaoDTO::getId).forEach(ids::add);
+        return ids;
+    }
+}
@@ -0,0 +1,230 @@
+package br.com.devquick.pagamento.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.com.devquick.pagamento.IntegrationTest;
+import br.com.devquick.pagamento.config.ApplicationProperties;
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.ParcelaRepository;
+import br.com.devquick.pagamento.service.cnab.CnabLayout;
+import br.com.devquick.pagamento.service.dto.ConciliacaoResultDTO;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link ParcelaConciliacaoService}.
+ */
+@IntegrationTest
+@Transactional
+class ParcelaConciliacaoServiceIT {
+
+    @Autowired
+    private ParcelaConciliacaoService parcelaConciliacaoService;
+
+    @Autowired
+    private ParcelaRepository parcelaRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @AfterEach
+    void restoreChunkSize() {
+        applicationProperties.getCnab().setChunkSize(1000);
+    }
+
+    @Test
+    void assertThatCnab240TitlesAreReconciled() throws IOException {
+        Parcela byNossoNumero = save("9912345", null, "100.00", Status.PENDENTE);
+        Parcela byDocumento = save(null, 99777L, "50.00", Status.ATRASADA);
+        Parcela paga = save("99C1", null, "10.00", Status.PAGO);
+        Parcela divergente = save("99D1", null, "20.00", Status.PENDENTE);
+
+        ConciliacaoResultDTO result = conciliar(
+            header240(),
+            line240('1', ' '),
+            segmentT("06", "00000000000009912345", ""),
+            segmentU("06", 10000),
+            segmentT("06", "", "99777"),
+            segmentU("06", 5000),
+            segmentT("17", "99C1", ""),
+            segmentU("17", 1000),
+            segmentT("06", "99D1", ""),
+            segmentU("06", 1500),
+            segmentT("06", "99UNKNOWN", ""),
+            segmentU("06", 1000),
+            segmentT("02", "9912345", ""),
+            segmentU("02", 0),
+            "TOO SHORT",
+            line240('5', ' '),
+            line240('9', ' ')
+        );
+
+        assertThat(result.getLayout()).isEqualTo(CnabLayout.CNAB_240);
+        assertThat(result.getLines()).isEqualTo(17);
+        assertThat(result.getTitulos()).isEqualTo(5);
+        assertThat(result.getPaid()).isEqualTo(2);
+        assertThat(result.getAlreadyPaid()).isEqualTo(1);
+        assertThat(result.getDivergent()).isEqualTo(1);
+        assertThat(result.getUnmatched()).isEqualTo(1);
+        assertThat(result.getIgnored()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors()).singleElement().satisfies(error -> assertThat(error.getLine()).isEqualTo(15));
+        assertThat(result.getDivergentTitulos())
+            .singleElement()
+            .satisfies(
+                titulo -> {
+                    assertThat(titulo.getLine()).isEqualTo(9);
+                    assertThat(titulo.getParcelaId()).isEqualTo(divergente.getId());
+                    assertThat(titulo.getValorEsperado()).isEqualByComparingTo("20.00");
+                    assertThat(titulo.getValorPago()).isEqualByComparingTo("15.00");
+                }
+            );
+        assertThat(result.getUnmatchedTitulos())
+            .singleElement()
+            .satisfies(titulo -> assertThat(titulo.getNossoNumero()).isEqualTo("99UNKNOWN"));
+        assertThat(status(byNossoNumero)).isEqualTo(Status.PAGO);
+        assertThat(status(byDocumento)).isEqualTo(Status.PAGO);
+        assertThat(status(paga)).isEqualTo(Status.PAGO);
+        assertThat(status(divergente)).isEqualTo(Status.PENDENTE);
+    }
+
+    @Test
+    void assertThatCnab400TitlesAreReconciled() throws IOException {
+        Parcela parcela = save("99400", null, "123.45", Status.PENDENTE);
+
+        ConciliacaoResultDTO result = conciliar(
+            header400(),
+            detail400("06", "000000099400", "", 12345),
+            detail400("06", "", "99888", 100),
+            detail400("09", "000000099400", "", 0),
+            line400('9')
+        );
+
+        assertThat(result.getLayout()).isEqualTo(CnabLayout.CNAB_400);
+        assertThat(result.getTitulos()).isEqualTo(2);
+        assertThat(result.getPaid()).isEqualTo(1);
+        assertThat(result.getUnmatched()).isEqualTo(1);
+        assertThat(result.getIgnored()).isEqualTo(1);
+        assertThat(status(parcela)).isEqualTo(Status.PAGO);
+    }
+
+    @Test
+    void assertThatAParcelaWithoutStatusIsPaid() throws IOException {
+        Parcela parcela = save("99401", null, "10.00", null);
+
+        ConciliacaoResultDTO result = conciliar(header400(), detail400("06", "000000099401", "", 1000), line400('9'));
+
+        assertThat(result.getPaid()).isEqualTo(1);
+        assertThat(result.getAlreadyPaid()).isZero();
+        assertThat(status(parcela)).isEqualTo(Status.PAGO);
+    }
+
+    @Test
+    void assertThatTitlesAreReconciledInChunks() throws IOException {
+        applicationProperties.getCnab().setChunkSize(2);
+        String[] lines = new String[6];
+        lines[0] = header400();
+        for (int i = 1; i < lines.length; i++) {
+            save("99CHUNK" + i, null, "1.00", Status.PENDENTE);
+            lines[i] = detail400("06", "99CHUNK" + i, "", 100);
+        }
+
+        ConciliacaoResultDTO result = conciliar(lines);
+
+        assertThat(result.getChunks()).isEqualTo(3);
+        assertThat(result.getPaid()).isEqualTo(5);
+    }
+
+    @Test
+    void assertThatAFileWithoutCnabHeaderIsRejected() {
+        assertThatThrownBy(() -> conciliar(line240('3', 'T'))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> conciliar("documento;valor")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ConciliacaoResultDTO conciliar(String... lines) throws IOException {
+        String content = String.join("\r\n", lines) + "\r\n";
+        return parcelaConciliacaoService.conciliar(new ByteArrayInputStream(content.getBytes(StandardCharsets.ISO_8859_1)));
+    }
+
+    private Parcela save(String idTransacao, Long documento, String valor, Status status) {
+        Parcela parcela = new Parcela().idTransacao(idTransacao).documento(documento).valor(new BigDecimal(valor)).status(status);
+        return parcelaRepository.saveAndFlush(parcela);
+    }
+
+    private Status status(Parcela parcela) {
+        return parcelaRepository.findById(parcela.getId()).orElseThrow().getStatus();
+    }
+
+    private static String header240() {
+        char[] line = blank(240);
+        line[7] = '0';
+        line[142] = '2';
+        return new String(line);
+    }
+
+    private static String line240(char tipo, char segmento) {
+        char[] line = blank(240);
+        line[7] = tipo;
+        line[13] = segmento;
+        return new String(line);
+    }
+
+    private static String segmentT(String ocorrencia, String nossoNumero, String documento) {
+        char[] line = line240('3', 'T').toCharArray();
+        put(line, 16, ocorrencia);
+        put(line, 38, nossoNumero);
+        put(line, 59, documento);
+        return new String(line);
+    }
+
+    private static String segmentU(String ocorrencia, long valorPago) {
+        char[] line = line240('3', 'U').toCharArray();
+        put(line, 16, ocorrencia);
+        put(line, 78, String.format("%015d", valorPago));
+        return new String(line);
+    }
+
+    private static String header400() {
+        char[] line = blank(400);
+        line[0] = '0';
+        line[1] = '2';
+        return new String(line);
+    }
+
+    private static String line400(char tipo) {
+        char[] line = blank(400);
+        line[0] = tipo;
+        return new String(line);
+    }
+
+    private static String detail400(String ocorrencia, String nossoNumero, String documento, long valorPago) {
+        char[] line = line400('1').toCharArray();
+        put(line, 71, nossoNumero);
+        put(line, 109, ocorrencia);
+        put(line, 117, documento);
+        put(line, 254, String.format("%013d", valorPago));
+        return new String(line);
+    }
+
+    private static char[] blank(int length) {
+        char[] line = new char[length];
+        Arrays.fill(line, ' ');
+        return line;
+    }
+
+    /**
+     * Write a value at a 1-based position, as in the layout specifications.
+     */
+    private static void put(char[] line, int position, String value) {
+        value.getChars(0, value.length(), line, position - 1);
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.devquick.pagamento.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.devquick.pagamento.IntegrationTest;
+import br.com.devquick.pagamento.config.ApplicationProperties;
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.ParcelaRepository;
+import br.com.devquick.pagamento.repository.projection.ParcelaEventoDTO;
+import br.com.devquick.pagamento.service.dto.NotificacaoPagamentoDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link ParcelaEventoRelayService} and the recording of the events.
+ */
+@IntegrationTest
+@Transactional
+class ParcelaEventoRelayServiceIT {
+
+    @Autowired
+    private ParcelaEventoRelayService parcelaEventoRelayService;
+
+    @Autowired
+    private ParcelaService parcelaService;
+
+    @Autowired
+    private ParcelaConfirmacaoService parcelaConfirmacaoService;
+
+    @Autowired
+    private ParcelaVencimentoService parcelaVencimentoService;
+
+    @Autowired
+    private ParcelaNotificacaoService parcelaNotificacaoService;
+
+    @Autowired
+    private ParcelaRepository parcelaRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private EntityManager em;
+
+    private final List<ParcelaEventoDTO> publicados = new ArrayList<>();
+
+    @BeforeEach
+    void drainOutbox() {
+        parcelaEventoRelayService.relay(eventos -> {});
+    }
+
+    @AfterEach
+    void restoreBatchSize() {
+        applicationProperties.getOutbox().setBatchSize(500);
+    }
+
+    @Test
+    void assertThatStatusChangesOfTheServiceArePublishedInOrder() {
+        Parcela parcela = parcelaService.save(pendente("EVENTO-A"));
+        em.detach(parcela);
+        parcela = parcelaService.save(parcela.status(Status.ATRASADA));
+        em.detach(parcela);
+        parcelaService.save(parcela.valor(BigDecimal.TEN));
+        Parcela patch = new Parcela().status(Status.PAGO);
+        patch.setId(parcela.getId());
+        parcelaService.partialUpdate(patch);
+
+        assertThat(parcelaEventoRelayService.relay(publicados::addAll)).isEqualTo(3);
+
+        assertThat(publicados).extracting(ParcelaEventoDTO::getParcelaId).containsOnly(parcela.getId());
+        assertThat(publicados).extracting(ParcelaEventoDTO::getStatus).containsExactly(Status.PENDENTE, Status.ATRASADA, Status.PAGO);
+        assertThat(publicados).extracting(ParcelaEventoDTO::getId).isSorted();
+        assertThat(parcelaEventoRelayService.relay(publicados::addAll)).isZero();
+    }
+
+    @Test
+    void assertThatTheFirstStatusOfAParcelaIsPublished() {
+        Parcela parcela = parcelaRepository.saveAndFlush(pendente("EVENTO-SEM-STATUS").status(null));
+        em.detach(parcela);
+        parcelaService.update(parcela.status(Status.PENDENTE));
+        Parcela patch = new Parcela().status(Status.PAGO).valor(BigDecimal.TEN);
+        patch.setId(parcela.getId());
+        parcelaService.partialUpdate(patch);
+
+        assertThat(parcelaEventoRelayService.relay(publicados::addAll)).isEqualTo(2);
+
+        assertThat(publicados).extracting(ParcelaEventoDTO::getStatus).containsExactly(Status.PENDENTE, Status.PAGO);
+    }
+
+    @Test
+    void assertThatBulkStatusChangesArePublished() {
+        Parcela vencida = parcelaRepository.saveAndFlush(pendente("EVENTO-VENCIDA").dataVencimento(LocalDate.of(2021, 1, 10)));
+        Parcela confirmada = parcelaRepository.saveAndFlush(pendente("EVENTO-CONFIRMADA"));
+        Parcela notificada = parcelaRepository.saveAndFlush(pendente("EVENTO-NOTIFICADA"));
+        Parcela paga = parcelaRepository.saveAndFlush(pendente("EVENTO-PAGA").status(Status.PAGO));
+
+        parcelaVencimentoService.sweepOverdueParcelas(LocalDate.of(2021, 1, 11));
+        parcelaConfirmacaoService.confirmar("EVENTO-CONFIRMADA");
+        parcelaConfirmacaoService.confirmar("EVENTO-PAGA");
+        parcelaNotificacaoService.receber(new NotificacaoPagamentoDTO("EVENTO-NOTIFICADA", Status.PAGO));
+        parcelaNotificacaoService.receber(new NotificacaoPagamentoDTO("EVENTO-PAGA", Status.PAGO));
+        parcelaNotificacaoService.flush();
+        parcelaEventoRelayService.relay(publicados::addAll);
+
+        assertThat(publicados)
+            .extracting(evento -> evento.getParcelaId() + ":" + evento.getStatus())
+            .contains(vencida.getId() + ":ATRASADA", confirmada.getId() + ":PAGO", notificada.getId() + ":PAGO")
+            .noneMatch(evento -> evento.startsWith(paga.getId() + ":"));
+    }
+
+    @Test
+    void assertThatEventsArePublishedInBatches() {
+        applicationProperties.getOutbox().setBatchSize(2);
+        for (int i = 0; i < 5; i++) {
+            parcelaService.save(pendente("EVENTO-LOTE-" + i));
+        }
+        List<Integer> lotes = new ArrayList<>();
+
+        assertThat(parcelaEventoRelayService.relay(eventos -> lotes.add(eventos.size()))).isEqualTo(5);
+
+        assertThat(lotes).containsExactly(2, 2, 1);
+    }
+
+    @Test
+    void assertThatAFailedBatchIsPublishedAgain() {
+        parcelaService.save(pendente("EVENTO-FALHA"));
+
+        long published = parcelaEventoRelayService.relay(
+            eventos -> {
+                throw new IllegalStateException("Connection refused");
+            }
+        );
+
+        assertThat(published).isZero();
+        assertThat(parcelaEventoRelayService.relay(publicados::addAll)).isEqualTo(1);
+        assertThat(publicados).extracting(ParcelaEventoDTO::getStatus).containsExactly(Status.PENDENTE);
+    }
+
+    private static Parcela pendente(String idTransacao) {
+        return new Parcela().idTransacao(idTransacao).valor(BigDecimal.ONE).status(Status.PENDENTE);
+    }
+}
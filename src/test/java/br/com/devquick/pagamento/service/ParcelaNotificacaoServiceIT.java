@@ -0,0 +1,150 @@
+package br.com.devquick.pagamento.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.devquick.pagamento.IntegrationTest;
+import br.com.devquick.pagamento.config.ApplicationProperties;
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.ParcelaRepository;
+import br.com.devquick.pagamento.service.dto.NotificacaoPagamentoDTO;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link ParcelaNotificacaoService}.
+ */
+@IntegrationTest
+@Transactional
+class ParcelaNotificacaoServiceIT {
+
+    @Autowired
+    private ParcelaNotificacaoService parcelaNotificacaoService;
+
+    @Autowired
+    private ParcelaRepository parcelaRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void flushPreviousNotifications() {
+        // Also checks that the spill table is empty, until then the notifications are spilled
+        parcelaNotificacaoService.flush();
+    }
+
+    @AfterEach
+    void restoreBatchSize() {
+        applicationProperties.getNotificacao().setBatchSize(1000);
+    }
+
+    @Test
+    void assertThatTheLastNotificationOfATransactionIsApplied() {
+        Parcela paga = save("NOTIFICA-A", Status.PENDENTE);
+        Parcela estornada = save("NOTIFICA-B", Status.PENDENTE);
+        Parcela jaPaga = save("NOTIFICA-C", Status.PAGO);
+
+        assertThat(parcelaNotificacaoService.receber(new NotificacaoPagamentoDTO("NOTIFICA-A", Status.PAGO))).isTrue();
+        assertThat(parcelaNotificacaoService.receber(new NotificacaoPagamentoDTO("NOTIFICA-B", Status.PAGO))).isTrue();
+        assertThat(parcelaNotificacaoService.receber(new NotificacaoPagamentoDTO("NOTIFICA-B", Status.PENDENTE))).isTrue();
+        assertThat(parcelaNotificacaoService.receber(new NotificacaoPagamentoDTO("NOTIFICA-C", Status.PAGO))).isTrue();
+        assertThat(parcelaNotificacaoService.receber(new NotificacaoPagamentoDTO("NOTIFICA-DESCONHECIDA", Status.PAGO))).isTrue();
+
+        assertThat(parcelaNotificacaoService.flush()).isEqualTo(1);
+        assertThat(statusOf(paga)).isEqualTo(Status.PAGO);
+        assertThat(statusOf(estornada)).isEqualTo(Status.PENDENTE);
+        assertThat(statusOf(jaPaga)).isEqualTo(Status.PAGO);
+        assertThat(parcelaNotificacaoService.flush()).isZero();
+    }
+
+    @Test
+    void assertThatTheStatusOfAParcelaWithoutStatusIsChanged() {
+        Parcela parcela = save("NOTIFICA-SEM-STATUS", null);
+
+        parcelaNotificacaoService.receber(new NotificacaoPagamentoDTO("NOTIFICA-SEM-STATUS", Status.PAGO));
+
+        assertThat(parcelaNotificacaoService.flush()).isEqualTo(1);
+        assertThat(statusOf(parcela)).isEqualTo(Status.PAGO);
+    }
+
+    @Test
+    void assertThatFlushCoversEveryBatch() {
+        applicationProperties.getNotificacao().setBatchSize(2);
+        for (int i = 0; i < 5; i++) {
+            save("NOTIFICA-LOTE-" + i, Status.PENDENTE);
+            parcelaNotificacaoService.receber(new NotificacaoPagamentoDTO("NOTIFICA-LOTE-" + i, Status.PAGO));
+        }
+
+        assertThat(parcelaNotificacaoService.flush()).isEqualTo(5);
+    }
+
+    @Test
+    void assertThatNotificationsAreSpilledWhenTheQueueIsFull() {
+        Parcela parcela = save("NOTIFICA-CHEIA", Status.PENDENTE);
+        for (int i = 0; i < applicationProperties.getNotificacao().getQueueCapacity(); i++) {
+            parcelaNotificacaoService.receber(new NotificacaoPagamentoDTO("NOTIFICA-FILA-" + i, Status.PAGO));
+        }
+
+        assertThat(parcelaNotificacaoService.receber(new NotificacaoPagamentoDTO("NOTIFICA-CHEIA", Status.PAGO))).isTrue();
+
+        assertThat(countSpilled()).isEqualTo(1);
+        assertThat(parcelaNotificacaoService.flush()).isEqualTo(1);
+        assertThat(statusOf(parcela)).isEqualTo(Status.PAGO);
+        assertThat(countSpilled()).isZero();
+    }
+
+    @Test
+    void assertThatQueuedNotificationsAreSpilledAtShutdown() {
+        Parcela parcela = save("NOTIFICA-PARADA", Status.PENDENTE);
+        parcelaNotificacaoService.receber(new NotificacaoPagamentoDTO("NOTIFICA-PARADA", Status.PAGO));
+
+        parcelaNotificacaoService.spillQueued();
+
+        assertThat(countSpilled()).isEqualTo(1);
+        assertThat(statusOf(parcela)).isEqualTo(Status.PENDENTE);
+        assertThat(parcelaNotificacaoService.flush()).isEqualTo(1);
+        assertThat(statusOf(parcela)).isEqualTo(Status.PAGO);
+        assertThat(countSpilled()).isZero();
+    }
+
+    @Test
+    void assertThatNotificationsAreAppliedInTheOrderTheyWereReceived() {
+        Parcela parcela = save("NOTIFICA-ORDEM", Status.PENDENTE);
+        parcelaNotificacaoService.receber(new NotificacaoPagamentoDTO("NOTIFICA-ORDEM", Status.PAGO));
+        for (int i = 1; i < applicationProperties.getNotificacao().getQueueCapacity(); i++) {
+            parcelaNotificacaoService.receber(new NotificacaoPagamentoDTO("NOTIFICA-FILA-" + i, Status.PAGO));
+        }
+        // Spilled as the queue is full, then the older queued notifications are spilled after it
+        parcelaNotificacaoService.receber(new NotificacaoPagamentoDTO("NOTIFICA-ORDEM", Status.PENDENTE));
+        parcelaNotificacaoService.spillQueued();
+        long spilled = countSpilled();
+
+        // While notifications are spilled, the new ones are spilled after them even though the queue is empty
+        parcelaNotificacaoService.receber(new NotificacaoPagamentoDTO("NOTIFICA-DEPOIS", Status.PAGO));
+        assertThat(countSpilled()).isEqualTo(spilled + 1);
+
+        parcelaNotificacaoService.flush();
+        assertThat(statusOf(parcela)).isEqualTo(Status.PENDENTE);
+        assertThat(countSpilled()).isZero();
+    }
+
+    private Parcela save(String idTransacao, Status status) {
+        return parcelaRepository.saveAndFlush(new Parcela().idTransacao(idTransacao).valor(BigDecimal.ONE).status(status));
+    }
+
+    private Status statusOf(Parcela parcela) {
+        return parcelaRepository.findById(parcela.getId()).orElseThrow().getStatus();
+    }
+
+    private long countSpilled() {
+        return jdbcTemplate.queryForObject("select count(*) from notificacao_pagamento", Long.class);
+    }
+}
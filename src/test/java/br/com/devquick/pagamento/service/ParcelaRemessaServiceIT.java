@@ -0,0 +1,216 @@
+package br.com.devquick.pagamento.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.com.devquick.pagamento.IntegrationTest;
+import br.com.devquick.pagamento.config.ApplicationProperties;
+import br.com.devquick.pagamento.domain.Cliente;
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.ParcelaRepository;
+import br.com.devquick.pagamento.service.cnab.CnabLayout;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link ParcelaRemessaService}.
+ */
+@IntegrationTest
+@Transactional
+class ParcelaRemessaServiceIT {
+
+    @Autowired
+    private ParcelaRemessaService parcelaRemessaService;
+
+    @Autowired
+    private ParcelaRepository parcelaRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private EntityManager em;
+
+    private Parcela comDocumento;
+
+    private Parcela semDocumento;
+
+    private Parcela paga;
+
+    private Parcela semVencimento;
+
+    private Parcela registrada;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = new Cliente().nome("José da Silva").cpf("123.456.789-09");
+        em.persist(cliente);
+        comDocumento = parcelaRepository.saveAndFlush(pendente().idTransacao("REM-A").documento(555L).cliente(cliente));
+        semDocumento = parcelaRepository.saveAndFlush(pendente());
+        paga = parcelaRepository.saveAndFlush(pendente().status(Status.PAGO));
+        semVencimento = parcelaRepository.saveAndFlush(pendente().dataVencimento(null));
+        registrada = parcelaRepository.saveAndFlush(pendente().dataRemessa(Instant.ofEpochSecond(0)));
+    }
+
+    @AfterEach
+    void restoreChunkSize() {
+        applicationProperties.getCnab().setChunkSize(1000);
+    }
+
+    @Test
+    void assertThatCnab240RemessaRegistersThePendingParcelas() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long titulos = parcelaRemessaService.gerar(CnabLayout.CNAB_240, 42, Channels.newChannel(out));
+
+        List<String> lines = lines(out);
+        assertThat(lines).hasSize((int) (2 * titulos + 4)).allSatisfy(line -> assertThat(line).hasSize(240));
+        String header = lines.get(0);
+        assertThat(header.charAt(7)).isEqualTo('0');
+        assertThat(header.charAt(142)).isEqualTo('1');
+        assertThat(header.substring(157, 163)).isEqualTo("000042");
+        assertThat(lines.get(1).substring(7, 9)).isEqualTo("1R");
+        String trailer = lines.get(lines.size() - 1);
+        assertThat(trailer.substring(3, 8)).isEqualTo("99999");
+        assertThat(trailer.substring(23, 29)).isEqualTo(String.format("%06d", lines.size()));
+
+        String segmentP = segment240(lines, 'P', comDocumento).orElseThrow();
+        assertThat(segmentP.substring(15, 17)).isEqualTo("01");
+        assertThat(segmentP.substring(37, 57)).isEqualTo(String.format("%-20s", "REM-A"));
+        assertThat(segmentP.substring(62, 77)).isEqualTo("000000000000555");
+        assertThat(segmentP.substring(77, 85)).isEqualTo("10012030");
+        assertThat(segmentP.substring(85, 100)).isEqualTo("000000000010050");
+        String segmentQ = lines.get(lines.indexOf(segmentP) + 1);
+        assertThat(segmentQ.charAt(13)).isEqualTo('Q');
+        assertThat(segmentQ.substring(17, 33)).isEqualTo("1000012345678909");
+        assertThat(segmentQ.substring(33, 73)).isEqualTo(String.format("%-40s", "JOSE DA SILVA"));
+        String semDocumentoP = segment240(lines, 'P', semDocumento).orElseThrow();
+        assertThat(semDocumentoP.substring(62, 77)).isEqualTo(String.format("%015d", semDocumento.getId()));
+        assertThat(segment240(lines, 'P', paga)).isEmpty();
+        assertThat(segment240(lines, 'P', semVencimento)).isEmpty();
+        assertThat(segment240(lines, 'P', registrada)).isEmpty();
+
+        assertThat(reload(comDocumento).getDataRemessa()).isNotNull();
+        assertThat(reload(semDocumento).getDataRemessa()).isNotNull();
+        assertThat(reload(semDocumento).getDocumento()).isEqualTo(semDocumento.getId());
+        assertThat(reload(paga).getDataRemessa()).isNull();
+        assertThat(reload(semVencimento).getDataRemessa()).isNull();
+        assertThat(reload(registrada).getDataRemessa()).isEqualTo(Instant.ofEpochSecond(0));
+    }
+
+    @Test
+    void assertThatCnab400RemessaRegistersThePendingParcelas() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long titulos = parcelaRemessaService.gerar(CnabLayout.CNAB_400, 7, Channels.newChannel(out));
+
+        List<String> lines = lines(out);
+        assertThat(lines).hasSize((int) (titulos + 2)).allSatisfy(line -> assertThat(line).hasSize(400));
+        assertThat(lines.get(0)).startsWith("01REMESSA01COBRANCA");
+        assertThat(lines.get(0).substring(110, 117)).isEqualTo("0000007");
+        for (int i = 0; i < lines.size(); i++) {
+            assertThat(lines.get(i).substring(394)).isEqualTo(String.format("%06d", i + 1));
+        }
+        assertThat(lines.get(lines.size() - 1).charAt(0)).isEqualTo('9');
+        String detail = lines.stream().filter(line -> line.startsWith("1") && isOf(line, 37, 62, comDocumento)).findFirst().orElseThrow();
+        assertThat(detail.substring(70, 82)).isEqualTo(String.format("%-12s", "REM-A"));
+        assertThat(detail.substring(108, 110)).isEqualTo("01");
+        assertThat(detail.substring(110, 120)).isEqualTo("0000000555");
+        assertThat(detail.substring(120, 126)).isEqualTo("100130");
+        assertThat(detail.substring(126, 139)).isEqualTo("0000000010050");
+        assertThat(detail.substring(218, 234)).isEqualTo("0100012345678909");
+        assertThat(detail.substring(234, 274)).isEqualTo(String.format("%-40s", "JOSE DA SILVA"));
+    }
+
+    @Test
+    void assertThatRegisteredParcelasAreNotWrittenAgain() throws IOException {
+        parcelaRemessaService.gerar(CnabLayout.CNAB_240, 1, Channels.newChannel(new ByteArrayOutputStream()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        parcelaRemessaService.gerar(CnabLayout.CNAB_240, 2, Channels.newChannel(out));
+
+        List<String> lines = lines(out);
+        assertThat(segment240(lines, 'P', comDocumento)).isEmpty();
+        assertThat(segment240(lines, 'P', semDocumento)).isEmpty();
+    }
+
+    @Test
+    void assertThatParcelasAreWrittenInChunks() throws IOException {
+        applicationProperties.getCnab().setChunkSize(1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        parcelaRemessaService.gerar(CnabLayout.CNAB_240, 1, Channels.newChannel(out));
+
+        List<String> lines = lines(out);
+        assertThat(lines.stream().filter(line -> line.charAt(13) == 'P' && isOf(line, 195, 220, comDocumento))).hasSize(1);
+        assertThat(lines.stream().filter(line -> line.charAt(13) == 'P' && isOf(line, 195, 220, semDocumento))).hasSize(1);
+        assertThat(lines.get(lines.size() - 1).substring(17, 23)).isEqualTo("000001");
+    }
+
+    @Test
+    void assertThatParcelasAreReleasedWhenTheRemessaFails() {
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+
+        assertThatThrownBy(() -> parcelaRemessaService.gerar(CnabLayout.CNAB_240, 1, Channels.newChannel(failing)))
+            .isInstanceOf(IOException.class);
+
+        assertThat(reload(comDocumento).getDataRemessa()).isNull();
+        assertThat(reload(semDocumento).getDataRemessa()).isNull();
+        assertThat(reload(registrada).getDataRemessa()).isEqualTo(Instant.ofEpochSecond(0));
+    }
+
+    @Test
+    void assertThatAnInvalidSequencialIsRejected() {
+        assertThatThrownBy(() -> parcelaRemessaService.gerar(CnabLayout.CNAB_240, 0, Channels.newChannel(new ByteArrayOutputStream())))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Parcela pendente() {
+        return new Parcela().valor(new BigDecimal("100.50")).status(Status.PENDENTE).dataVencimento(LocalDate.of(2030, 1, 10));
+    }
+
+    private Parcela reload(Parcela parcela) {
+        return parcelaRepository.findById(parcela.getId()).orElseThrow();
+    }
+
+    private static List<String> lines(ByteArrayOutputStream out) {
+        String content = out.toString(StandardCharsets.US_ASCII);
+        assertThat(content).endsWith("\r\n");
+        return Arrays.asList(content.split("\r\n"));
+    }
+
+    private static Optional<String> segment240(List<String> lines, char segmento, Parcela parcela) {
+        return lines
+            .stream()
+            .filter(line -> line.charAt(7) == '3' && line.charAt(13) == segmento && isOf(line, 195, 220, parcela))
+            .findFirst();
+    }
+
+    /**
+     * Whether the line holds the id of the parcela in its uso da empresa field, 0-based and end exclusive.
+     */
+    private static boolean isOf(String line, int from, int to, Parcela parcela) {
+        return line.substring(from, to).equals(String.format("%0" + (to - from) + "d", parcela.getId()));
+    }
+}
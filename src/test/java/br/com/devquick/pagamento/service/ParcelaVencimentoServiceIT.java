@@ -0,0 +1,71 @@
+package br.com.devquick.pagamento.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.devquick.pagamento.IntegrationTest;
+import br.com.devquick.pagamento.config.ApplicationProperties;
+import br.com.devquick.pagamento.domain.Parcela;
+import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.ParcelaRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link ParcelaVencimentoService}.
+ */
+@IntegrationTest
+@Transactional
+class ParcelaVencimentoServiceIT {
+
+    private static final LocalDate TODAY = LocalDate.of(2021, 6, 15);
+
+    @Autowired
+    private ParcelaVencimentoService parcelaVencimentoService;
+
+    @Autowired
+    private ParcelaRepository parcelaRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @AfterEach
+    void restoreChunkSize() {
+        applicationProperties.getVencimento().setChunkSize(10000);
+    }
+
+    @Test
+    void assertThatOnlyPendingOverdueParcelasAreMarkedAsAtrasada() {
+        Parcela vencida = save(Status.PENDENTE, TODAY.minusDays(1));
+        Parcela vencendoHoje = save(Status.PENDENTE, TODAY);
+        Parcela paga = save(Status.PAGO, TODAY.minusDays(1));
+        Parcela semVencimento = save(Status.PENDENTE, null);
+
+        long updated = parcelaVencimentoService.sweepOverdueParcelas(TODAY);
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(parcelaRepository.findById(vencida.getId())).get().extracting(Parcela::getStatus).isEqualTo(Status.ATRASADA);
+        assertThat(parcelaRepository.findById(vencendoHoje.getId())).get().extracting(Parcela::getStatus).isEqualTo(Status.PENDENTE);
+        assertThat(parcelaRepository.findById(paga.getId())).get().extracting(Parcela::getStatus).isEqualTo(Status.PAGO);
+        assertThat(parcelaRepository.findById(semVencimento.getId())).get().extracting(Parcela::getStatus).isEqualTo(Status.PENDENTE);
+    }
+
+    @Test
+    void assertThatSweepCoversEveryChunk() {
+        applicationProperties.getVencimento().setChunkSize(2);
+        for (int i = 0; i < 5; i++) {
+            save(Status.PENDENTE, TODAY.minusMonths(1));
+        }
+
+        assertThat(parcelaVencimentoService.sweepOverdueParcelas(TODAY)).isEqualTo(5);
+        assertThat(parcelaVencimentoService.sweepOverdueParcelas(TODAY)).isZero();
+    }
+
+    private Parcela save(Status status, LocalDate dataVencimento) {
+        Parcela parcela = new Parcela().valor(BigDecimal.ONE).numero(1).total(1).status(status).dataVencimento(dataVencimento);
+        return parcelaRepository.saveAndFlush(parcela);
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.devquick.pagamento.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import br.com.devquick.pagamento.config.ApplicationProperties;
+import br.com.devquick.pagamento.domain.Parcela;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Unit tests for {@link RetryingTransactionTemplate}.
+ */
+class RetryingTransactionTemplateTest {
+
+    private RetryingTransactionTemplate transactionTemplate;
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @BeforeEach
+    void setup() {
+        ApplicationProperties.Retry retry = new ApplicationProperties.Retry();
+        retry.setInitialInterval(1);
+        retry.setMaxInterval(1);
+        transactionTemplate = new RetryingTransactionTemplate(mock(PlatformTransactionManager.class), retry);
+    }
+
+    @Test
+    void assertThatConcurrentUpdatesAreRetried() {
+        Integer result = transactionTemplate.execute(
+            status -> {
+                if (attempts.incrementAndGet() < 3) {
+                    throw new ObjectOptimisticLockingFailureException(Parcela.class, 1L);
+                }
+                return attempts.get();
+            }
+        );
+
+        assertThat(result).isEqualTo(3);
+    }
+
+    @Test
+    void assertThatRetriesAreBounded() {
+        assertThatThrownBy(
+                () ->
+                    transactionTemplate.executeWithoutResult(
+                        status -> {
+                            attempts.incrementAndGet();
+                            throw new CannotAcquireLockException("Timeout trying to lock table");
+                        }
+                    )
+            )
+            .isInstanceOf(CannotAcquireLockException.class);
+
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void assertThatOtherFailuresAreNotRetried() {
+        assertThatThrownBy(
+                () ->
+                    transactionTemplate.executeWithoutResult(
+                        status -> {
+                            attempts.incrementAndGet();
+                            throw new IllegalStateException("Not a concurrent update");
+                        }
+                    )
+            )
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThat(attempts).hasValue(1);
+    }
+}
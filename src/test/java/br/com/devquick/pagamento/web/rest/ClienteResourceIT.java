@@ -1,13 +1,17 @@
 package br.com.devquick.pagamento.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import br.com.devquick.pagamento.IntegrationTest;
 import br.com.devquick.pagamento.domain.Cliente;
+import br.com.devquick.pagamento.domain.Curso;
+import br.com.devquick.pagamento.domain.Parcela;
 import br.com.devquick.pagamento.repository.ClienteRepository;
+import br.com.devquick.pagamento.web.rest.util.KeysetPaginationUtil;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -32,8 +36,8 @@ class ClienteResourceIT {
     private static final String DEFAULT_NOME = "AAAAAAAAAA";
     private static final String UPDATED_NOME = "BBBBBBBBBB";
 
-    private static final String DEFAULT_CPF = "AAAAAAAAAA";
-    private static final String UPDATED_CPF = "BBBBBBBBBB";
+    private static final String DEFAULT_CPF = "11111111111";
+    private static final String UPDATED_CPF = "22222222222";
 
     private static final String DEFAULT_EMAIL = "AAAAAAAAAA";
     private static final String UPDATED_EMAIL = "BBBBBBBBBB";
@@ -122,6 +126,45 @@ class ClienteResourceIT {
         assertThat(clienteList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void createClienteWithPunctuatedCpf() throws Exception {
+        cliente.setCpf("111.111.111-11");
+
+        restClienteMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(cliente)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.cpf").value(DEFAULT_CPF));
+    }
+
+    @Test
+    @Transactional
+    void createClienteWithInvalidCpf() throws Exception {
+        cliente.setCpf("111.111");
+
+        int databaseSizeBeforeCreate = clienteRepository.findAll().size();
+
+        restClienteMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(cliente)))
+            .andExpect(status().isBadRequest());
+
+        assertThat(clienteRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void createClienteWithExistingCpf() throws Exception {
+        clienteRepository.saveAndFlush(createEntity(em));
+
+        int databaseSizeBeforeCreate = clienteRepository.findAll().size();
+
+        restClienteMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(cliente)))
+            .andExpect(status().isBadRequest());
+
+        assertThat(clienteRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     void getAllClientes() throws Exception {
@@ -137,7 +180,44 @@ class ClienteResourceIT {
             .andExpect(jsonPath("$.[*].nome").value(hasItem(DEFAULT_NOME)))
             .andExpect(jsonPath("$.[*].cpf").value(hasItem(DEFAULT_CPF)))
             .andExpect(jsonPath("$.[*].email").value(hasItem(DEFAULT_EMAIL)))
-            .andExpect(jsonPath("$.[*].telefone").value(hasItem(DEFAULT_TELEFONE)));
+            .andExpect(jsonPath("$.[*].telefone").value(hasItem(DEFAULT_TELEFONE)))
+            .andExpect(jsonPath("$.[*].version").value(hasItem(cliente.getVersion().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllClientesWithApproximateCount() throws Exception {
+        // Initialize the database
+        clienteRepository.saveAndFlush(cliente);
+        int databaseSize = clienteRepository.findAll().size();
+
+        // H2 has no planner statistics, so the approximate count falls back to the exact one
+        restClienteMockMvc
+            .perform(get(ENTITY_API_URL + "?count=APPROXIMATE&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(cliente.getId().intValue())))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string("X-Approximate-Total-Count", String.valueOf(databaseSize)));
+    }
+
+    @Test
+    @Transactional
+    void getAllClientesWithKeysetPagination() throws Exception {
+        // Initialize the database
+        Cliente first = clienteRepository.saveAndFlush(createEntity(em));
+        Cliente second = clienteRepository.saveAndFlush(createEntity(em).cpf(UPDATED_CPF));
+
+        // Get the first page, then the page following the first cliente
+        restClienteMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue())))
+            .andExpect(header().string("X-Next-Cursor", KeysetPaginationUtil.encodeCursor(first.getId())));
+        restClienteMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + KeysetPaginationUtil.encodeCursor(first.getId()) + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(second.getId().intValue())))
+            .andExpect(jsonPath("$.[*].nome").value(hasItem(DEFAULT_NOME)));
     }
 
     @Test
@@ -158,6 +238,216 @@ class ClienteResourceIT {
             .andExpect(jsonPath("$.telefone").value(DEFAULT_TELEFONE));
     }
 
+    @Test
+    @Transactional
+    void getClienteWithCurso() throws Exception {
+        // Initialize the database
+        Curso curso = CursoResourceIT.createEntity(em);
+        em.persist(curso);
+        clienteRepository.saveAndFlush(cliente.curso(curso));
+        em.clear();
+
+        // The lazy curso is fetched with the cliente
+        restClienteMockMvc
+            .perform(get(ENTITY_API_URL_ID, cliente.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.curso.id").value(curso.getId().intValue()));
+        restClienteMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].curso.id").value(curso.getId().intValue()))
+            .andExpect(jsonPath("$.[0].curso.nome").value(curso.getNome()));
+    }
+
+    @Test
+    @Transactional
+    void getClienteByCpf() throws Exception {
+        // Initialize the database
+        Curso curso = CursoResourceIT.createEntity(em);
+        em.persist(curso);
+        clienteRepository.saveAndFlush(cliente.curso(curso));
+
+        // The second lookup is answered from the cache
+        for (int i = 0; i < 2; i++) {
+            restClienteMockMvc
+                .perform(get(ENTITY_API_URL + "/cpf/{cpf}", "111.111.111-11"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(cliente.getId().intValue()))
+                .andExpect(jsonPath("$.cpf").value(DEFAULT_CPF))
+                .andExpect(jsonPath("$.curso.id").value(curso.getId().intValue()));
+        }
+        restClienteMockMvc.perform(get(ENTITY_API_URL + "/cpf/{cpf}", UPDATED_CPF)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getClienteByCpfAfterCpfUpdate() throws Exception {
+        // Initialize the database
+        clienteRepository.saveAndFlush(cliente);
+        restClienteMockMvc.perform(get(ENTITY_API_URL + "/cpf/{cpf}", DEFAULT_CPF)).andExpect(status().isOk());
+
+        Cliente partialUpdatedCliente = new Cliente();
+        partialUpdatedCliente.setId(cliente.getId());
+        partialUpdatedCliente.cpf(UPDATED_CPF);
+        restClienteMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, cliente.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedCliente))
+            )
+            .andExpect(status().isOk());
+
+        // The cached cpf is no longer resolved
+        restClienteMockMvc.perform(get(ENTITY_API_URL + "/cpf/{cpf}", DEFAULT_CPF)).andExpect(status().isNotFound());
+        restClienteMockMvc
+            .perform(get(ENTITY_API_URL + "/cpf/{cpf}", UPDATED_CPF))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(cliente.getId().intValue()));
+    }
+
+    @Test
+    void getClienteSugestoes() throws Exception {
+        // The typeahead index is maintained once the cliente is committed
+        cliente.nome("Conceição Typeahead");
+        restClienteMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(cliente)))
+            .andExpect(status().isCreated());
+        Long id = clienteRepository.findIdByCpf(DEFAULT_CPF).orElseThrow();
+        try {
+            restClienteMockMvc
+                .perform(get(ENTITY_API_URL + "/typeahead?q=concei type"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.[*].id").value(contains(id.intValue())))
+                .andExpect(jsonPath("$.[*].nome").value(contains("Conceição Typeahead")));
+        } finally {
+            restClienteMockMvc.perform(delete(ENTITY_API_URL_ID, id)).andExpect(status().isNoContent());
+        }
+        restClienteMockMvc
+            .perform(get(ENTITY_API_URL + "/typeahead?q=concei type"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void getClientesByIdFiltering() throws Exception {
+        // Initialize the database
+        clienteRepository.saveAndFlush(cliente);
+
+        Long id = cliente.getId();
+
+        defaultClienteShouldBeFound("id.equals=" + id);
+        defaultClienteShouldNotBeFound("id.notEquals=" + id);
+
+        defaultClienteShouldBeFound("id.greaterThanOrEqual=" + id);
+        defaultClienteShouldNotBeFound("id.greaterThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllClientesByNomeContainsSomething() throws Exception {
+        // Initialize the database
+        clienteRepository.saveAndFlush(cliente);
+
+        // Get all the clienteList where nome contains DEFAULT_NOME
+        defaultClienteShouldBeFound("nome.contains=" + DEFAULT_NOME);
+
+        // Get all the clienteList where nome contains UPDATED_NOME
+        defaultClienteShouldNotBeFound("nome.contains=" + UPDATED_NOME);
+    }
+
+    @Test
+    @Transactional
+    void getAllClientesByCpfIsEqualToSomething() throws Exception {
+        // Initialize the database
+        clienteRepository.saveAndFlush(cliente);
+
+        // Get all the clienteList where cpf equals to DEFAULT_CPF
+        defaultClienteShouldBeFound("cpf.equals=" + DEFAULT_CPF);
+
+        // Get all the clienteList where cpf equals to UPDATED_CPF
+        defaultClienteShouldNotBeFound("cpf.equals=" + UPDATED_CPF);
+    }
+
+    @Test
+    @Transactional
+    void getAllClientesByParcelaIsEqualToSomething() throws Exception {
+        // Initialize the database
+        clienteRepository.saveAndFlush(cliente);
+        Parcela parcela = ParcelaResourceIT.createEntity(em).idTransacao("FILTER-1").cliente(cliente);
+        em.persist(parcela);
+        // A second parcela of the same cliente must not duplicate it in the results
+        em.persist(ParcelaResourceIT.createEntity(em).idTransacao("FILTER-2").cliente(cliente));
+        em.flush();
+        Long parcelaId = parcela.getId();
+
+        // Get all the clienteList where parcela equals to parcelaId
+        defaultClienteShouldBeFound("parcelaId.equals=" + parcelaId);
+        defaultClienteShouldBeFound("parcelaId.specified=true");
+
+        // Get all the clienteList where parcela equals to (parcelaId + 2)
+        defaultClienteShouldNotBeFound("parcelaId.equals=" + (parcelaId + 2));
+    }
+
+    @Test
+    @Transactional
+    void getAllClientesByCursoIsEqualToSomething() throws Exception {
+        // Initialize the database
+        Curso curso = CursoResourceIT.createEntity(em);
+        em.persist(curso);
+        clienteRepository.saveAndFlush(cliente.curso(curso));
+        Long cursoId = curso.getId();
+
+        // Get all the clienteList where curso equals to cursoId
+        defaultClienteShouldBeFound("cursoId.equals=" + cursoId);
+
+        // Get all the clienteList where curso equals to (cursoId + 1)
+        defaultClienteShouldNotBeFound("cursoId.equals=" + (cursoId + 1));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultClienteShouldBeFound(String filter) throws Exception {
+        restClienteMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(contains(cliente.getId().intValue())))
+            .andExpect(jsonPath("$.[*].nome").value(hasItem(DEFAULT_NOME)))
+            .andExpect(jsonPath("$.[*].cpf").value(hasItem(DEFAULT_CPF)))
+            .andExpect(jsonPath("$.[*].email").value(hasItem(DEFAULT_EMAIL)))
+            .andExpect(jsonPath("$.[*].telefone").value(hasItem(DEFAULT_TELEFONE)))
+            .andExpect(jsonPath("$.[*].version").value(hasItem(cliente.getVersion().intValue())));
+
+        // Check, that the count call also returns 1
+        restClienteMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultClienteShouldNotBeFound(String filter) throws Exception {
+        restClienteMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restClienteMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
     @Test
     @Transactional
     void getNonExistingCliente() throws Exception {
@@ -197,6 +487,28 @@ class ClienteResourceIT {
         assertThat(testCliente.getTelefone()).isEqualTo(UPDATED_TELEFONE);
     }
 
+    @Test
+    @Transactional
+    void putClienteWithoutVersion() throws Exception {
+        // Initialize the database
+        clienteRepository.saveAndFlush(cliente);
+        Long version = cliente.getVersion();
+        em.detach(cliente);
+
+        Cliente updatedCliente = new Cliente().nome(UPDATED_NOME).cpf(UPDATED_CPF).email(UPDATED_EMAIL).telefone(UPDATED_TELEFONE);
+        updatedCliente.setId(cliente.getId());
+
+        restClienteMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedCliente.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedCliente))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.nome").value(UPDATED_NOME))
+            .andExpect(jsonPath("$.version").value(version + 1));
+    }
+
     @Test
     @Transactional
     void putNonExistingCliente() throws Exception {
@@ -323,14 +635,14 @@ class ClienteResourceIT {
         int databaseSizeBeforeUpdate = clienteRepository.findAll().size();
         cliente.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // No row is updated, so the entity is not found
         restClienteMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, cliente.getId())
                     .contentType("application/merge-patch+json")
                     .content(TestUtil.convertObjectToJsonBytes(cliente))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Cliente in the database
         List<Cliente> clienteList = clienteRepository.findAll();
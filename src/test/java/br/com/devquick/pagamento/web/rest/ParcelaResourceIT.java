@@ -2,26 +2,51 @@ package br.com.devquick.pagamento.web.rest;
 
 import static br.com.devquick.pagamento.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import br.com.devquick.pagamento.IntegrationTest;
+import br.com.devquick.pagamento.domain.Cliente;
+import br.com.devquick.pagamento.domain.Curso;
 import br.com.devquick.pagamento.domain.Parcela;
 import br.com.devquick.pagamento.domain.enumeration.Status;
+import br.com.devquick.pagamento.repository.ClienteRepository;
 import br.com.devquick.pagamento.repository.ParcelaRepository;
+import br.com.devquick.pagamento.service.ParcelaNotificacaoService;
+import br.com.devquick.pagamento.service.dto.ConfirmacaoPagamentoDTO;
+import br.com.devquick.pagamento.service.dto.NotificacaoPagamentoDTO;
+import br.com.devquick.pagamento.service.dto.PlanoParcelamentoDTO;
+import br.com.devquick.pagamento.web.rest.errors.ErrorConstants;
+import br.com.devquick.pagamento.web.rest.util.KeysetPaginationUtil;
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -50,6 +75,12 @@ class ParcelaResourceIT {
     private static final Status DEFAULT_STATUS = Status.PENDENTE;
     private static final Status UPDATED_STATUS = Status.PAGO;
 
+    private static final LocalDate DEFAULT_DATA_VENCIMENTO = LocalDate.ofEpochDay(0L);
+    private static final LocalDate UPDATED_DATA_VENCIMENTO = LocalDate.now(ZoneId.systemDefault());
+
+    private static final Instant DEFAULT_DATA_REMESSA = Instant.ofEpochMilli(0L);
+    private static final Instant UPDATED_DATA_REMESSA = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
     private static final String ENTITY_API_URL = "/api/parcelas";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
@@ -59,6 +90,12 @@ class ParcelaResourceIT {
     @Autowired
     private ParcelaRepository parcelaRepository;
 
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ParcelaNotificacaoService parcelaNotificacaoService;
+
     @Autowired
     private EntityManager em;
 
@@ -80,7 +117,9 @@ class ParcelaResourceIT {
             .valor(DEFAULT_VALOR)
             .numero(DEFAULT_NUMERO)
             .total(DEFAULT_TOTAL)
-            .status(DEFAULT_STATUS);
+            .status(DEFAULT_STATUS)
+            .dataVencimento(DEFAULT_DATA_VENCIMENTO)
+            .dataRemessa(DEFAULT_DATA_REMESSA);
         return parcela;
     }
 
@@ -97,7 +136,9 @@ class ParcelaResourceIT {
             .valor(UPDATED_VALOR)
             .numero(UPDATED_NUMERO)
             .total(UPDATED_TOTAL)
-            .status(UPDATED_STATUS);
+            .status(UPDATED_STATUS)
+            .dataVencimento(UPDATED_DATA_VENCIMENTO)
+            .dataRemessa(UPDATED_DATA_REMESSA);
         return parcela;
     }
 
@@ -125,6 +166,8 @@ class ParcelaResourceIT {
         assertThat(testParcela.getNumero()).isEqualTo(DEFAULT_NUMERO);
         assertThat(testParcela.getTotal()).isEqualTo(DEFAULT_TOTAL);
         assertThat(testParcela.getStatus()).isEqualTo(DEFAULT_STATUS);
+        assertThat(testParcela.getDataVencimento()).isEqualTo(DEFAULT_DATA_VENCIMENTO);
+        assertThat(testParcela.getDataRemessa()).isEqualTo(DEFAULT_DATA_REMESSA);
     }
 
     @Test
@@ -145,6 +188,393 @@ class ParcelaResourceIT {
         assertThat(parcelaList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void bulkCreateParcelasFromNdjson() throws Exception {
+        int databaseSizeBeforeCreate = parcelaRepository.findAll().size();
+        String content =
+            "{\"documento\":1,\"idTransacao\":\"AAAAAAAAAA\",\"valor\":1,\"numero\":1,\"total\":2,\"status\":\"PENDENTE\"}\n" +
+            "{\"documento\":2,\"idTransacao\":\"BBBBBBBBBB\",\"valor\":1,\"numero\":2,\"total\":2,\"status\":\"PENDENTE\"}\n" +
+            "{\"id\":1,\"documento\":3}\n" +
+            "{not json\n";
+
+        restParcelaMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_NDJSON).content(content))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.received").value(4))
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.failed").value(2))
+            .andExpect(jsonPath("$.errors.[*].line").value(contains(3, 4)));
+
+        // Validate the Parcela in the database
+        List<Parcela> parcelaList = parcelaRepository.findAll();
+        assertThat(parcelaList).hasSize(databaseSizeBeforeCreate + 2);
+    }
+
+    @Test
+    @Transactional
+    void bulkCreateParcelasFromCsv() throws Exception {
+        int databaseSizeBeforeCreate = parcelaRepository.findAll().size();
+        String content =
+            "documento;id_transacao;valor;numero;total;status;data_vencimento;cliente_id\n" +
+            "1;AAAAAAAAAA;10.50;1;2;PENDENTE;2021-01-10;\n" +
+            "2;BBBBBBBBBB;10.50;2;2;PAGO;2021-02-10;\n" +
+            "3;CCCCCCCCCC;10.50;1;2;UNKNOWN;2021-01-10;\n" +
+            "4;DDDDDDDDDD;10.50;1;2;PENDENTE;2021-01-10;" + Long.MAX_VALUE + "\n";
+
+        restParcelaMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType("text/csv").content(content))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.received").value(4))
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.failed").value(2))
+            .andExpect(jsonPath("$.errors.[*].line").value(containsInAnyOrder(4, 5)));
+
+        // Validate the Parcela in the database
+        List<Parcela> parcelaList = parcelaRepository.findAll();
+        assertThat(parcelaList).hasSize(databaseSizeBeforeCreate + 2);
+        assertThat(parcelaList).extracting(Parcela::getIdTransacao).contains("AAAAAAAAAA", "BBBBBBBBBB");
+    }
+
+    @Test
+    @Transactional
+    void bulkCreateParcelasWithInvalidCsvHeader() throws Exception {
+        restParcelaMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType("text/csv").content("documento;unknown\n1;2\n"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void bulkCreateParcelasWithDuplicatedIdTransacao() throws Exception {
+        // Initialize the database
+        parcelaRepository.saveAndFlush(parcela);
+        int databaseSizeBeforeCreate = parcelaRepository.findAll().size();
+        String content =
+            "documento;id_transacao;valor\n" +
+            "1;" + DEFAULT_ID_TRANSACAO + ";10.50\n" +
+            "2;BULK-DUPLICADA;10.50\n" +
+            "3;BULK-DUPLICADA;10.50\n";
+
+        restParcelaMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType("text/csv").content(content))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.failed").value(2))
+            .andExpect(jsonPath("$.errors.[*].line").value(containsInAnyOrder(2, 4)));
+
+        // Validate the Parcela in the database
+        assertThat(parcelaRepository.findAll()).hasSize(databaseSizeBeforeCreate + 1);
+    }
+
+    @Test
+    @Transactional
+    void confirmarPagamento() throws Exception {
+        // Initialize the database
+        parcelaRepository.saveAndFlush(parcela.idTransacao("CONFIRMA-1"));
+
+        ConfirmacaoPagamentoDTO confirmacao = new ConfirmacaoPagamentoDTO();
+        confirmacao.setIdTransacao("CONFIRMA-1");
+
+        restParcelaMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/confirmacoes")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(confirmacao))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.parcelaId").value(parcela.getId().intValue()))
+            .andExpect(jsonPath("$.status").value(Status.PAGO.toString()))
+            .andExpect(jsonPath("$.duplicada").value(false));
+        assertThat(parcelaRepository.findById(parcela.getId())).get().extracting(Parcela::getStatus).isEqualTo(Status.PAGO);
+
+        // A retry of the gateway is answered as a duplicate
+        restParcelaMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/confirmacoes")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(confirmacao))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.parcelaId").value(parcela.getId().intValue()))
+            .andExpect(jsonPath("$.duplicada").value(true));
+    }
+
+    @Test
+    @Transactional
+    void confirmarPagamentoWithoutStatus() throws Exception {
+        // Initialize the database
+        parcelaRepository.saveAndFlush(parcela.idTransacao("CONFIRMA-3").status(null));
+
+        ConfirmacaoPagamentoDTO confirmacao = new ConfirmacaoPagamentoDTO();
+        confirmacao.setIdTransacao("CONFIRMA-3");
+
+        restParcelaMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/confirmacoes")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(confirmacao))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.parcelaId").value(parcela.getId().intValue()))
+            .andExpect(jsonPath("$.duplicada").value(false));
+        assertThat(parcelaRepository.findById(parcela.getId())).get().extracting(Parcela::getStatus).isEqualTo(Status.PAGO);
+    }
+
+    @Test
+    void confirmarPagamentoAfterUpdate() throws Exception {
+        // Confirmations are cached and evicted once committed, so the data must be committed
+        parcelaRepository.saveAndFlush(parcela.idTransacao("CONFIRMA-2"));
+        try {
+            ConfirmacaoPagamentoDTO confirmacao = new ConfirmacaoPagamentoDTO();
+            confirmacao.setIdTransacao("CONFIRMA-2");
+            byte[] content = TestUtil.convertObjectToJsonBytes(confirmacao);
+
+            restParcelaMockMvc
+                .perform(post(ENTITY_API_URL + "/confirmacoes").contentType(MediaType.APPLICATION_JSON).content(content))
+                .andExpect(jsonPath("$.duplicada").value(false));
+            restParcelaMockMvc
+                .perform(post(ENTITY_API_URL + "/confirmacoes").contentType(MediaType.APPLICATION_JSON).content(content))
+                .andExpect(jsonPath("$.duplicada").value(true));
+
+            // Reopen the parcela, which must forget the previous confirmation
+            Parcela updatedParcela = parcelaRepository.findById(parcela.getId()).get();
+            updatedParcela.status(Status.PENDENTE);
+            restParcelaMockMvc
+                .perform(
+                    put(ENTITY_API_URL_ID, updatedParcela.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(updatedParcela))
+                )
+                .andExpect(status().isOk());
+
+            restParcelaMockMvc
+                .perform(post(ENTITY_API_URL + "/confirmacoes").contentType(MediaType.APPLICATION_JSON).content(content))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.duplicada").value(false));
+            assertThat(parcelaRepository.findById(parcela.getId())).get().extracting(Parcela::getStatus).isEqualTo(Status.PAGO);
+        } finally {
+            parcelaRepository.deleteById(parcela.getId());
+        }
+    }
+
+    @Test
+    @Transactional
+    void confirmarPagamentoOfUnknownTransacao() throws Exception {
+        ConfirmacaoPagamentoDTO confirmacao = new ConfirmacaoPagamentoDTO();
+        confirmacao.setIdTransacao("CONFIRMA-DESCONHECIDA");
+
+        restParcelaMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/confirmacoes")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(confirmacao))
+            )
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void confirmarPagamentoWithoutIdTransacao() throws Exception {
+        restParcelaMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/confirmacoes")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(new ConfirmacaoPagamentoDTO()))
+            )
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void receberNotificacao() throws Exception {
+        // Initialize the database
+        parcelaRepository.saveAndFlush(parcela.idTransacao("NOTIFICA-1").status(Status.PENDENTE));
+
+        restParcelaMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/notificacoes")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(new NotificacaoPagamentoDTO("NOTIFICA-1", Status.PAGO)))
+            )
+            .andExpect(status().isAccepted());
+
+        // The notification is applied by the next flush
+        assertThat(parcelaRepository.findById(parcela.getId())).get().extracting(Parcela::getStatus).isEqualTo(Status.PENDENTE);
+        parcelaNotificacaoService.flush();
+        assertThat(parcelaRepository.findById(parcela.getId())).get().extracting(Parcela::getStatus).isEqualTo(Status.PAGO);
+    }
+
+    @Test
+    @Transactional
+    void receberNotificacaoWithoutStatus() throws Exception {
+        restParcelaMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/notificacoes")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(new NotificacaoPagamentoDTO("NOTIFICA-2", null)))
+            )
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void conciliarWithEmptyRetorno() throws Exception {
+        String header = String.format("%-400s", "02RETORNO");
+
+        restParcelaMockMvc
+            .perform(post(ENTITY_API_URL + "/conciliacoes").contentType(MediaType.TEXT_PLAIN).content(header + "\r\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.layout").value("CNAB_400"))
+            .andExpect(jsonPath("$.lines").value(1))
+            .andExpect(jsonPath("$.titulos").value(0));
+    }
+
+    @Test
+    @Transactional
+    void conciliarWithoutCnabHeader() throws Exception {
+        restParcelaMockMvc
+            .perform(post(ENTITY_API_URL + "/conciliacoes").contentType(MediaType.TEXT_PLAIN).content("documento;valor\n"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void gerarRemessa() throws Exception {
+        // The remessa is written in its own thread and transactions, so the data must be committed
+        Parcela pendente = parcelaRepository.saveAndFlush(createEntity(em).idTransacao("REMESSA-1").dataRemessa(null));
+        try {
+            MvcResult mvcResult = restParcelaMockMvc
+                .perform(post(ENTITY_API_URL + "/remessas?layout=CNAB_400&sequencial=7"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            restParcelaMockMvc
+                .perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("remessa-7.rem")))
+                .andExpect(content().string(startsWith("01REMESSA01COBRANCA")))
+                .andExpect(content().string(containsString("REMESSA-1")));
+            assertThat(parcelaRepository.findById(pendente.getId())).get().extracting(Parcela::getDataRemessa).isNotNull();
+        } finally {
+            parcelaRepository.deleteById(pendente.getId());
+        }
+    }
+
+    @Test
+    @Transactional
+    void gerarRemessaWithInvalidSequencial() throws Exception {
+        restParcelaMockMvc.perform(post(ENTITY_API_URL + "/remessas?sequencial=0")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void createPlano() throws Exception {
+        Cliente cliente = ClienteResourceIT.createEntity(em);
+        em.persist(cliente);
+        em.flush();
+        int databaseSizeBeforeCreate = parcelaRepository.findAll().size();
+
+        PlanoParcelamentoDTO plano = new PlanoParcelamentoDTO();
+        plano.setClienteId(cliente.getId());
+        plano.setValorTotal(new BigDecimal("100.00"));
+        plano.setQuantidade(3);
+        plano.setPrimeiroVencimento(LocalDate.of(2021, 1, 31));
+
+        restParcelaMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/planos").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(plano))
+            )
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.[*].numero").value(contains(1, 2, 3)))
+            .andExpect(jsonPath("$.[*].total").value(contains(3, 3, 3)))
+            .andExpect(jsonPath("$.[*].valor").value(contains(33.34, 33.33, 33.33)))
+            .andExpect(jsonPath("$.[*].status").value(contains("PENDENTE", "PENDENTE", "PENDENTE")))
+            .andExpect(jsonPath("$.[*].dataVencimento").value(contains("2021-01-31", "2021-02-28", "2021-03-31")));
+
+        // Validate the Parcela in the database
+        List<Parcela> parcelaList = parcelaRepository.findAll();
+        assertThat(parcelaList).hasSize(databaseSizeBeforeCreate + 3);
+        BigDecimal valorTotal = parcelaList
+            .stream()
+            .filter(p -> cliente.equals(p.getCliente()))
+            .map(Parcela::getValor)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(valorTotal).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    @Transactional
+    void createPlanoForNonExistingCliente() throws Exception {
+        PlanoParcelamentoDTO plano = new PlanoParcelamentoDTO();
+        plano.setClienteId(count.incrementAndGet());
+        plano.setValorTotal(new BigDecimal("100.00"));
+        plano.setQuantidade(3);
+
+        restParcelaMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/planos").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(plano))
+            )
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void createPlanoWithFractionsOfACent() throws Exception {
+        Cliente cliente = ClienteResourceIT.createEntity(em);
+        em.persist(cliente);
+        em.flush();
+        int databaseSizeBeforeCreate = parcelaRepository.findAll().size();
+
+        PlanoParcelamentoDTO plano = new PlanoParcelamentoDTO();
+        plano.setClienteId(cliente.getId());
+        plano.setValorTotal(new BigDecimal("0.015"));
+        plano.setQuantidade(1);
+
+        restParcelaMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/planos").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(plano))
+            )
+            .andExpect(status().isBadRequest());
+
+        assertThat(parcelaRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void createPlanoWithLessThanACentPerParcela() throws Exception {
+        Cliente cliente = ClienteResourceIT.createEntity(em);
+        em.persist(cliente);
+        em.flush();
+        int databaseSizeBeforeCreate = parcelaRepository.findAll().size();
+
+        PlanoParcelamentoDTO plano = new PlanoParcelamentoDTO();
+        plano.setClienteId(cliente.getId());
+        plano.setValorTotal(new BigDecimal("0.01"));
+        plano.setQuantidade(2);
+
+        restParcelaMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/planos").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(plano))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.planoinvalid"));
+
+        assertThat(parcelaRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void createPlanoWithoutQuantidade() throws Exception {
+        PlanoParcelamentoDTO plano = new PlanoParcelamentoDTO();
+        plano.setClienteId(count.incrementAndGet());
+        plano.setValorTotal(new BigDecimal("100.00"));
+
+        restParcelaMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/planos").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(plano))
+            )
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getAllParcelas() throws Exception {
@@ -162,7 +592,173 @@ class ParcelaResourceIT {
             .andExpect(jsonPath("$.[*].valor").value(hasItem(sameNumber(DEFAULT_VALOR))))
             .andExpect(jsonPath("$.[*].numero").value(hasItem(DEFAULT_NUMERO)))
             .andExpect(jsonPath("$.[*].total").value(hasItem(DEFAULT_TOTAL)))
-            .andExpect(jsonPath("$.[*].status").value(hasItem(DEFAULT_STATUS.toString())));
+            .andExpect(jsonPath("$.[*].status").value(hasItem(DEFAULT_STATUS.toString())))
+            .andExpect(jsonPath("$.[*].dataVencimento").value(hasItem(DEFAULT_DATA_VENCIMENTO.toString())))
+            .andExpect(jsonPath("$.[*].dataRemessa").value(hasItem(DEFAULT_DATA_REMESSA.toString())))
+            .andExpect(jsonPath("$.[*].version").value(hasItem(parcela.getVersion().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllParcelasWithConstantQueryCount() throws Exception {
+        // Initialize the database
+        for (int i = 0; i < 5; i++) {
+            Cliente cliente = ClienteResourceIT.createEntity(em).cpf(String.format("%011d", i));
+            em.persist(cliente);
+            em.persist(createEntity(em).idTransacao("QUERY-COUNT-" + i).cliente(cliente));
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            restParcelaMockMvc.perform(get(ENTITY_API_URL + "?sort=id,desc&size=1")).andExpect(status().isOk());
+            long statementsForOne = statistics.getPrepareStatementCount();
+            em.clear();
+
+            statistics.clear();
+            restParcelaMockMvc
+                .perform(get(ENTITY_API_URL + "?sort=id,desc&size=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].cliente.id").value(everyItem(notNullValue())));
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsForOne);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    @Transactional
+    void getAllParcelasWithoutCount() throws Exception {
+        // Initialize the database
+        parcelaRepository.saveAndFlush(parcela);
+        parcelaRepository.saveAndFlush(createEntity(em).idTransacao(UPDATED_ID_TRANSACAO));
+
+        restParcelaMockMvc
+            .perform(get(ENTITY_API_URL + "?count=NONE&size=1&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().doesNotExist("X-Approximate-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")));
+    }
+
+    @Test
+    @Transactional
+    void getAllParcelasWithApproximateCount() throws Exception {
+        // Initialize the database
+        parcelaRepository.saveAndFlush(parcela);
+        int databaseSize = parcelaRepository.findAll().size();
+
+        // H2 has no planner statistics, so the approximate count falls back to the exact one
+        restParcelaMockMvc
+            .perform(get(ENTITY_API_URL + "?count=APPROXIMATE&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(parcela.getId().intValue())))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string("X-Approximate-Total-Count", String.valueOf(databaseSize)));
+    }
+
+    @Test
+    @Transactional
+    void getAllParcelasWithKeysetPagination() throws Exception {
+        // Initialize the database
+        Parcela first = parcelaRepository.saveAndFlush(createEntity(em).idTransacao("KEYSET-1"));
+        Parcela second = parcelaRepository.saveAndFlush(createEntity(em).idTransacao("KEYSET-2"));
+        Parcela third = parcelaRepository.saveAndFlush(createEntity(em).idTransacao("KEYSET-3"));
+
+        // Get the page following the first parcela
+        restParcelaMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + KeysetPaginationUtil.encodeCursor(first.getId()) + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(contains(second.getId().intValue())))
+            .andExpect(jsonPath("$.[*].dataRemessa").value(contains(DEFAULT_DATA_REMESSA.toString())))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string("X-Next-Cursor", KeysetPaginationUtil.encodeCursor(second.getId())))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")));
+
+        // The last page has no next link
+        restParcelaMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + KeysetPaginationUtil.encodeCursor(second.getId()) + "&size=5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue())))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    @Transactional
+    void getAllParcelasWithInvalidCursor() throws Exception {
+        restParcelaMockMvc.perform(get(ENTITY_API_URL + "?after=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportParcelasAsCsv() throws Exception {
+        // The export runs in its own thread and transaction, so the data must be committed
+        Parcela pendente = parcelaRepository.saveAndFlush(createEntity(em).idTransacao("EXPORT-PENDENTE"));
+        Parcela pago = parcelaRepository.saveAndFlush(createEntity(em).idTransacao("EXPORT-PAGO").status(Status.PAGO));
+        try {
+            MvcResult mvcResult = restParcelaMockMvc
+                .perform(get(ENTITY_API_URL + "/export?format=CSV&status=PAGO"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            restParcelaMockMvc
+                .perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string(startsWith("id;documento;id_transacao;valor;numero;total;status;data_vencimento;cliente_id\n")))
+                .andExpect(content().string(containsString(pago.getId() + ";1;EXPORT-PAGO;1.00;1;1;PAGO;1970-01-01;\n")))
+                .andExpect(content().string(not(containsString("EXPORT-PENDENTE"))));
+        } finally {
+            parcelaRepository.deleteAll(List.of(pendente, pago));
+        }
+    }
+
+    @Test
+    void exportParcelasAsNdjson() throws Exception {
+        // The export runs in its own thread and transaction, so the data must be committed
+        Parcela pendente = parcelaRepository.saveAndFlush(createEntity(em).idTransacao("EXPORT-PENDENTE"));
+        Parcela pago = parcelaRepository.saveAndFlush(createEntity(em).idTransacao("EXPORT-PAGO").status(Status.PAGO));
+        try {
+            MvcResult mvcResult = restParcelaMockMvc
+                .perform(get(ENTITY_API_URL + "/export?format=NDJSON"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            restParcelaMockMvc
+                .perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"idTransacao\":\"EXPORT-PENDENTE\"")))
+                .andExpect(content().string(containsString("\"idTransacao\":\"EXPORT-PAGO\"")))
+                .andExpect(content().string(endsWith("}\n")));
+        } finally {
+            parcelaRepository.deleteAll(List.of(pendente, pago));
+        }
+    }
+
+    @Test
+    void exportParcelasOfACliente() throws Exception {
+        // The export runs in its own thread and transaction, so the data must be committed
+        Cliente cliente = clienteRepository.saveAndFlush(ClienteResourceIT.createEntity(em));
+        Parcela doCliente = parcelaRepository.saveAndFlush(createEntity(em).idTransacao("EXPORT-CLIENTE").cliente(cliente));
+        Parcela semCliente = parcelaRepository.saveAndFlush(createEntity(em).idTransacao("EXPORT-SEM-CLIENTE"));
+        try {
+            MvcResult mvcResult = restParcelaMockMvc
+                .perform(get(ENTITY_API_URL + "/export?format=CSV&clienteId=" + cliente.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            restParcelaMockMvc
+                .perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(doCliente.getId() + ";1;EXPORT-CLIENTE;1.00;1;1;PENDENTE;1970-01-01;")))
+                .andExpect(content().string(containsString("1970-01-01;" + cliente.getId() + "\n")))
+                .andExpect(content().string(not(containsString("EXPORT-SEM-CLIENTE"))));
+        } finally {
+            parcelaRepository.deleteAll(List.of(doCliente, semCliente));
+            clienteRepository.deleteById(cliente.getId());
+        }
     }
 
     @Test
@@ -182,7 +778,207 @@ class ParcelaResourceIT {
             .andExpect(jsonPath("$.valor").value(sameNumber(DEFAULT_VALOR)))
             .andExpect(jsonPath("$.numero").value(DEFAULT_NUMERO))
             .andExpect(jsonPath("$.total").value(DEFAULT_TOTAL))
-            .andExpect(jsonPath("$.status").value(DEFAULT_STATUS.toString()));
+            .andExpect(jsonPath("$.status").value(DEFAULT_STATUS.toString()))
+            .andExpect(jsonPath("$.dataVencimento").value(DEFAULT_DATA_VENCIMENTO.toString()))
+            .andExpect(jsonPath("$.dataRemessa").value(DEFAULT_DATA_REMESSA.toString()));
+    }
+
+    @Test
+    @Transactional
+    void getParcelasByIdFiltering() throws Exception {
+        // Initialize the database
+        parcelaRepository.saveAndFlush(parcela);
+
+        Long id = parcela.getId();
+
+        defaultParcelaShouldBeFound("id.equals=" + id);
+        defaultParcelaShouldNotBeFound("id.notEquals=" + id);
+
+        defaultParcelaShouldBeFound("id.greaterThanOrEqual=" + id);
+        defaultParcelaShouldNotBeFound("id.greaterThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllParcelasByDocumentoIsEqualToSomething() throws Exception {
+        // Initialize the database
+        parcelaRepository.saveAndFlush(parcela);
+
+        // Get all the parcelaList where documento equals to DEFAULT_DOCUMENTO
+        defaultParcelaShouldBeFound("documento.equals=" + DEFAULT_DOCUMENTO);
+
+        // Get all the parcelaList where documento equals to UPDATED_DOCUMENTO
+        defaultParcelaShouldNotBeFound("documento.equals=" + UPDATED_DOCUMENTO);
+    }
+
+    @Test
+    @Transactional
+    void getAllParcelasByIdTransacaoIsEqualToSomething() throws Exception {
+        // Initialize the database
+        parcelaRepository.saveAndFlush(parcela);
+
+        // Get all the parcelaList where idTransacao equals to DEFAULT_ID_TRANSACAO
+        defaultParcelaShouldBeFound("idTransacao.equals=" + DEFAULT_ID_TRANSACAO);
+
+        // Get all the parcelaList where idTransacao equals to UPDATED_ID_TRANSACAO
+        defaultParcelaShouldNotBeFound("idTransacao.equals=" + UPDATED_ID_TRANSACAO);
+    }
+
+    @Test
+    @Transactional
+    void getAllParcelasByValorIsGreaterThanSomething() throws Exception {
+        // Initialize the database
+        parcelaRepository.saveAndFlush(parcela);
+
+        // Get all the parcelaList where valor is greater than DEFAULT_VALOR - 1
+        defaultParcelaShouldBeFound("valor.greaterThan=" + DEFAULT_VALOR.subtract(BigDecimal.ONE));
+
+        // Get all the parcelaList where valor is greater than DEFAULT_VALOR
+        defaultParcelaShouldNotBeFound("valor.greaterThan=" + DEFAULT_VALOR);
+    }
+
+    @Test
+    @Transactional
+    void getAllParcelasByNumeroIsLessThanOrEqualToSomething() throws Exception {
+        // Initialize the database
+        parcelaRepository.saveAndFlush(parcela);
+
+        // Get all the parcelaList where numero is less than or equal to DEFAULT_NUMERO
+        defaultParcelaShouldBeFound("numero.lessThanOrEqual=" + DEFAULT_NUMERO);
+
+        // Get all the parcelaList where numero is less than DEFAULT_NUMERO
+        defaultParcelaShouldNotBeFound("numero.lessThan=" + DEFAULT_NUMERO);
+    }
+
+    @Test
+    @Transactional
+    void getAllParcelasByStatusIsInShouldWork() throws Exception {
+        // Initialize the database
+        parcelaRepository.saveAndFlush(parcela);
+
+        // Get all the parcelaList where status in DEFAULT_STATUS or UPDATED_STATUS
+        defaultParcelaShouldBeFound("status.in=" + DEFAULT_STATUS + "," + UPDATED_STATUS);
+
+        // Get all the parcelaList where status equals to UPDATED_STATUS
+        defaultParcelaShouldNotBeFound("status.in=" + UPDATED_STATUS);
+    }
+
+    @Test
+    @Transactional
+    void getAllParcelasByClienteIsEqualToSomething() throws Exception {
+        // Initialize the database
+        Cliente cliente = ClienteResourceIT.createEntity(em);
+        em.persist(cliente);
+        parcelaRepository.saveAndFlush(parcela.cliente(cliente));
+        Long clienteId = cliente.getId();
+
+        // Get all the parcelaList where cliente equals to clienteId
+        defaultParcelaShouldBeFound("clienteId.equals=" + clienteId);
+        restParcelaMockMvc
+            .perform(get(ENTITY_API_URL + "?clienteId.equals=" + clienteId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].cliente.id").value(clienteId.intValue()))
+            .andExpect(jsonPath("$.[0].cliente.nome").value(cliente.getNome()))
+            .andExpect(jsonPath("$.[0].cliente.cpf").value(cliente.getCpf()))
+            .andExpect(jsonPath("$.[0].cliente.email").value(cliente.getEmail()))
+            .andExpect(jsonPath("$.[0].cliente.telefone").value(cliente.getTelefone()))
+            .andExpect(jsonPath("$.[0].cliente.version").doesNotExist());
+
+        // Get all the parcelaList where cliente equals to (clienteId + 1)
+        defaultParcelaShouldNotBeFound("clienteId.equals=" + (clienteId + 1));
+    }
+
+    @Test
+    @Transactional
+    void getAllParcelasByCursoIsEqualToSomething() throws Exception {
+        // Initialize the database
+        Curso curso = CursoResourceIT.createEntity(em);
+        em.persist(curso);
+        Cliente cliente = ClienteResourceIT.createEntity(em).curso(curso);
+        em.persist(cliente);
+        parcelaRepository.saveAndFlush(parcela.cliente(cliente));
+        Long cursoId = curso.getId();
+
+        // Get all the parcelaList where the curso of the cliente equals to cursoId
+        defaultParcelaShouldBeFound("cursoId.equals=" + cursoId + "&status.in=" + DEFAULT_STATUS);
+
+        // Get all the parcelaList where the curso of the cliente equals to (cursoId + 1)
+        defaultParcelaShouldNotBeFound("cursoId.equals=" + (cursoId + 1));
+    }
+
+    @Test
+    @Transactional
+    void getAllParcelasByCriteriaWithKeysetPagination() throws Exception {
+        // Initialize the database
+        Parcela first = parcelaRepository.saveAndFlush(createEntity(em).idTransacao("KEYSET-1"));
+        parcelaRepository.saveAndFlush(createEntity(em).idTransacao("KEYSET-2").status(Status.PAGO));
+        Parcela third = parcelaRepository.saveAndFlush(createEntity(em).idTransacao("KEYSET-3"));
+
+        // The filter applies on top of the cursor
+        restParcelaMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + KeysetPaginationUtil.encodeCursor(first.getId()) + "&status.in=" + DEFAULT_STATUS))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllParcelasByCriteriaWithApproximateCount() throws Exception {
+        // Initialize the database
+        parcelaRepository.saveAndFlush(parcela);
+
+        // With a filter the approximate total is the number of matching parcelas
+        restParcelaMockMvc
+            .perform(get(ENTITY_API_URL + "?count=APPROXIMATE&id.equals=" + parcela.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(parcela.getId().intValue())))
+            .andExpect(header().string("X-Approximate-Total-Count", "1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultParcelaShouldBeFound(String filter) throws Exception {
+        restParcelaMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(contains(parcela.getId().intValue())))
+            .andExpect(jsonPath("$.[*].documento").value(hasItem(DEFAULT_DOCUMENTO.intValue())))
+            .andExpect(jsonPath("$.[*].idTransacao").value(hasItem(DEFAULT_ID_TRANSACAO)))
+            .andExpect(jsonPath("$.[*].valor").value(hasItem(sameNumber(DEFAULT_VALOR))))
+            .andExpect(jsonPath("$.[*].numero").value(hasItem(DEFAULT_NUMERO)))
+            .andExpect(jsonPath("$.[*].total").value(hasItem(DEFAULT_TOTAL)))
+            .andExpect(jsonPath("$.[*].status").value(hasItem(DEFAULT_STATUS.toString())))
+            .andExpect(jsonPath("$.[*].dataVencimento").value(hasItem(DEFAULT_DATA_VENCIMENTO.toString())))
+            .andExpect(jsonPath("$.[*].dataRemessa").value(hasItem(DEFAULT_DATA_REMESSA.toString())))
+            .andExpect(jsonPath("$.[*].version").value(hasItem(parcela.getVersion().intValue())));
+
+        // Check, that the count call also returns 1
+        restParcelaMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultParcelaShouldNotBeFound(String filter) throws Exception {
+        restParcelaMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restParcelaMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
     }
 
     @Test
@@ -210,7 +1006,9 @@ class ParcelaResourceIT {
             .valor(UPDATED_VALOR)
             .numero(UPDATED_NUMERO)
             .total(UPDATED_TOTAL)
-            .status(UPDATED_STATUS);
+            .status(UPDATED_STATUS)
+            .dataVencimento(UPDATED_DATA_VENCIMENTO)
+            .dataRemessa(UPDATED_DATA_REMESSA);
 
         restParcelaMockMvc
             .perform(
@@ -226,10 +1024,12 @@ class ParcelaResourceIT {
         Parcela testParcela = parcelaList.get(parcelaList.size() - 1);
         assertThat(testParcela.getDocumento()).isEqualTo(UPDATED_DOCUMENTO);
         assertThat(testParcela.getIdTransacao()).isEqualTo(UPDATED_ID_TRANSACAO);
-        assertThat(testParcela.getValor()).isEqualTo(UPDATED_VALOR);
+        assertThat(testParcela.getValor()).isEqualByComparingTo(UPDATED_VALOR);
         assertThat(testParcela.getNumero()).isEqualTo(UPDATED_NUMERO);
         assertThat(testParcela.getTotal()).isEqualTo(UPDATED_TOTAL);
         assertThat(testParcela.getStatus()).isEqualTo(UPDATED_STATUS);
+        assertThat(testParcela.getDataVencimento()).isEqualTo(UPDATED_DATA_VENCIMENTO);
+        assertThat(testParcela.getDataRemessa()).isEqualTo(UPDATED_DATA_REMESSA);
     }
 
     @Test
@@ -288,6 +1088,31 @@ class ParcelaResourceIT {
         assertThat(parcelaList).hasSize(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void putStaleParcela() throws Exception {
+        // Initialize the database
+        parcelaRepository.saveAndFlush(parcela.status(Status.PENDENTE));
+
+        Parcela updatedParcela = parcelaRepository.findById(parcela.getId()).get();
+        em.detach(updatedParcela);
+        // The parcela is paid after it was read
+        parcelaRepository.updateStatusByIdAndStatusNot(Status.PAGO, parcela.getId());
+        updatedParcela.status(Status.ATRASADA);
+
+        restParcelaMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedParcela.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedParcela))
+            )
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_CONCURRENCY_FAILURE));
+
+        em.clear();
+        assertThat(parcelaRepository.findById(parcela.getId()).get().getStatus()).isEqualTo(Status.PAGO);
+    }
+
     @Test
     @Transactional
     void partialUpdateParcelaWithPatch() throws Exception {
@@ -320,6 +1145,8 @@ class ParcelaResourceIT {
         assertThat(testParcela.getNumero()).isEqualTo(DEFAULT_NUMERO);
         assertThat(testParcela.getTotal()).isEqualTo(UPDATED_TOTAL);
         assertThat(testParcela.getStatus()).isEqualTo(UPDATED_STATUS);
+        assertThat(testParcela.getDataVencimento()).isEqualTo(DEFAULT_DATA_VENCIMENTO);
+        assertThat(testParcela.getDataRemessa()).isEqualTo(DEFAULT_DATA_REMESSA);
     }
 
     @Test
@@ -340,7 +1167,9 @@ class ParcelaResourceIT {
             .valor(UPDATED_VALOR)
             .numero(UPDATED_NUMERO)
             .total(UPDATED_TOTAL)
-            .status(UPDATED_STATUS);
+            .status(UPDATED_STATUS)
+            .dataVencimento(UPDATED_DATA_VENCIMENTO)
+            .dataRemessa(UPDATED_DATA_REMESSA);
 
         restParcelaMockMvc
             .perform(
@@ -360,6 +1189,174 @@ class ParcelaResourceIT {
         assertThat(testParcela.getNumero()).isEqualTo(UPDATED_NUMERO);
         assertThat(testParcela.getTotal()).isEqualTo(UPDATED_TOTAL);
         assertThat(testParcela.getStatus()).isEqualTo(UPDATED_STATUS);
+        assertThat(testParcela.getDataVencimento()).isEqualTo(UPDATED_DATA_VENCIMENTO);
+        assertThat(testParcela.getDataRemessa()).isEqualTo(UPDATED_DATA_REMESSA);
+    }
+
+    @Test
+    @Transactional
+    void partialUpdateParcelaWithASingleUpdate() throws Exception {
+        // Initialize the database
+        parcelaRepository.saveAndFlush(parcela);
+        em.clear();
+
+        Parcela partialUpdatedParcela = new Parcela().valor(UPDATED_VALOR);
+        partialUpdatedParcela.setId(parcela.getId());
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            restParcelaMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, partialUpdatedParcela.getId())
+                        .contentType("application/merge-patch+json")
+                        .content(TestUtil.convertObjectToJsonBytes(partialUpdatedParcela))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valor").value(sameNumber(UPDATED_VALOR)))
+                .andExpect(jsonPath("$.idTransacao").value(DEFAULT_ID_TRANSACAO))
+                .andExpect(jsonPath("$.version").value(parcela.getVersion() + 1));
+            // The update, then the select of the updated parcela returned in the body
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    @Transactional
+    void partialUpdateParcelaWithoutStatus() throws Exception {
+        // Initialize the database
+        parcelaRepository.saveAndFlush(parcela.status(null));
+        em.clear();
+
+        Parcela partialUpdatedParcela = new Parcela().status(UPDATED_STATUS);
+        partialUpdatedParcela.setId(parcela.getId());
+
+        restParcelaMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedParcela.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedParcela))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value(UPDATED_STATUS.toString()))
+            .andExpect(jsonPath("$.version").value(parcela.getVersion() + 1));
+
+        assertThat(parcelaRepository.findById(parcela.getId())).get().extracting(Parcela::getStatus).isEqualTo(UPDATED_STATUS);
+    }
+
+    @Test
+    @Transactional
+    void partialUpdateParcelaStatusWithASingleUpdate() throws Exception {
+        // Initialize the database
+        parcelaRepository.saveAndFlush(parcela);
+        em.clear();
+
+        Parcela partialUpdatedParcela = new Parcela().status(UPDATED_STATUS).version(parcela.getVersion());
+        partialUpdatedParcela.setId(parcela.getId());
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            restParcelaMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, partialUpdatedParcela.getId())
+                        .contentType("application/merge-patch+json")
+                        .content(TestUtil.convertObjectToJsonBytes(partialUpdatedParcela))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(UPDATED_STATUS.toString()))
+                .andExpect(jsonPath("$.valor").value(sameNumber(DEFAULT_VALOR)))
+                .andExpect(jsonPath("$.idTransacao").value(DEFAULT_ID_TRANSACAO))
+                .andExpect(jsonPath("$.version").value(parcela.getVersion() + 1));
+            // The conditional update of the status, then the select of the updated parcela returned in the body, the event
+            // being recorded with JDBC
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        assertThat(parcelaRepository.findById(parcela.getId())).get().extracting(Parcela::getStatus).isEqualTo(UPDATED_STATUS);
+    }
+
+    @Test
+    @Transactional
+    void updateParcelaWithoutVersion() throws Exception {
+        // Initialize the database
+        parcelaRepository.saveAndFlush(parcela);
+        Long version = parcela.getVersion();
+        em.clear();
+
+        Parcela updatedParcela = createUpdatedEntity(em);
+        updatedParcela.setId(parcela.getId());
+
+        restParcelaMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedParcela.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedParcela))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.idTransacao").value(UPDATED_ID_TRANSACAO))
+            .andExpect(jsonPath("$.version").value(version + 1));
+    }
+
+    @Test
+    @Transactional
+    void updateParcelaWithASingleUpdate() throws Exception {
+        // Initialize the database
+        parcelaRepository.saveAndFlush(parcela);
+        em.clear();
+
+        Parcela updatedParcela = createUpdatedEntity(em).status(DEFAULT_STATUS).version(parcela.getVersion());
+        updatedParcela.setId(parcela.getId());
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            restParcelaMockMvc
+                .perform(
+                    put(ENTITY_API_URL_ID, updatedParcela.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(updatedParcela))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valor").value(sameNumber(UPDATED_VALOR)))
+                .andExpect(jsonPath("$.version").value(parcela.getVersion() + 1));
+            // The conditional update of the status, then the update
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        assertThat(parcelaRepository.findById(parcela.getId())).get().extracting(Parcela::getIdTransacao).isEqualTo(UPDATED_ID_TRANSACAO);
+    }
+
+    @Test
+    @Transactional
+    void patchStaleParcela() throws Exception {
+        // Initialize the database
+        parcelaRepository.saveAndFlush(parcela.status(Status.PENDENTE));
+        Long version = parcela.getVersion();
+        parcelaRepository.updateStatusByIdAndStatusNot(Status.PAGO, parcela.getId());
+
+        Parcela partialUpdatedParcela = new Parcela().status(Status.ATRASADA).version(version);
+        partialUpdatedParcela.setId(parcela.getId());
+
+        restParcelaMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedParcela.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedParcela))
+            )
+            .andExpect(status().isConflict());
+
+        em.clear();
+        assertThat(parcelaRepository.findById(parcela.getId()).get().getStatus()).isEqualTo(Status.PAGO);
     }
 
     @Test
@@ -368,14 +1365,14 @@ class ParcelaResourceIT {
         int databaseSizeBeforeUpdate = parcelaRepository.findAll().size();
         parcela.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // No row is updated, so the entity is not found
         restParcelaMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, parcela.getId())
                     .contentType("application/merge-patch+json")
                     .content(TestUtil.convertObjectToJsonBytes(parcela))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Parcela in the database
         List<Parcela> parcelaList = parcelaRepository.findAll();
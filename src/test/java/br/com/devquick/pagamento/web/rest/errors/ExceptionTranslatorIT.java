@@ -35,6 +35,15 @@ class ExceptionTranslatorIT {
             .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_CONCURRENCY_FAILURE));
     }
 
+    @Test
+    void testOptimisticLock() throws Exception {
+        mockMvc
+            .perform(get("/api/exception-translator-test/optimistic-lock"))
+            .andExpect(status().isConflict())
+            .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+            .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_CONCURRENCY_FAILURE));
+    }
+
     @Test
     void testMethodArgumentNotValid() throws Exception {
         mockMvc